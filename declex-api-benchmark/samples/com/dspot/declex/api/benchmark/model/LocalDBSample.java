@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark.model;
+
+import com.activeandroid.Model;
+import com.activeandroid.annotation.Column;
+import com.dspot.declex.api.localdb.LocalDBModel;
+import com.dspot.declex.api.model.UseModel;
+
+@UseModel
+@LocalDBModel
+public class LocalDBSample extends Model {
+
+	@Column
+	String name;
+
+	@Column
+	int count;
+
+	@Column
+	boolean enabled;
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark.model;
+
+public class SampleData {
+
+	public static final String JSON_SAMPLE =
+		"{\"name\": \"Sample\", \"count\": 12, \"price\": 9.99, \"enabled\": true, "
+		+ "\"tags\": [\"first\", \"second\", \"third\"], "
+		+ "\"attributes\": {\"color\": \"red\", \"size\": \"XL\"}, "
+		+ "\"detail\": {\"description\": \"A sample with a detail\", \"updatedAt\": 1490000000000}}";
+
+	public static final String SERVER_SAMPLES =
+		"[{\"id\": 1, \"title\": \"First\", \"description\": \"The first sample\", \"published\": true}, "
+		+ "{\"id\": 2, \"title\": \"Second\", \"description\": \"The second sample\", \"published\": false}, "
+		+ "{\"id\": 3, \"title\": \"Third\", \"description\": \"The third sample\", \"published\": true}, "
+		+ "{\"id\": 4, \"title\": \"Fourth\", \"description\": \"The fourth sample\", \"published\": true}, "
+		+ "{\"id\": 5, \"title\": \"Fifth\", \"description\": \"The fifth sample\", \"published\": false}]";
+
+	/**
+	 * Returns a JSON array with the given number of JsonSample objects
+	 */
+	public static String jsonSamples(int size) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) json.append(", ");
+			json.append(JSON_SAMPLE);
+		}
+		return json.append(']').toString();
+	}
+
+}
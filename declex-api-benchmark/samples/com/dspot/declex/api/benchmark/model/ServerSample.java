@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark.model;
+
+import com.dspot.declex.api.json.JsonModel;
+import com.dspot.declex.api.model.UseModel;
+import com.dspot.declex.api.server.ServerModel;
+
+/**
+ * The requests return the mock result, so the benchmarks measure the processing
+ * of the response without network
+ */
+@UseModel
+@JsonModel
+@ServerModel(
+	baseUrl = "http://localhost/api/",
+	get = "samples",
+	post = "samples",
+	mock = true,
+	mockResult = SampleData.SERVER_SAMPLES
+)
+public class ServerSample {
+
+	int id;
+
+	String title;
+
+	String description;
+
+	boolean published;
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.action.builtin;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dspot.declex.api.util.MainThreadDispatcher;
+
+/**
+ * Measures a round trip of the Background and UIThread actions, as in
+ * "$Background(); ...; $UIThread(); ...". The main thread is the one of the Looper
+ * stand-in, so the time includes the hops between real threads. The benchmark is in
+ * the package of the holders to call the methods which the generated actions call
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionHolderThreadHoppingBenchmark {
+
+	private BackgroundThreadActionHolder background;
+	private UIThreadActionHolder uiThread;
+
+	@Setup
+	public void setup() {
+		background = new BackgroundThreadActionHolder();
+		uiThread = new UIThreadActionHolder();
+	}
+
+	/**
+	 * The holders are reused between the calls, as the reusable actions do
+	 */
+	@Benchmark
+	public void backgroundToUIThreadReused() throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(1);
+
+		background.init();
+		background.build(new Runnable() {
+
+			@Override
+			public void run() {
+				uiThread.init();
+				uiThread.build(new Runnable() {
+
+					@Override
+					public void run() {
+						done.countDown();
+					}
+				});
+				uiThread.execute();
+			}
+		});
+		background.execute();
+
+		done.await();
+	}
+
+	/**
+	 * A holder is created for every call, as the non-reusable actions do
+	 */
+	@Benchmark
+	public void backgroundToUIThreadAllocated() throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(1);
+
+		BackgroundThreadActionHolder background = new BackgroundThreadActionHolder();
+		background.init();
+		background.build(new Runnable() {
+
+			@Override
+			public void run() {
+				UIThreadActionHolder uiThread = new UIThreadActionHolder();
+				uiThread.init();
+				uiThread.build(new Runnable() {
+
+					@Override
+					public void run() {
+						done.countDown();
+					}
+				});
+				uiThread.execute();
+			}
+		});
+		background.execute();
+
+		done.await();
+	}
+
+	/**
+	 * The benchmark thread is not the main thread, so the dispatcher posts the callback
+	 */
+	@Benchmark
+	public void mainThreadDispatcherRun() throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(1);
+
+		MainThreadDispatcher.run(new Runnable() {
+
+			@Override
+			public void run() {
+				done.countDown();
+			}
+		});
+
+		done.await();
+	}
+
+}
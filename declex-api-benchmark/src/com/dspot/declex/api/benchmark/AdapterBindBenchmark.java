@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import android.view.View;
+import android.view.View.OnClickListener;
+
+import com.dspot.declex.api.util.TextUtility;
+
+/**
+ * Measures the allocations per bind of the RecyclerView adapters. The "before" methods
+ * reproduce the onBindViewHolder which DecleX generated previously (String.valueOf for
+ * the primitives, the getters chain per field and a listener per bind), and the "after"
+ * methods the current one (chars buffer of the ViewHolder, the getters resolved once and
+ * the listener assigned in onCreateViewHolder). Look at gc.alloc.rate.norm in the results
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterBindBenchmark {
+
+	private List<Item> models;
+	private ViewHolder viewHolder;
+
+	private int position;
+
+	@Setup
+	public void setup() {
+		models = new ArrayList<>(100);
+		for (int i = 0; i < 100; i++) {
+			models.add(new Item("Item " + i, i * 1000, new Detail("Detail " + i, i)));
+		}
+
+		viewHolder = new ViewHolder();
+
+		//Assigned once, as in the generated onCreateViewHolder
+		final ViewHolder createdViewHolder = viewHolder;
+		viewHolder.listener = new OnClickListener() {
+
+			@Override
+			public void onClick(View v) {
+				final int position = createdViewHolder.getAdapterPosition();
+				if (position < 0) return;
+
+				final Item model = models.get(position);
+				createdViewHolder.clicked = model;
+			}
+		};
+	}
+
+	@Benchmark
+	public void bindBefore(Blackhole blackhole) {
+		final int position = nextPosition();
+		final Item model = models.get(position);
+
+		blackhole.consume(model.getName());
+		blackhole.consume(String.valueOf(model.getCount()));
+
+		if (model.getDetail() != null) {
+			blackhole.consume(model.getDetail().getName());
+		}
+		if (model.getDetail() != null) {
+			blackhole.consume(String.valueOf(model.getDetail().getIndex()));
+		}
+
+		viewHolder.listener = new OnClickListener() {
+
+			@Override
+			public void onClick(View v) {
+				viewHolder.clicked = model;
+			}
+		};
+		blackhole.consume(viewHolder.listener);
+	}
+
+	@Benchmark
+	public void bindAfter(Blackhole blackhole) {
+		final int position = nextPosition();
+		viewHolder.position = position;
+		final Item model = models.get(position);
+
+		blackhole.consume(model.getName());
+		blackhole.consume(TextUtility.getChars(model.getCount(), viewHolder.count$chars));
+
+		final Detail model$detail = model.getDetail();
+		if (model$detail != null) {
+			blackhole.consume(model$detail.getName());
+			blackhole.consume(TextUtility.getChars(model$detail.getIndex(), viewHolder.index$chars));
+		}
+
+		blackhole.consume(viewHolder.listener);
+	}
+
+	@Benchmark
+	public String primitiveToString() {
+		return String.valueOf(models.get(nextPosition()).getCount());
+	}
+
+	@Benchmark
+	public int primitiveToChars() {
+		return TextUtility.getChars(models.get(nextPosition()).getCount(), viewHolder.count$chars);
+	}
+
+	private int nextPosition() {
+		position = (position + 1) % models.size();
+		return position;
+	}
+
+	private static class ViewHolder {
+		final char[] count$chars = new char[TextUtility.CHARS_BUFFER_SIZE];
+		final char[] index$chars = new char[TextUtility.CHARS_BUFFER_SIZE];
+
+		OnClickListener listener;
+		int position;
+		Item clicked;
+
+		int getAdapterPosition() {
+			return position;
+		}
+	}
+
+	public static class Item {
+		private final String name;
+		private final int count;
+		private final Detail detail;
+
+		Item(String name, int count, Detail detail) {
+			this.name = name;
+			this.count = count;
+			this.detail = detail;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public Detail getDetail() {
+			return detail;
+		}
+	}
+
+	public static class Detail {
+		private final String name;
+		private final long index;
+
+		Detail(String name, long index) {
+			this.name = name;
+			this.index = index;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getIndex() {
+			return index;
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dspot.declex.api.util.CastUtility;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CastUtilityBenchmark {
+
+	private Source source;
+	private Target target;
+
+	private String[] names;
+	private List<Target> targets;
+
+	@Setup
+	public void setup() {
+		source = new Source();
+		target = new Target();
+
+		names = new String[20];
+		targets = new ArrayList<>(names.length);
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "name" + i;
+			targets.add(new Target());
+		}
+	}
+
+	@Benchmark
+	public Target copyReflective() {
+		CastUtility.copy(source, target);
+		return target;
+	}
+
+	@Benchmark
+	public Target copyIgnoringFields() {
+		CastUtility.copy(source, target, "tags", "code");
+		return target;
+	}
+
+	@Benchmark
+	public Map<?, Object> getFields() {
+		return CastUtility.getFields(source);
+	}
+
+	@Benchmark
+	public List<Target> copyArrayToList() {
+		CastUtility.copy("name", names, targets);
+		return targets;
+	}
+
+	public static class Source {
+		String name = "Source";
+		int count = 12;
+		double price = 9.99;
+		boolean enabled = true;
+		List<String> tags = Arrays.asList("first", "second", "third");
+		String code = "1024";
+		long updatedAt = System.currentTimeMillis();
+	}
+
+	public static class Target {
+		String name;
+		int count;
+		double price;
+		boolean enabled;
+		List<String> tags;
+		Integer code;
+	}
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dspot.declex.api.util.FormatsUtils;
+import com.helger.jcodemodel.IJExpression;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatsUtilsBenchmark {
+
+	private String plainText = "A plain text without formats";
+	private String formattedText = "{name} has {count} items for {price}";
+	private String splitText = "Updated on {date{0}} at {date{1}}";
+
+	private String field = "updated_at";
+
+	@Benchmark
+	public IJExpression expressionFromPlainText() {
+		return FormatsUtils.expressionFromString(plainText);
+	}
+
+	@Benchmark
+	public IJExpression expressionFromFormattedText() {
+		return FormatsUtils.expressionFromString(formattedText);
+	}
+
+	@Benchmark
+	public IJExpression expressionFromSplitText() {
+		return FormatsUtils.expressionFromString(splitText);
+	}
+
+	@Benchmark
+	public String fieldToGetter() {
+		return FormatsUtils.fieldToGetter(field);
+	}
+
+	@Benchmark
+	public String fieldToSetter() {
+		return FormatsUtils.fieldToSetter(field);
+	}
+
+}
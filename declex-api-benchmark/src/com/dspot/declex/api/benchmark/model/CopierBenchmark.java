@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dspot.declex.api.util.CastUtility;
+import com.dspot.declex.api.util.annotation.CopyIgnore;
+import com.dspot.declex.api.util.annotation.CopyName;
+
+/**
+ * Copies the {@link CopySource} objects to the models. "copyBeforeCache" reproduces the reflective copy
+ * of CastUtility before the fields were cached (the hierarchy walked and valueOf looked up in each copy),
+ * "copyReflective" is the current reflective copy, and "copyWithCopier" uses the copier which DecleX
+ * generates for {@link CopySample} from "copyFrom"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CopierBenchmark {
+
+	@Param({"10000"})
+	private int objects;
+
+	private CopySource[] sources;
+	private Target[] targets;
+	private CopySample_[] samples;
+
+	@Setup
+	public void setup() {
+		sources = new CopySource[objects];
+		targets = new Target[objects];
+		samples = new CopySample_[objects];
+
+		for (int i = 0; i < objects; i++) {
+			CopySource source = new CopySource();
+			source.name = "Source " + i;
+			source.count = i;
+			source.price = i * 0.5;
+			source.enabled = i % 2 == 0;
+			source.tags = Arrays.asList("first", "second", "third");
+			source.code = String.valueOf(i);
+			source.updatedAt = System.currentTimeMillis();
+			sources[i] = source;
+
+			targets[i] = new Target();
+
+			//Loading CopySample_ registers its copier
+			samples[i] = new CopySample_();
+		}
+	}
+
+	@Benchmark
+	public Target[] copyBeforeCache() {
+		for (int i = 0; i < objects; i++) {
+			UncachedCopy.copy(sources[i], targets[i]);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public Target[] copyReflective() {
+		for (int i = 0; i < objects; i++) {
+			CastUtility.copy(sources[i], targets[i]);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public CopySample_[] copyWithCopier() {
+		for (int i = 0; i < objects; i++) {
+			CastUtility.copy(sources[i], samples[i]);
+		}
+		return samples;
+	}
+
+	/**
+	 * The same fields than {@link CopySample}, without a copier
+	 */
+	public static class Target {
+		String name;
+		int count;
+		double price;
+		boolean enabled;
+		List<String> tags;
+		Integer code;
+	}
+
+	/**
+	 * CastUtility.copy(Object, Object) as it was before the fields and the converters were cached
+	 */
+	private static class UncachedCopy {
+
+		static void copy(Object from, Object to) {
+			Map<String, FieldValue> fromFields = getFields(from);
+			Map<String, FieldValue> toFields = getFields(to);
+
+			Iterator<Map.Entry<String, FieldValue>> fromIterator = fromFields.entrySet().iterator();
+			Iterator<Map.Entry<String, FieldValue>> toIterator = toFields.entrySet().iterator();
+			if (!fromIterator.hasNext() || !toIterator.hasNext()) return;
+
+			Map.Entry<String, FieldValue> fromField = fromIterator.next();
+			Map.Entry<String, FieldValue> toField = toIterator.next();
+
+			while (true) {
+				int comparison = fromField.getKey().compareTo(toField.getKey());
+				if (comparison < 0) {
+					if (!fromIterator.hasNext()) return;
+					fromField = fromIterator.next();
+				} else if (comparison > 0) {
+					if (!toIterator.hasNext()) return;
+					toField = toIterator.next();
+				} else {
+					try {
+						copyValue(fromField.getValue().field.getType(), fromField.getValue().value, toField.getValue().field, to);
+					} catch (IllegalAccessException | IllegalArgumentException e) {
+					}
+
+					if (!fromIterator.hasNext() || !toIterator.hasNext()) return;
+					fromField = fromIterator.next();
+					toField = toIterator.next();
+				}
+			}
+		}
+
+		private static Map<String, FieldValue> getFields(Object object) {
+			Map<String, FieldValue> fieldsMap = new TreeMap<>();
+
+			Class<?> cls = object.getClass();
+			while (!cls.equals(Object.class)) {
+				for (Field field : cls.getDeclaredFields()) {
+					int fieldModifiers = field.getModifiers();
+					if (Modifier.isTransient(fieldModifiers) ||
+						Modifier.isStatic(fieldModifiers) ||
+						Modifier.isFinal(fieldModifiers) ||
+						field.getAnnotation(CopyIgnore.class) != null) continue;
+
+					field.setAccessible(true);
+
+					CopyName copyName = field.getAnnotation(CopyName.class);
+					try {
+						fieldsMap.put(copyName != null ? copyName.value() : field.getName(), new FieldValue(field, field.get(object)));
+					} catch (IllegalAccessException e) {
+					}
+				}
+
+				cls = cls.getSuperclass();
+			}
+
+			return fieldsMap;
+		}
+
+		private static void copyValue(Class<?> fromType, Object value, Field toField, Object to)
+				throws IllegalAccessException, IllegalArgumentException {
+
+			if (fromType.equals(toField.getType())) {
+				toField.set(to, value);
+				return;
+			}
+
+			Class<?> toFieldClass = toField.getType();
+			if (toFieldClass.equals(int.class)) toFieldClass = Integer.class;
+			else if (toFieldClass.equals(long.class)) toFieldClass = Long.class;
+			else if (toFieldClass.equals(double.class)) toFieldClass = Double.class;
+
+			try {
+				Method valueOf = toFieldClass.getMethod("valueOf", String.class);
+				toField.set(to, valueOf.invoke(null, value.toString()));
+			} catch (NoSuchMethodException | InvocationTargetException e) {
+			}
+		}
+	}
+
+	private static class FieldValue {
+		final Field field;
+		final Object value;
+
+		FieldValue(Field field, Object value) {
+			this.field = field;
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark.model;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import com.activeandroid.Model;
+import com.dspot.declex.api.localdb.LocalDBModel;
+import com.dspot.declex.api.server.ServerModel;
+
+/**
+ * Measures the bodies which the JsonModel, ServerModel and LocalDBModel templates generate
+ * for the sample models. The ServerModel requests return the mock result, and the LocalDBModel
+ * queries run against the in-memory ActiveAndroid stand-in, so the database and the network
+ * are not part of the measurement
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelTemplatesBenchmark {
+
+	private static final int LOCAL_DB_ROWS = 50;
+
+	private final List<Class<? extends Annotation>> serverModel = Arrays.<Class<? extends Annotation>>asList(ServerModel.class);
+	private final List<Class<? extends Annotation>> localDBModel = Arrays.<Class<? extends Annotation>>asList(LocalDBModel.class);
+
+	private Context context;
+
+	private JsonSample_ jsonSample;
+	private String jsonList;
+
+	private LocalDBSample_ localDBSample;
+
+	@Setup
+	public void setup() {
+		context = new ContextWrapper(null);
+
+		jsonSample = JsonSample_.fromJson(SampleData.JSON_SAMPLE);
+		jsonList = SampleData.jsonSamples(20);
+
+		Model.deleteAll(LocalDBSample_.class);
+		for (int i = 0; i < LOCAL_DB_ROWS; i++) {
+			LocalDBSample_ sample = new LocalDBSample_(context);
+			sample.name = "Sample " + i;
+			sample.count = i;
+			sample.enabled = i % 2 == 0;
+			sample.save();
+		}
+
+		localDBSample = new LocalDBSample_(context);
+		localDBSample.name = "Put";
+	}
+
+	@TearDown
+	public void tearDown() {
+		Model.deleteAll(LocalDBSample_.class);
+	}
+
+	@Benchmark
+	public String jsonToJson() {
+		return jsonSample.toJson();
+	}
+
+	@Benchmark
+	public String jsonToJsonWithFields() {
+		return jsonSample.toJson("name, count, tags");
+	}
+
+	@Benchmark
+	public JsonSample_ jsonFromJson() {
+		return JsonSample_.fromJson(SampleData.JSON_SAMPLE);
+	}
+
+	@Benchmark
+	public List<JsonSample_> jsonListFromJson() {
+		return JsonSample_.listFromJson(jsonList);
+	}
+
+	@Benchmark
+	public ServerSample_ serverGetModel() {
+		return ServerSample_.getModel_(context, "", "", "", serverModel);
+	}
+
+	@Benchmark
+	public List<ServerSample_> serverGetModelList() {
+		return ServerSample_.getModelList_(context, "", "", "", serverModel);
+	}
+
+	@Benchmark
+	public LocalDBSample_ localDBGetModel() {
+		return LocalDBSample_.getModel_(context, "enabled = 1", "", "", localDBModel);
+	}
+
+	@Benchmark
+	public List<LocalDBSample_> localDBGetModelList() {
+		return LocalDBSample_.getModelList_(context, "", "count", "", localDBModel);
+	}
+
+	@Benchmark
+	public Object localDBPutModel() {
+		return localDBSample.putModel_("", "", "");
+	}
+
+}
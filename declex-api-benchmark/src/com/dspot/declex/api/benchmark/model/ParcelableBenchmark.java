@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.benchmark.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import android.os.Parcel;
+
+/**
+ * Round trip of a model with a 200 items list, through its generated Parcelable implementation
+ * and through its generated writeObject/readObject. The Parcel stand-in marshals the values to
+ * bytes with the layout of Android, so both round trips encode and decode the whole model
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParcelableBenchmark {
+
+	private static final int ITEMS = 200;
+
+	private ParcelSample_ sample;
+
+	@Setup
+	public void setup() {
+		sample = new ParcelSample_();
+		sample.name = "Sample";
+		sample.count = ITEMS;
+		sample.price = 9.99;
+		sample.enabled = true;
+		sample.tags = Arrays.asList("first", "second", "third");
+
+		sample.items = new ArrayList<>(ITEMS);
+		for (int i = 0; i < ITEMS; i++) {
+			ParcelSampleItem_ item = new ParcelSampleItem_();
+			item.id = i;
+			item.title = "Item " + i;
+			item.rating = i % 5;
+			item.selected = i % 2 == 0;
+			sample.items.add(item);
+		}
+	}
+
+	@Benchmark
+	public ParcelSample_ parcelableRoundTrip() {
+		Parcel parcel = Parcel.obtain();
+		try {
+			sample.writeToParcel(parcel, 0);
+			parcel.setDataPosition(0);
+			return ParcelSample_.CREATOR.createFromParcel(parcel);
+		} finally {
+			parcel.recycle();
+		}
+	}
+
+	@Benchmark
+	public ParcelSample_ serializableRoundTrip() throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(sample);
+		out.close();
+
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		try {
+			return (ParcelSample_) in.readObject();
+		} finally {
+			in.close();
+		}
+	}
+
+}
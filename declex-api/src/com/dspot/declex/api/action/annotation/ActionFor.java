@@ -28,5 +28,12 @@ public @interface ActionFor {
 	String[] value();
 	boolean global() default false;
 	boolean timeConsuming() default true;
+	
+	/**
+	 * The Action Holder doesn't keep state after {@code execute()} returns, so the
+	 * generated code keeps one instance per component and reuses it. Its fields
+	 * (except private and injected ones) are reset to their initial values before each use
+	 */
+	boolean reusable() default false;
 	Class<? extends ActionProcessor>[] processors() default {};
 }
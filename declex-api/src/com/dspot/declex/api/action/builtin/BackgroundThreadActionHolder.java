@@ -24,7 +24,7 @@ import android.content.Context;
 import com.dspot.declex.api.action.annotation.ActionFor;
 
 @EBean
-@ActionFor("Background")
+@ActionFor(value="Background", reusable=true)
 public class BackgroundThreadActionHolder {
 
     @RootContext
@@ -15,11 +15,8 @@
  */
 package com.dspot.declex.api.action.builtin;
 
-import java.io.IOException;
-
 import org.androidannotations.annotations.RootContext;
 import org.androidannotations.annotations.SystemService;
-import org.androidannotations.api.BackgroundExecutor;
 
 import android.app.Notification;
 import android.app.NotificationManager;
@@ -27,8 +24,6 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.net.Uri;
-import android.os.Handler;
-import android.os.Looper;
 import android.support.annotation.ColorInt;
 import android.support.annotation.DrawableRes;
 import android.support.v4.app.NotificationCompat;
@@ -38,7 +33,7 @@ import android.widget.RemoteViews;
 import com.dspot.declex.api.action.annotation.ActionFor;
 import com.dspot.declex.api.action.annotation.FormattedExpression;
 import com.dspot.declex.api.action.annotation.StopOn;
-import com.squareup.picasso.Picasso;
+import com.dspot.declex.api.util.NotificationIconLoader;
 
 /**
  * An Action that represents how a persistent notification is to be presented to
@@ -102,20 +97,19 @@ public class NotificationActionHolder {
 		};
     	
     	if (pendingLargeIconLoad != null) {
-    		BackgroundExecutor.execute(new Runnable() {
+    		//The notification is shown in the main thread once the icon is loaded
+    		NotificationIconLoader.load(context, pendingLargeIconLoad, new NotificationIconLoader.Callback() {
 				
 				@Override
-				public void run() {
-					try {
-		                Bitmap bitmap = Picasso.with(context).load(pendingLargeIconLoad).get();
-		                pendingLargeIconLoad = null;		                
-		                builder.setLargeIcon(bitmap);
-		            } catch (IOException ignored) {}
+				public void onLoaded(Bitmap bitmap) {
+					pendingLargeIconLoad = null;
+					if (bitmap != null) {
+						builder.setLargeIcon(bitmap);
+					}
 					
-					Handler mainHandler = new Handler(context.getMainLooper());
-		        	mainHandler.post(execute);
+					execute.run();
 				}
-			});    		
+			});
     	} else {
     		execute.run();
     	}
@@ -295,17 +289,8 @@ public class NotificationActionHolder {
     public NotificationActionHolder largeIcon(@FormattedExpression String icon) {
         if (icon == null || icon.isEmpty()) return this;
 
-        if(Looper.myLooper() == Looper.getMainLooper()) {
-        	//Call should not be in main thread
-        	pendingLargeIconLoad = icon;
-        	return this;
-        }
-        
-        try {
-            Bitmap bitmap = Picasso.with(context).load(icon).get();
-            builder.setLargeIcon(bitmap);
-        } catch (IOException ignored) {}
-
+        //The icon is loaded asynchronously when the notification is executed
+        pendingLargeIconLoad = icon;
         return this;
     }
 
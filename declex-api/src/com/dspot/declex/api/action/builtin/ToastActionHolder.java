@@ -19,15 +19,14 @@ import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.RootContext;
 
 import android.content.Context;
-import android.os.Handler;
-import android.os.Looper;
 import android.widget.Toast;
 
 import com.dspot.declex.api.action.annotation.ActionFor;
 import com.dspot.declex.api.action.annotation.FormattedExpression;
+import com.dspot.declex.api.util.MainThreadDispatcher;
 
 @EBean
-@ActionFor(value="Toast", timeConsuming = false)
+@ActionFor(value="Toast", timeConsuming = false, reusable = true)
 public class ToastActionHolder {
 
     String text;
@@ -55,6 +54,12 @@ public class ToastActionHolder {
     void execute() {
     	if (context == null) return;
     	
+    	//The holder is reused, so the state is read here and not when the Toast is shown
+    	final String text = this.text;
+    	final int res = this.res;
+    	final int duration = this.duration;
+    	final Runnable Shown = this.Shown;
+    	
     	Runnable callToast = new Runnable() {
 			
 			@Override
@@ -71,12 +76,7 @@ public class ToastActionHolder {
 		};
     	
     	//Thread save
-    	if(Looper.myLooper() == Looper.getMainLooper()) {
-		   callToast.run();
-		} else {
-			Handler handler = new Handler(Looper.getMainLooper());
-			handler.post(callToast);
-		}
+    	MainThreadDispatcher.run(callToast);
         
     }
     
@@ -19,12 +19,12 @@ import org.androidannotations.annotations.EBean;
 import org.androidannotations.annotations.RootContext;
 
 import android.content.Context;
-import android.os.Handler;
 
 import com.dspot.declex.api.action.annotation.ActionFor;
+import com.dspot.declex.api.util.MainThreadDispatcher;
 
 @EBean
-@ActionFor("UIThread")
+@ActionFor(value="UIThread", reusable=true)
 public class UIThreadActionHolder {
 
     @RootContext
@@ -41,8 +41,7 @@ public class UIThreadActionHolder {
 
     void execute() {
         if(Run!=null) {
-        	Handler mainHandler = new Handler(context.getMainLooper());
-        	mainHandler.post(Run);
+        	MainThreadDispatcher.post(Run);
         }
     }
 }
\ No newline at end of file
@@ -1,11 +1,9 @@
 package com.dspot.declex.api.action.builtin.base;
 
-import android.os.Handler;
-import android.os.Looper;
-
 import com.dspot.declex.api.action.annotation.Field;
 import com.dspot.declex.api.action.annotation.FormattedExpression;
 import com.dspot.declex.api.action.runnable.OnFailedRunnable;
+import com.dspot.declex.api.util.MainThreadDispatcher;
 
 
 public class BaseModelActionHolder extends BaseFieldActionHolder {
@@ -99,12 +97,7 @@ public class BaseModelActionHolder extends BaseFieldActionHolder {
 				
 				@Override
 				public void run() {
-					if(Looper.myLooper() == Looper.getMainLooper()) {
-						Done.run();;
-					} else {
-						Handler handler = new Handler(Looper.getMainLooper());
-						handler.post(Done);	
-					}					
+					MainThreadDispatcher.run(Done);
 				}
 			};
 			
@@ -123,13 +116,7 @@ public class BaseModelActionHolder extends BaseFieldActionHolder {
 				@Override
 				public void run() {
 					Failed.e = this.e;
-					
-					if(Looper.myLooper() == Looper.getMainLooper()) {
-						Failed.run();;
-					} else {
-						Handler handler = new Handler(Looper.getMainLooper());
-						handler.post(Failed);	
-					}					
+					MainThreadDispatcher.run(Failed);
 				}
 			};
 			
@@ -36,6 +36,7 @@ public class ActionInfo {
 	public String references;
 	public boolean isGlobal;
 	public boolean isTimeConsuming;
+	public boolean isReusable;
 	
 	public boolean handleViewChanges;
 	
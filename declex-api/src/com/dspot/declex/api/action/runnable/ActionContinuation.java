@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.action.runnable;
+
+import java.util.Arrays;
+
+/**
+ * Base class of the continuations generated for the Action methods when the Actions
+ * are flattened. The code executed after each Action is a step of the continuation,
+ * and all the steps are executed by {@link #resume_(int)}.
+ */
+public abstract class ActionContinuation implements Runnable {
+
+	/**
+	 * The Runnables already created for the steps, an Action executed in a loop resumes 
+	 * the same step each time
+	 */
+	private Runnable[] steps = new Runnable[0];
+
+	/**
+	 * Executes the code placed after the Action which finished
+	 */
+	public abstract void resume_(int step);
+
+	/**
+	 * Returns the Runnable passed to an Action, which resumes this continuation in the given step
+	 */
+	public Runnable step_(int step) {
+		if (step >= steps.length) {
+			steps = Arrays.copyOf(steps, step + 1);
+		}
+
+		if (steps[step] == null) {
+			steps[step] = new Step(this, step);
+		}
+		return steps[step];
+	}
+
+	private static class Step implements Runnable {
+
+		private final ActionContinuation continuation;
+		private final int step;
+
+		Step(ActionContinuation continuation, int step) {
+			this.continuation = continuation;
+			this.step = step;
+		}
+
+		@Override
+		public void run() {
+			continuation.resume_(step);
+		}
+	}
+
+}
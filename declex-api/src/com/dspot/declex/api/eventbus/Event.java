@@ -24,4 +24,9 @@ import java.lang.annotation.Target;
 @Target({ElementType.FIELD, ElementType.METHOD})
 public @interface Event {
 	String[] value() default "";
+	
+	/**
+	 * Determines if the generated event is pooled, see {@link UseEvents#pooled()}
+	 */
+	boolean pooled() default false;
 }
@@ -25,5 +25,17 @@ import java.lang.annotation.Target;
 public @interface LoadOnEvent {
 	Class<?> value();
 	
+	/**
+	 * Time in milliseconds without new events before the model is loaded, the events received
+	 * meanwhile are merged in one execution. By default is 0, the model is loaded on each event.
+	 */
+	long debounce() default 0;
+	
+	/**
+	 * Minimum time in milliseconds between two executions, the events received in between are
+	 * merged in one execution when the interval ends. It reflects the latest event. By default is 0.
+	 */
+	long minInterval() default 0;
+	
 	boolean debug() default false;
 }
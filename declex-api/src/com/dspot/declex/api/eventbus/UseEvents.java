@@ -24,4 +24,17 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 public @interface UseEvents {
 	boolean custom() default false;
+	
+	/**
+	 * Determines if the instances of the event are taken from a pool and released after they are
+	 * dispatched, the events are dispatched then in the main thread. Use it for events posted at a 
+	 * high frequency; the subscribers shouldn't keep references to pooled events. By default is false.
+	 * <p>
+	 * The event is recycled as soon as it is posted, so its subscribers should use ThreadMode MAIN
+	 * (or POSTING). If a subscriber with ThreadMode BACKGROUND or ASYNC is found in the sources 
+	 * processed with the event, the event is generated without pool and a warning is emitted.
+	 * An event posted by an Action with a finished Runnable is released only after that Runnable
+	 * has been run by a subscriber.
+	 */
+	boolean pooled() default false;
 }
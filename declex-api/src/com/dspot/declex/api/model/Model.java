@@ -78,6 +78,12 @@ public @interface Model {
 	 */
 	boolean lazy() default false;	
 	
+	/**
+	 * Determines if a lazy @Model is loaded in background once the component is initialized,
+	 * after its first frame is drawn. The getter returns then the prefetched model. By default is false.
+	 */
+	boolean prefetch() default false;
+	
 	/**
 	 * If not default handler is provided, any exception will be handled by the framework.
 	 * Current behavior: nothing would be reported.
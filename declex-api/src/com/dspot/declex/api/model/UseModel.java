@@ -36,6 +36,35 @@ public @interface UseModel {
 	 */
 	String defaultQuery() default "";
 	
+	/**
+	 * Classes from which the fields are copied to this Model with 
+	 * {@link com.dspot.declex.api.util.CastUtility#copy(Object, Object, String...) CastUtility.copy}.
+	 * A copier is generated at compile time for each class, so the fields are not read through reflection
+	 */
+	Class<?>[] copyFrom() default {};
+	
+	/**
+	 * Classes to which the fields of this Model are copied with 
+	 * {@link com.dspot.declex.api.util.CastUtility#copy(Object, Object, String...) CastUtility.copy}.
+	 * A copier is generated at compile time for each class, so the fields are not read through reflection
+	 */
+	Class<?>[] copyTo() default {};
+	
+	/**
+	 * The Model implements android.os.Parcelable, so it can be passed in Intents, Bundles and 
+	 * the saved state without Java serialization. The fields which are Models or lists of Models
+	 * are written with their generated Parcelable implementation. If the class already
+	 * implements Parcelable, its own implementation is kept
+	 */
+	boolean parcelable() default true;
+	
+	/**
+	 * The Model implements java.io.Serializable, the fields are written with an ObjectOutputStream.
+	 * This is slower than {@link #parcelable()}, use it only when the Model should be serialized
+	 * outside Android Parcels
+	 */
+	boolean serializable() default false;
+	
 	boolean custom() default false;
 	boolean debug() default false;
 }
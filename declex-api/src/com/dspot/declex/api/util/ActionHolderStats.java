@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the Action Holders allocated and reused by the Actions of each component (Activity,
+ * Fragment, Bean...). The generated code reports to it only when the processor option
+ * "countActionHolders" is enabled.
+ */
+public class ActionHolderStats {
+
+	private static final Map<String, long[]> stats = new HashMap<>();
+
+	public static synchronized void allocated(Class<?> component) {
+		countsOf(component)[0]++;
+	}
+
+	public static synchronized void reused(Class<?> component) {
+		countsOf(component)[1]++;
+	}
+
+	/**
+	 * Returns the number of Action Holders allocated by the Actions of the component
+	 */
+	public static synchronized long getAllocations(Class<?> component) {
+		long[] counts = stats.get(component.getName());
+		return counts == null ? 0 : counts[0];
+	}
+
+	/**
+	 * Returns the number of times the Actions of the component reused a {@link com.dspot.declex.api.action.annotation.ActionFor#reusable() reusable}
+	 * Action Holder instead of allocating it
+	 */
+	public static synchronized long getReuses(Class<?> component) {
+		long[] counts = stats.get(component.getName());
+		return counts == null ? 0 : counts[1];
+	}
+
+	public static synchronized void clear() {
+		stats.clear();
+	}
+
+	private static long[] countsOf(Class<?> component) {
+		long[] counts = stats.get(component.getName());
+		if (counts == null) {
+			counts = new long[2];
+			stats.put(component.getName(), counts);
+		}
+		return counts;
+	}
+
+}
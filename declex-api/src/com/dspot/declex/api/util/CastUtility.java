@@ -22,17 +22,77 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.dspot.declex.api.util.annotation.CopyIgnore;
 import com.dspot.declex.api.util.annotation.CopyName;
 
 public class CastUtility {
 	
+	private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Copier<?, ?>>> copiers = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Class<?>, EField[]> fieldsCache = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Class<?>, Converter> convertersCache = new ConcurrentHashMap<>();
+	
+	/**
+	 * Copies the fields of an object to another one. The copiers are generated at compile time 
+	 * for the classes declared in {@link com.dspot.declex.api.model.UseModel#copyFrom() copyFrom} 
+	 * and {@link com.dspot.declex.api.model.UseModel#copyTo() copyTo}, and they are registered
+	 * when the generated Model is loaded
+	 */
+	public interface Copier<F, T> {
+		void copy(F from, T to);
+	}
+	
+	public static <F, T> void registerCopier(Class<? extends F> fromClass, Class<? extends T> toClass, Copier<F, T> copier) {
+		ConcurrentMap<Class<?>, Copier<?, ?>> toCopiers = copiers.get(fromClass);
+		if (toCopiers == null) {
+			toCopiers = new ConcurrentHashMap<>();
+			
+			ConcurrentMap<Class<?>, Copier<?, ?>> previousCopiers = copiers.putIfAbsent(fromClass, toCopiers);
+			if (previousCopiers != null) toCopiers = previousCopiers;
+		}
+		
+		toCopiers.put(toClass, copier);
+	}
+	
+	@SuppressWarnings("unchecked")
+	public static <F, T> Copier<F, T> getCopier(Class<? extends F> fromClass, Class<? extends T> toClass) {
+		ConcurrentMap<Class<?>, Copier<?, ?>> toCopiers = copiers.get(fromClass);
+		if (toCopiers == null) return null;
+		
+		return (Copier<F, T>) toCopiers.get(toClass);
+	}
+	
+	/**
+	 * Returns a declared field prepared for reflective access. The generated copiers use it
+	 * for the fields which cannot be accessed directly or through accessors
+	 */
+	public static Field getCopyField(Class<?> cls, String name) {
+		try {
+			Field field = cls.getDeclaredField(name);
+			field.setAccessible(true);
+			return field;
+		} catch (NoSuchFieldException | SecurityException e) {
+			return null;
+		}
+	}
+	
+	public static void copyField(Field fromField, Object from, Field toField, Object to) {
+		if (fromField == null || toField == null) return;
+		
+		try {
+			copyValue(fromField.getType(), fromField.get(from), toField, to);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+		}
+	}
+	
 	public static Map<EField, Object> getFields(Object object) {
 		//Use fieldsMap to return the fields sorted alphabetically
 		Map<EField, Object> fieldsMap = new TreeMap<EField, Object>(new Comparator<EField>() {
@@ -43,31 +103,58 @@ public class CastUtility {
 			}
 		});
 		
-		Class<?> cls = object.getClass();
-		while (!cls.equals(Object.class)) 
+		for (EField field : getCopyFields(object.getClass())) {
 			try {
-				Field[] fields = cls.getDeclaredFields();
-				for (Field field : fields) {
-					//Ignore No-Copiable Modifiers
-					int fieldMofiers = field.getModifiers();
-					if (Modifier.isTransient(fieldMofiers) || 
-						Modifier.isStatic(fieldMofiers) ||
-						Modifier.isFinal(fieldMofiers) || 
-						field.getAnnotation(CopyIgnore.class) != null) continue;
-					
-					field.setAccessible(true);
-					fieldsMap.put(new EField(field), field.get(object));
-				}
-
-				cls = cls.getSuperclass();
-			} catch (IllegalAccessException e) {
-			} catch (IllegalArgumentException e) {
+				fieldsMap.put(field, field.get(object));
+			} catch (IllegalAccessException | IllegalArgumentException e) {
 			}
+		}
 		
 		return fieldsMap;
 		
 	}
 	
+	/**
+	 * Returns the copiable fields of the class sorted by name. They are resolved only 
+	 * once per class, so the copies through reflection don't walk the hierarchy each time
+	 */
+	private static EField[] getCopyFields(Class<?> cls) {
+		EField[] fields = fieldsCache.get(cls);
+		if (fields != null) return fields;
+		
+		Map<String, EField> fieldsMap = new TreeMap<>();
+		
+		Class<?> currentClass = cls;
+		while (!currentClass.equals(Object.class)) {
+			for (Field field : currentClass.getDeclaredFields()) {
+				//Ignore No-Copiable Modifiers
+				int fieldMofiers = field.getModifiers();
+				if (Modifier.isTransient(fieldMofiers) || 
+					Modifier.isStatic(fieldMofiers) ||
+					Modifier.isFinal(fieldMofiers) || 
+					field.getAnnotation(CopyIgnore.class) != null) continue;
+				
+				field.setAccessible(true);
+				
+				EField eField = new EField(field);
+				EField previousField = fieldsMap.get(eField.getName());
+				if (previousField == null) {
+					fieldsMap.put(eField.getName(), eField);
+				} else {
+					//Hidden fields are written in the subclass but read from the superclass
+					previousField.valueField = field;
+				}
+			}
+
+			currentClass = currentClass.getSuperclass();
+		}
+		
+		fields = fieldsMap.values().toArray(new EField[fieldsMap.size()]);
+		
+		EField[] previousFields = fieldsCache.putIfAbsent(cls, fields);
+		return previousFields != null ? previousFields : fields;
+	}
+	
 	public static <T> void copy(String fieldName, Object from, List<T> to) {
 		
 		Iterable<?> iterableFrom = null;
@@ -84,11 +171,7 @@ public class CastUtility {
 		Iterator<?> fromIterator = iterableFrom != null ? iterableFrom.iterator() : null;
 		if (to.size() == 0) return;
 		
-		Map<EField, Object> toFields = getFields(to.get(0));
-		Iterator<EField> toFieldsIterator = toFields.keySet().iterator();
-		
-		iter: while (toFieldsIterator.hasNext()) {
-			EField field = toFieldsIterator.next();
+		for (EField field : getCopyFields(to.get(0).getClass())) {
 			if (field.name.equals(fieldName)) {
 				
 				for (Object toObject : to) {
@@ -97,99 +180,128 @@ public class CastUtility {
 					if (fromIterator != null) {
 						if (fromIterator.hasNext()) {
 							fromObject = fromIterator.next();
-						} else break iter;
+						} else return;
 					}
 											
 					try {
-						field.field.set(toObject, fromObject);
+						field.set(toObject, fromObject);
 					} catch (IllegalAccessException
 							| IllegalArgumentException e) {
 						e.printStackTrace();
 					}
 				}
 				
-				break iter;
+				return;
 			}
 		}
 	}
 	
 	public static void copy(Object from, Object to, String ... toIgnore) {
-		Map<EField, Object> fromFields = getFields(from);
-		Map<EField, Object> toFields = getFields(to);
 		
-		Iterator<EField> fromFieldsIterator = fromFields.keySet().iterator();
-		Iterator<EField> toFieldsIterator = toFields.keySet().iterator();
+		if (toIgnore == null || toIgnore.length == 0) {
+			Copier<Object, Object> copier = getCopier(from.getClass(), to.getClass());
+			if (copier != null) {
+				copier.copy(from, to);
+				return;
+			}
+		}
 		
-		EField fromField = fromFieldsIterator.next();
-		EField toField = toFieldsIterator.next();
+		EField[] fromFields = getCopyFields(from.getClass());
+		EField[] toFields = getCopyFields(to.getClass());
 		
-		List<String> toIgnoreList = toIgnore == null ? new ArrayList<>() : new ArrayList(Arrays.asList(toIgnore));
+		List<String> toIgnoreList = toIgnore == null ? Collections.<String>emptyList() : Arrays.asList(toIgnore);
 		
-		while (true) {
+		//Both arrays are sorted by name, so they are merged in one pass
+		int fromIndex = 0;
+		int toIndex = 0;
+		while (fromIndex < fromFields.length && toIndex < toFields.length) {
+			EField fromField = fromFields[fromIndex];
+			EField toField = toFields[toIndex];
 			
-			while (fromField.getName().compareTo(toField.getName()) < 0) {
-				if (!fromFieldsIterator.hasNext()) return;
-				
-				fromField = fromFieldsIterator.next();
-			}
-			
-			while (fromField.getName().compareTo(toField.getName()) > 0) {
-				if (!toFieldsIterator.hasNext()) return;
-				
-				toField = toFieldsIterator.next();
-			}
-
-			if (fromField.getName().equals(toField.getName())) {
+			int comparison = fromField.getName().compareTo(toField.getName());
+			if (comparison < 0) {
+				fromIndex++;
+			} else if (comparison > 0) {
+				toIndex++;
+			} else {
 				
 				if (!toIgnoreList.contains(toField.getName())) {
-					if (fromField.getType().equals(toField.getType())) {
-						try {
-							toField.set(to, fromFields.get(fromField));
-						} catch (IllegalAccessException | IllegalArgumentException e) {
-						}
-					} else {
-						//Handle field castings
-						try {
-							//Handling Primitive types
-							Class<?> toFieldClass = toField.getType();
-							if (toFieldClass.isPrimitive()) {
-								if (toField.getType().equals(short.class)) toFieldClass = Short.class;
-								else if (toField.getType().equals(byte.class)) toFieldClass = Byte.class;
-								else if (toField.getType().equals(char.class)) toFieldClass = Character.class;
-								else if (toField.getType().equals(int.class)) toFieldClass = Integer.class;
-								else if (toField.getType().equals(byte.class)) toFieldClass = Byte.class;
-								else if (toField.getType().equals(float.class)) toFieldClass = Float.class;
-								else if (toField.getType().equals(double.class)) toFieldClass = Double.class;
-							}
-							
-							Method valueOf = toFieldClass.getMethod("valueOf", String.class);
-	
-							if (valueOf != null) {
-								Object valueOfFrom = valueOf.invoke(null, fromFields.get(fromField).toString());
-								toField.set(to, valueOfFrom);
-							}
-							
-						} catch (NoSuchMethodException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-						}
-						
-						
+					try {
+						copyValue(fromField.getType(), fromField.get(from), toField.field, to);
+					} catch (IllegalAccessException | IllegalArgumentException e) {
 					}
 				}
 				
-				if (!fromFieldsIterator.hasNext() || !toFieldsIterator.hasNext()) return;
-				fromField = fromFieldsIterator.next();
-				toField = toFieldsIterator.next();
+				fromIndex++;
+				toIndex++;
 			}			
 		}
 		
 	}
 	
+	private static void copyValue(Class<?> fromType, Object value, Field toField, Object to) 
+			throws IllegalAccessException, IllegalArgumentException {
+		
+		if (fromType.equals(toField.getType())) {
+			toField.set(to, value);
+		} else {
+			//Handle field castings
+			Method valueOf = getValueOf(toField.getType());
+			if (valueOf != null) {
+				try {
+					Object valueOfFrom = valueOf.invoke(null, value.toString());
+					toField.set(to, valueOfFrom);
+				} catch (InvocationTargetException e) {
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the method "valueOf(String)" used to convert the values to the given type, 
+	 * it is resolved only once per type
+	 */
+	private static Method getValueOf(Class<?> type) {
+		Converter converter = convertersCache.get(type);
+		if (converter != null) return converter.valueOf;
+		
+		//Handling Primitive types
+		Class<?> valueOfClass = type;
+		if (valueOfClass.isPrimitive()) {
+			if (type.equals(short.class)) valueOfClass = Short.class;
+			else if (type.equals(byte.class)) valueOfClass = Byte.class;
+			else if (type.equals(char.class)) valueOfClass = Character.class;
+			else if (type.equals(int.class)) valueOfClass = Integer.class;
+			else if (type.equals(float.class)) valueOfClass = Float.class;
+			else if (type.equals(double.class)) valueOfClass = Double.class;
+		}
+		
+		Method valueOf = null;
+		try {
+			valueOf = valueOfClass.getMethod("valueOf", String.class);
+		} catch (NoSuchMethodException | SecurityException e) {
+		}
+		
+		convertersCache.putIfAbsent(type, new Converter(valueOf));
+		return valueOf;
+	}
+	
+	private static class Converter {
+		private final Method valueOf;
+		
+		public Converter(Method valueOf) {
+			this.valueOf = valueOf;
+		}
+	}
+	
 	private static class EField {
 		private Field field;
+		private Field valueField;
 		private String name;
 		
 		public EField(Field field) {
 			this.field = field;
+			this.valueField = field;
 			
 			CopyName copyName = field.getAnnotation(CopyName.class);
 			if (copyName != null) {
@@ -207,6 +319,10 @@ public class CastUtility {
 			return field.getType();
 		}
 		
+		public Object get(Object object) throws IllegalAccessException, IllegalArgumentException {
+			return valueField.get(object);
+		}
+		
 		public void set(Object object, Object value) throws IllegalAccessException, IllegalArgumentException {
 			field.set(object, value);
 		}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.greenrobot.eventbus.EventBus;
+import org.greenrobot.eventbus.EventBusException;
+import org.greenrobot.eventbus.meta.SubscriberInfo;
+import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
+
+public class EventBusUtility {
+
+	private static final Map<Class<?>, SubscriberInfo> subscriberInfos = new ConcurrentHashMap<>();
+
+	private static volatile EventBus eventBus;
+
+	/**
+	 * Index with the subscriber methods of the generated classes, so EventBus doesn't
+	 * look for them through reflection when the components are registered
+	 */
+	private static final SubscriberInfoIndex index = new SubscriberInfoIndex() {
+
+		@Override
+		public SubscriberInfo getSubscriberInfo(Class<?> subscriberClass) {
+			return subscriberInfos.get(subscriberClass);
+		}
+	};
+
+	/**
+	 * Adds the subscriber methods of a generated class to the index, it is invoked
+	 * when the generated class is loaded
+	 */
+	public static void putSubscriberInfo(SubscriberInfo subscriberInfo) {
+		subscriberInfos.put(subscriberInfo.getSubscriberClass(), subscriberInfo);
+	}
+
+	/**
+	 * Returns the default EventBus, installing it with the index of the generated classes
+	 */
+	public static EventBus getDefault() {
+		EventBus bus = eventBus;
+		if (bus == null) {
+			synchronized (EventBusUtility.class) {
+				if (eventBus == null) {
+					try {
+						eventBus = EventBus.builder().addIndex(index).installDefaultEventBus();
+					} catch (EventBusException e) {
+						//The default EventBus was already created, it is used without the index
+						eventBus = EventBus.getDefault();
+					}
+				}
+
+				bus = eventBus;
+			}
+		}
+
+		return bus;
+	}
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+/**
+ * Collapses the bursts of events which reload a model into one reload, executed in the
+ * main thread. The reload reads the state when it runs, so it reflects the latest event.
+ */
+public class EventCoalescer {
+
+	private final long debounce;
+	private final long minInterval;
+	private final Runnable action;
+
+	private final Handler handler = MainThreadDispatcher.getHandler();
+
+	private boolean pending;
+	private long lastRun = -1;
+
+	private long mergedEvents;
+	private long droppedEvents;
+
+	private final Runnable runPending = new Runnable() {
+
+		@Override
+		public void run() {
+			pending = false;
+			lastRun = SystemClock.uptimeMillis();
+			action.run();
+		}
+	};
+
+	/**
+	 * @param debounce time in milliseconds without events before the action runs
+	 * @param minInterval minimum time in milliseconds between two executions of the action
+	 * @param action the action to run, in the main thread
+	 */
+	public EventCoalescer(long debounce, long minInterval, Runnable action) {
+		this.debounce = debounce;
+		this.minInterval = minInterval;
+		this.action = action;
+	}
+
+	/**
+	 * Invoked in the main thread for each event received
+	 */
+	public void onEvent() {
+		final long now = SystemClock.uptimeMillis();
+
+		long runAt = now + debounce;
+		if (lastRun >= 0 && minInterval > 0) {
+			runAt = Math.max(runAt, lastRun + minInterval);
+		}
+
+		if (pending) {
+			mergedEvents++;
+
+			//Without debounce the pending execution keeps its time
+			if (debounce == 0) return;
+			handler.removeCallbacks(runPending);
+		} else if (runAt <= now) {
+			runPending.run();
+			return;
+		}
+
+		pending = true;
+		handler.postAtTime(runPending, runAt);
+	}
+
+	/**
+	 * Discards the pending execution, if any. It should be invoked when the component is destroyed
+	 */
+	public void cancel() {
+		if (pending) {
+			handler.removeCallbacks(runPending);
+			pending = false;
+			droppedEvents++;
+		}
+	}
+
+	/**
+	 * Returns the number of events merged in the execution of a previous event
+	 */
+	public long getMergedEvents() {
+		return mergedEvents;
+	}
+
+	/**
+	 * Returns the number of pending executions discarded by {@link #cancel()}
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents;
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import android.util.Log;
+
+/**
+ * Bounded pool of the instances of a pooled event. The events are acquired when they are
+ * created and released once they were dispatched.
+ * <p>
+ * In debug mode the pool reports through the log the instances which were garbage collected
+ * without being released, with the stack trace where they were acquired, and it throws
+ * an exception if an instance is released twice.
+ */
+public abstract class EventPool<T> {
+
+	public static final int DEFAULT_SIZE = 16;
+
+	private static final String TAG = "EventPool";
+
+	private final Object[] pool;
+	private int size;
+
+	private final boolean debug;
+	private final List<AcquiredReference<T>> acquired;
+	private final ReferenceQueue<T> collected;
+
+	public EventPool(int maxSize, boolean debug) {
+		this.pool = new Object[maxSize];
+		this.debug = debug;
+
+		this.acquired = debug ? new LinkedList<AcquiredReference<T>>() : null;
+		this.collected = debug ? new ReferenceQueue<T>() : null;
+	}
+
+	protected abstract T create();
+
+	@SuppressWarnings("unchecked")
+	public synchronized T acquire() {
+		T instance;
+		if (size > 0) {
+			size--;
+			instance = (T) pool[size];
+			pool[size] = null;
+		} else {
+			instance = create();
+		}
+
+		if (debug) {
+			reportLeaks();
+			acquired.add(new AcquiredReference<T>(instance, collected));
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Returns the instance to the pool, it shouldn't be used after this call
+	 */
+	public synchronized void release(T instance) {
+		if (debug) {
+			boolean found = false;
+
+			Iterator<AcquiredReference<T>> iterator = acquired.iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().get() == instance) {
+					iterator.remove();
+					found = true;
+					break;
+				}
+			}
+
+			if (!found) {
+				throw new IllegalStateException("The event " + instance + " was released twice");
+			}
+		}
+
+		if (size < pool.length) {
+			pool[size] = instance;
+			size++;
+		}
+	}
+
+	private void reportLeaks() {
+		AcquiredReference<?> reference;
+		while ((reference = (AcquiredReference<?>) collected.poll()) != null) {
+			//The released instances were already removed from the list
+			if (acquired.remove(reference)) {
+				Log.w(TAG, "An event was acquired but it was never released", reference.acquiredAt);
+			}
+		}
+	}
+
+	private static class AcquiredReference<T> extends WeakReference<T> {
+		private final Throwable acquiredAt;
+
+		public AcquiredReference(T instance, ReferenceQueue<T> queue) {
+			super(instance, queue);
+			this.acquiredAt = new Throwable("Event acquired here");
+		}
+	}
+
+}
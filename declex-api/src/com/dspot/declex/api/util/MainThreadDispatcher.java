@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.Choreographer;
+
+/**
+ * Shared dispatcher to the main thread, used by the built-in Actions and the generated code
+ * instead of creating a Handler each time.
+ * <p>
+ * With {@link #setFrameBatching(boolean) frame batching} enabled, the callbacks dispatched
+ * from background threads are collected and executed together in the next frame, instead
+ * of posting a message for each of them.
+ */
+public class MainThreadDispatcher {
+
+	private static final Handler handler = new Handler(Looper.getMainLooper());
+
+	private static volatile boolean frameBatching;
+
+	private static final Object frameLock = new Object();
+	private static List<Runnable> frameCallbacks = new ArrayList<>();
+	private static boolean frameScheduled;
+
+	private static final Runnable scheduleFrame = new Runnable() {
+
+		@Override
+		public void run() {
+			if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+				FrameCallbackScheduler.schedule();
+			} else {
+				runFrameCallbacks();
+			}
+		}
+	};
+
+	public static Handler getHandler() {
+		return handler;
+	}
+
+	public static boolean isMainThread() {
+		return Looper.myLooper() == Looper.getMainLooper();
+	}
+
+	/**
+	 * When it is enabled, the callbacks passed to {@link #run(Runnable)} from background
+	 * threads are executed together in the next frame. It is disabled by default
+	 */
+	public static void setFrameBatching(boolean enabled) {
+		frameBatching = enabled;
+	}
+
+	/**
+	 * Runs the callback immediately if this is the main thread, otherwise it is posted to
+	 * the main thread
+	 */
+	public static void run(Runnable runnable) {
+		if (isMainThread()) {
+			runnable.run();
+		} else if (frameBatching) {
+			runInFrame(runnable);
+		} else {
+			handler.post(runnable);
+		}
+	}
+
+	/**
+	 * Posts the callback to the main thread, even if this is the main thread
+	 */
+	public static void post(Runnable runnable) {
+		handler.post(runnable);
+	}
+
+	/**
+	 * Executes the callback in the main thread once its queue is idle, so the messages already
+	 * scheduled (ex. the first traversal of a new screen) are handled before
+	 */
+	public static void runWhenIdle(final Runnable runnable) {
+		if (!isMainThread()) {
+			handler.post(new Runnable() {
+
+				@Override
+				public void run() {
+					runWhenIdle(runnable);
+				}
+			});
+			return;
+		}
+
+		Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+
+			@Override
+			public boolean queueIdle() {
+				runnable.run();
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Executes the callback in the next frame, together with the rest of callbacks
+	 * dispatched meanwhile
+	 */
+	public static void runInFrame(Runnable runnable) {
+		synchronized (frameLock) {
+			frameCallbacks.add(runnable);
+			if (frameScheduled) return;
+			frameScheduled = true;
+		}
+
+		if (isMainThread()) {
+			scheduleFrame.run();
+		} else {
+			handler.post(scheduleFrame);
+		}
+	}
+
+	private static void runFrameCallbacks() {
+		List<Runnable> callbacks;
+		synchronized (frameLock) {
+			callbacks = frameCallbacks;
+			frameCallbacks = new ArrayList<>();
+			frameScheduled = false;
+		}
+
+		for (Runnable callback : callbacks) {
+			callback.run();
+		}
+	}
+
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private static class FrameCallbackScheduler {
+
+		private static final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+
+			@Override
+			public void doFrame(long frameTimeNanos) {
+				runFrameCallbacks();
+			}
+		};
+
+		static void schedule() {
+			Choreographer.getInstance().postFrameCallback(frameCallback);
+		}
+	}
+
+}
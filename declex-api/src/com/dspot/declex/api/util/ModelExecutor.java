@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.os.Process;
+import android.os.SystemClock;
+
+/**
+ * Executes the asynchronous loads and puts of the {@link com.dspot.declex.api.model.Model @Model}
+ * fields. The tasks are grouped by the component which created them, so its loads can be cancelled
+ * when it is destroyed, and the tasks with the same serial in a component are executed one
+ * after the other.
+ */
+public class ModelExecutor {
+
+	/**
+	 * Priority of the loads, the visible screens wait for them
+	 */
+	public static final int PRIORITY_LOAD = 10;
+
+	/**
+	 * Priority of the puts, executed in background
+	 */
+	public static final int PRIORITY_PUT = 0;
+
+	/**
+	 * Priority of the prefetches of lazy models, executed when there's nothing else to do
+	 */
+	public static final int PRIORITY_PREFETCH = -10;
+
+	private static final int POOL_SIZE = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4));
+
+	private static final AtomicLong sequence = new AtomicLong(0);
+
+	private static final AtomicLong executedTasks = new AtomicLong(0);
+	private static final AtomicLong totalWaitTime = new AtomicLong(0);
+	private static final AtomicLong maxWaitTime = new AtomicLong(0);
+
+	/**
+	 * Tasks not finished yet, including those waiting for a previous task with the same serial
+	 */
+	private static final List<Task> tasks = new ArrayList<>();
+
+	private static final ThreadPoolExecutor executor;
+	static {
+		executor = new ThreadPoolExecutor(
+				POOL_SIZE, POOL_SIZE, 30, TimeUnit.SECONDS,
+				new PriorityBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+
+					private final AtomicInteger count = new AtomicInteger(0);
+
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(new Runnable() {
+
+							@Override
+							public void run() {
+								Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+								runnable.run();
+							}
+						}, "ModelExecutor #" + count.incrementAndGet());
+
+						return thread;
+					}
+				}
+			);
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	public static void execute(Task task) {
+		synchronized (ModelExecutor.class) {
+			if (task.cancelled) return;
+			task.enqueuedTime = SystemClock.elapsedRealtime();
+
+			boolean waitForSerial = task.serial != null && hasTaskWithSerial(task.owner, task.serial);
+			tasks.add(task);
+
+			if (!waitForSerial) {
+				task.submitted = true;
+				executor.execute(task);
+			}
+		}
+	}
+
+	/**
+	 * Cancels all the tasks created by the given component, except the puts, which are always
+	 * completed so the writes are not lost (ej.: "$PutModel(model); finish();"). The tasks which
+	 * are already running are not interrupted, but they can check {@link Task#isCancelled()}.
+	 * The puts which were waiting for a removed task with the same serial are submitted
+	 */
+	public static void cancelAll(Object owner) {
+		synchronized (ModelExecutor.class) {
+			List<String> removedSerials = new ArrayList<>();
+
+			Iterator<Task> iterator = tasks.iterator();
+			while (iterator.hasNext()) {
+				Task task = iterator.next();
+				if (task.owner != owner || task.priority == PRIORITY_PUT) continue;
+
+				task.cancelled = true;
+				if (!task.running) {
+					executor.remove(task);
+					iterator.remove();
+
+					if (task.serial != null && !removedSerials.contains(task.serial)) {
+						removedSerials.add(task.serial);
+					}
+				}
+			}
+
+			for (String serial : removedSerials) {
+				submitNext(owner, serial);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of tasks waiting to be executed
+	 */
+	public static int getQueueDepth() {
+		synchronized (ModelExecutor.class) {
+			int queueDepth = 0;
+			for (Task task : tasks) {
+				if (!task.running) queueDepth++;
+			}
+			return queueDepth;
+		}
+	}
+
+	/**
+	 * Returns the average time, in milliseconds, that the executed tasks waited in the queue
+	 */
+	public static long getAverageWaitTime() {
+		long executed = executedTasks.get();
+		return executed == 0 ? 0 : totalWaitTime.get() / executed;
+	}
+
+	/**
+	 * Returns the maximum time, in milliseconds, that a task waited in the queue
+	 */
+	public static long getMaxWaitTime() {
+		return maxWaitTime.get();
+	}
+
+	private static boolean hasTaskWithSerial(Object owner, String serial) {
+		for (Task task : tasks) {
+			if (task.owner == owner && serial.equals(task.serial)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void taskStarted(Task task) {
+		long waitTime = SystemClock.elapsedRealtime() - task.enqueuedTime;
+
+		executedTasks.incrementAndGet();
+		totalWaitTime.addAndGet(waitTime);
+
+		long max;
+		while (waitTime > (max = maxWaitTime.get())) {
+			if (maxWaitTime.compareAndSet(max, waitTime)) break;
+		}
+	}
+
+	private static void taskFinished(Task task) {
+		synchronized (ModelExecutor.class) {
+			tasks.remove(task);
+			if (task.serial == null) return;
+
+			submitNext(task.owner, task.serial);
+		}
+	}
+
+	/**
+	 * Submits the first pending task with the given serial, if it was waiting for a previous one
+	 */
+	private static void submitNext(Object owner, String serial) {
+		for (Task next : tasks) {
+			if (next.owner == owner && serial.equals(next.serial)) {
+				if (!next.submitted) {
+					next.submitted = true;
+					executor.execute(next);
+				}
+				return;
+			}
+		}
+	}
+
+	public static abstract class Task implements Runnable, Comparable<Task> {
+
+		private final Object owner;
+		private final String serial;
+		private final int priority;
+		private final long order;
+
+		private long enqueuedTime;
+		private boolean submitted;
+		private boolean running;
+		private volatile boolean cancelled;
+
+		/**
+		 * @param owner the component which creates the task, it can be null
+		 * @param serial the tasks with the same serial and owner are executed sequentially,
+		 * it can be null
+		 * @param priority tasks with higher priority are executed first
+		 */
+		public Task(Object owner, String serial, int priority) {
+			this.owner = owner;
+			this.serial = serial;
+			this.priority = priority;
+			this.order = sequence.getAndIncrement();
+		}
+
+		@Override
+		public void run() {
+			synchronized (ModelExecutor.class) {
+				if (cancelled) return;
+				running = true;
+			}
+
+			taskStarted(this);
+
+			try {
+				execute();
+			} finally {
+				taskFinished(this);
+			}
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		/**
+		 * Cancels a task which was not passed to {@link ModelExecutor#execute(Task)} yet, 
+		 * it will not be executed
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+
+		public abstract void execute();
+
+		@Override
+		public int compareTo(Task other) {
+			if (priority != other.priority) {
+				return priority > other.priority ? -1 : 1;
+			}
+
+			//Tasks with the same priority are executed in order of creation
+			return order < other.order ? -1 : (order == other.order ? 0 : 1);
+		}
+	}
+
+}
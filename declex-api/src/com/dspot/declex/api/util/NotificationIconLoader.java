@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.support.v4.util.LruCache;
+
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.Picasso.LoadedFrom;
+import com.squareup.picasso.Target;
+
+/**
+ * Loads the large icons of the notifications asynchronously with Picasso. The icons are
+ * decoded with the size of the notification large icon, and the last ones are kept in memory,
+ * so the notifications of the same sender don't load them again.
+ * <p>
+ * A limited number of icons is loaded at the same time, the rest wait in a queue. The requests
+ * for an icon which is already being loaded are attached to that load.
+ */
+public class NotificationIconLoader {
+
+	public static final int MAX_CONCURRENT_LOADS = 2;
+
+	private static final int CACHE_SIZE_BYTES = 4 * 1024 * 1024;
+
+	private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(CACHE_SIZE_BYTES) {
+
+		@Override
+		protected int sizeOf(String key, Bitmap bitmap) {
+			return bitmap.getRowBytes() * bitmap.getHeight();
+		}
+	};
+
+	//These are only accessed in the main thread
+	private static final Map<String, IconRequest> requests = new HashMap<>();
+	private static final LinkedList<IconRequest> queue = new LinkedList<>();
+	private static int loading;
+
+	/**
+	 * Loads the icon and passes it to the callback in the main thread. The callback receives
+	 * null if the icon couldn't be loaded
+	 */
+	public static void load(final Context context, final String icon, final Callback callback) {
+		if (!MainThreadDispatcher.isMainThread()) {
+			MainThreadDispatcher.post(new Runnable() {
+
+				@Override
+				public void run() {
+					load(context, icon, callback);
+				}
+			});
+			return;
+		}
+
+		Bitmap bitmap = cache.get(icon);
+		if (bitmap != null) {
+			callback.onLoaded(bitmap);
+			return;
+		}
+
+		IconRequest request = requests.get(icon);
+		if (request != null) {
+			request.callbacks.add(callback);
+			return;
+		}
+
+		request = new IconRequest(context.getApplicationContext(), icon);
+		requests.put(icon, request);
+
+		//The callback is added before starting, Picasso calls the Target synchronously
+		//if the icon is in its memory cache
+		request.callbacks.add(callback);
+
+		if (loading < MAX_CONCURRENT_LOADS) {
+			request.start();
+		} else {
+			queue.add(request);
+		}
+	}
+
+	private static void finished(IconRequest request, Bitmap bitmap) {
+		if (request.finished) return;
+		request.finished = true;
+
+		requests.remove(request.icon);
+		loading--;
+
+		if (bitmap != null) {
+			cache.put(request.icon, bitmap);
+		}
+
+		for (Callback callback : request.callbacks) {
+			callback.onLoaded(bitmap);
+		}
+
+		if (!queue.isEmpty()) {
+			queue.removeFirst().start();
+		}
+	}
+
+	public interface Callback {
+		void onLoaded(Bitmap bitmap);
+	}
+
+	/**
+	 * Picasso keeps a weak reference to the Targets, the requests are held in
+	 * {@link NotificationIconLoader#requests} until they finish
+	 */
+	private static class IconRequest implements Target {
+
+		private final Context context;
+		private final String icon;
+		private final List<Callback> callbacks = new LinkedList<>();
+		private boolean finished;
+
+		public IconRequest(Context context, String icon) {
+			this.context = context;
+			this.icon = icon;
+		}
+
+		void start() {
+			loading++;
+
+			try {
+				Resources resources = context.getResources();
+				int width = resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_width);
+				int height = resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_height);
+
+				Picasso.with(context).load(icon)
+				       .resize(width, height)
+				       .centerCrop()
+				       .onlyScaleDown()
+				       .into(this);
+			} catch (RuntimeException e) {
+				//Ex. an invalid icon path, the notifications are shown without icon
+				finished(this, null);
+			}
+		}
+
+		@Override
+		public void onBitmapLoaded(Bitmap bitmap, LoadedFrom from) {
+			finished(this, bitmap);
+		}
+
+		@Override
+		public void onBitmapFailed(Drawable errorDrawable) {
+			finished(this, null);
+		}
+
+		@Override
+		public void onPrepareLoad(Drawable placeHolderDrawable) {
+		}
+	}
+
+}
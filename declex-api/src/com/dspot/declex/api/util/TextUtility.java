@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+public class TextUtility {
+
+	/**
+	 * Size needed for a buffer to hold any integral value, "-9223372036854775808"
+	 */
+	public static final int CHARS_BUFFER_SIZE = 20;
+
+	/**
+	 * Writes the decimal representation of the value at the beginning of the buffer,
+	 * without creating intermediate Strings. This permits to bind primitives
+	 * to a TextView through setText(char[], int, int) reusing always the same buffer.
+	 *
+	 * @return the number of chars written
+	 */
+	public static int getChars(long value, char[] buffer) {
+		if (value == Long.MIN_VALUE) {
+			final String minValue = "-9223372036854775808";
+			minValue.getChars(0, minValue.length(), buffer, 0);
+			return minValue.length();
+		}
+
+		int length = 0;
+		if (value < 0) {
+			buffer[length++] = '-';
+			value = -value;
+		}
+
+		long tmp = value;
+		int digits = 1;
+		while (tmp >= 10) {
+			tmp = tmp / 10;
+			digits++;
+		}
+
+		length = length + digits;
+		for (int i = length - 1; digits > 0; i--, digits--) {
+			buffer[i] = (char) ('0' + (value % 10));
+			value = value / 10;
+		}
+
+		return length;
+	}
+
+}
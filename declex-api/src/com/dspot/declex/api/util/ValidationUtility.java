@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+/**
+ * Rules used by the validations generated for {@link com.dspot.declex.api.viewsinjection.Recollect @Recollect}.
+ * They follow the semantics of the equivalent Saripaar rules.
+ */
+public class ValidationUtility {
+
+	public static boolean isNotEmpty(String data, boolean trim, String emptyText) {
+		if (data == null) return true;
+
+		String text = trim ? data.trim() : data;
+		return !emptyText.equals(text) && !"".equals(text);
+	}
+
+	public static boolean hasLength(String data, int min, int max, boolean trim) {
+		if (data == null) return false;
+
+		int length = trim ? data.trim().length() : data.length();
+		return length >= min && length <= max;
+	}
+
+	/**
+	 * Returns the integer in the text, or null if the text is not an integer
+	 */
+	public static Integer toInteger(String data) {
+		if (data == null) return null;
+
+		try {
+			return Integer.valueOf(data.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Appends the message of a failed rule to the messages of the same view
+	 */
+	public static String collate(String errors, String message) {
+		return errors == null ? message : errors + "\n" + message;
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.api.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import android.app.Activity;
+import android.app.Application.ActivityLifecycleCallbacks;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Bundle;
+
+/**
+ * Keeps the view pools shared between lists of the same Activity. The pools hold views 
+ * of the Activity, so they are released when it is destroyed. It should be used only 
+ * from the main thread.
+ */
+public class ViewPoolUtility {
+	
+	private static final Map<Activity, Map<String, Object>> sharedPools = new HashMap<>();
+	
+	private static boolean lifecycleCallbacksRegistered;
+	
+	/**
+	 * Returns the pool registered with the given name in the Activity of the context, 
+	 * or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T getSharedPool(Context context, String name) {
+		Map<String, Object> pools = sharedPools.get(getActivity(context));
+		if (pools == null) return null;
+		
+		return (T) pools.get(name);
+	}
+	
+	/**
+	 * Registers a pool with the given name in the Activity of the context. If the
+	 * context does not belong to an Activity, the pool is not shared
+	 */
+	public static void putSharedPool(Context context, String name, Object pool) {
+		Activity activity = getActivity(context);
+		if (activity == null) return;
+		
+		Map<String, Object> pools = sharedPools.get(activity);
+		if (pools == null) {
+			pools = new HashMap<>();
+			sharedPools.put(activity, pools);
+			registerLifecycleCallbacks(activity);
+		}
+		
+		pools.put(name, pool);
+	}
+	
+	private static Activity getActivity(Context context) {
+		while (context instanceof ContextWrapper) {
+			if (context instanceof Activity) return (Activity) context;
+			context = ((ContextWrapper) context).getBaseContext();
+		}
+		
+		return null;
+	}
+	
+	private static void registerLifecycleCallbacks(Activity activity) {
+		if (lifecycleCallbacksRegistered) return;
+		lifecycleCallbacksRegistered = true;
+		
+		activity.getApplication().registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacks() {
+			
+			@Override
+			public void onActivityDestroyed(Activity activity) {
+				sharedPools.remove(activity);
+			}
+			
+			@Override
+			public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+			
+			@Override
+			public void onActivityStarted(Activity activity) {}
+			
+			@Override
+			public void onActivityResumed(Activity activity) {}
+			
+			@Override
+			public void onActivityPaused(Activity activity) {}
+			
+			@Override
+			public void onActivityStopped(Activity activity) {}
+			
+			@Override
+			public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+		});
+	}
+	
+}
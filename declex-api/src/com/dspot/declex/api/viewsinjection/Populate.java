@@ -29,11 +29,51 @@ public @interface Populate {
 	 */
 	int[] value() default 0;
 	
+	/**
+	 * In the case of a List<Model>, the layouts of the items, used instead of "tools:listitem".
+	 * If several layouts are provided, the method "{fieldName}ViewType" in the same component 
+	 * should return the layout of each model (it can receive the model and the int position 
+	 * of the item), and a ViewHolder is generated for each layout.
+	 */
+	int[] itemLayouts() default {};
+	
 	/**
 	 * The custom value is used to indicate in the case of a List<Model> that a 
 	 * custom adapter is going to be used
 	 */
 	boolean custom() default false;
 	
+	/**
+	 * In the case of a List<Model> populated in a RecyclerView, determines if the adapter
+	 * calculates the differences between the old and the new list of models (with DiffUtil)
+	 * to notify only the inserted, moved, removed and changed items. By default the whole
+	 * adapter is invalidated.
+	 * 
+	 * <br><br>
+	 * The items are identified by the id of the model (the "id" of a 
+	 * {@link com.dspot.declex.api.localdb.LocalDBModel @LocalDBModel}, or a field named "id"
+	 * in a {@link com.dspot.declex.api.model.UseModel @UseModel}), and their contents are 
+	 * compared through the fields populated in the list item layout.
+	 */
+	DiffMode diff() default DiffMode.None;
+	
+	/**
+	 * In the case of a List<Model> populated in a RecyclerView, the adapter will use the 
+	 * id of the models as stable ids. It is ignored if the models do not declare an id, 
+	 * or if the id is not integral (ej.: a String), since it couldn't be converted to a
+	 * stable id without collisions.
+	 */
+	boolean stableIds() default false;
+	
+	/**
+	 * In the case of a List<Model> populated in a RecyclerView, the ViewHolders are recycled 
+	 * in a RecycledViewPool shared by every list created for this field in the same Activity
+	 * (ex. nested lists, or several instances of the same Fragment), so the views already
+	 * inflated are reused by the other lists. 
+	 */
+	boolean sharedViewPool() default false;
+	
 	boolean debug() default false;
+	
+	public enum DiffMode {None, MainThread, Background}
 }
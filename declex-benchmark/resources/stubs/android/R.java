@@ -0,0 +1,22 @@
+package android;
+
+public final class R {
+	public static final class id {
+		public static final int content = 0x01020002;
+		public static final int list = 0x0102000a;
+		public static final int text1 = 0x01020014;
+	}
+	public static final class layout {
+		public static final int simple_list_item_1 = 0x01090003;
+	}
+	public static final class string {
+		public static final int ok = 0x0104000a;
+		public static final int cancel = 0x01040000;
+	}
+	public static final class anim {
+		public static final int fade_in = 0x010a0000;
+	}
+	public static final class drawable {
+		public static final int ic_dialog_info = 0x0108009b;
+	}
+}
@@ -0,0 +1,50 @@
+package android.app;
+
+import android.content.ContextWrapper;
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.Menu;
+import android.view.MenuInflater;
+import android.view.MenuItem;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.Window;
+
+public class Activity extends ContextWrapper {
+	public static final int RESULT_OK = -1;
+	public static final int RESULT_CANCELED = 0;
+	public Activity() { super(null); }
+	protected void onCreate(Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	protected void onStart() { throw new RuntimeException("Stub!"); }
+	protected void onResume() { throw new RuntimeException("Stub!"); }
+	protected void onPause() { throw new RuntimeException("Stub!"); }
+	protected void onStop() { throw new RuntimeException("Stub!"); }
+	protected void onDestroy() { throw new RuntimeException("Stub!"); }
+	protected void onNewIntent(Intent intent) { throw new RuntimeException("Stub!"); }
+	protected void onSaveInstanceState(Bundle outState) { throw new RuntimeException("Stub!"); }
+	protected void onActivityResult(int requestCode, int resultCode, Intent data) { throw new RuntimeException("Stub!"); }
+	public void onBackPressed() { throw new RuntimeException("Stub!"); }
+	public boolean onCreateOptionsMenu(Menu menu) { throw new RuntimeException("Stub!"); }
+	public boolean onOptionsItemSelected(MenuItem item) { throw new RuntimeException("Stub!"); }
+	public MenuInflater getMenuInflater() { throw new RuntimeException("Stub!"); }
+	public Intent getIntent() { throw new RuntimeException("Stub!"); }
+	public void setIntent(Intent newIntent) { throw new RuntimeException("Stub!"); }
+	public void setContentView(int layoutResID) { throw new RuntimeException("Stub!"); }
+	public void setContentView(View view) { throw new RuntimeException("Stub!"); }
+	public void setContentView(View view, ViewGroup.LayoutParams params) { throw new RuntimeException("Stub!"); }
+	public View findViewById(int id) { throw new RuntimeException("Stub!"); }
+	public Window getWindow() { throw new RuntimeException("Stub!"); }
+	public LayoutInflater getLayoutInflater() { throw new RuntimeException("Stub!"); }
+	public final Application getApplication() { throw new RuntimeException("Stub!"); }
+	public FragmentManager getFragmentManager() { throw new RuntimeException("Stub!"); }
+	public final void runOnUiThread(Runnable action) { throw new RuntimeException("Stub!"); }
+	public void startActivityForResult(Intent intent, int requestCode) { throw new RuntimeException("Stub!"); }
+	public void startActivityForResult(Intent intent, int requestCode, Bundle options) { throw new RuntimeException("Stub!"); }
+	public final void setResult(int resultCode) { throw new RuntimeException("Stub!"); }
+	public final void setResult(int resultCode, Intent data) { throw new RuntimeException("Stub!"); }
+	public boolean isFinishing() { throw new RuntimeException("Stub!"); }
+	public void finish() { throw new RuntimeException("Stub!"); }
+	public Object getLastNonConfigurationInstance() { throw new RuntimeException("Stub!"); }
+	public Object onRetainNonConfigurationInstance() { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,38 @@
+package android.app;
+
+import android.content.Context;
+import android.content.DialogInterface;
+import android.view.View;
+import android.widget.ListAdapter;
+
+public class AlertDialog extends Dialog {
+	protected AlertDialog(Context context) { super(context); }
+	public void setMessage(CharSequence message) { throw new RuntimeException("Stub!"); }
+	public static class Builder {
+		public Builder(Context context) { throw new RuntimeException("Stub!"); }
+		public Context getContext() { throw new RuntimeException("Stub!"); }
+		public Builder setTitle(int titleId) { throw new RuntimeException("Stub!"); }
+		public Builder setTitle(CharSequence title) { throw new RuntimeException("Stub!"); }
+		public Builder setMessage(int messageId) { throw new RuntimeException("Stub!"); }
+		public Builder setMessage(CharSequence message) { throw new RuntimeException("Stub!"); }
+		public Builder setIcon(int iconId) { throw new RuntimeException("Stub!"); }
+		public Builder setView(View view) { throw new RuntimeException("Stub!"); }
+		public Builder setView(int layoutResId) { throw new RuntimeException("Stub!"); }
+		public Builder setCancelable(boolean cancelable) { throw new RuntimeException("Stub!"); }
+		public Builder setPositiveButton(int textId, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setPositiveButton(CharSequence text, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setNegativeButton(int textId, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setNegativeButton(CharSequence text, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setNeutralButton(int textId, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setNeutralButton(CharSequence text, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setItems(int itemsId, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setItems(CharSequence[] items, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setAdapter(ListAdapter adapter, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setMultiChoiceItems(CharSequence[] items, boolean[] checkedItems, DialogInterface.OnMultiChoiceClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setSingleChoiceItems(CharSequence[] items, int checkedItem, DialogInterface.OnClickListener listener) { throw new RuntimeException("Stub!"); }
+		public Builder setOnCancelListener(DialogInterface.OnCancelListener onCancelListener) { throw new RuntimeException("Stub!"); }
+		public Builder setOnDismissListener(DialogInterface.OnDismissListener onDismissListener) { throw new RuntimeException("Stub!"); }
+		public AlertDialog create() { throw new RuntimeException("Stub!"); }
+		public AlertDialog show() { throw new RuntimeException("Stub!"); }
+	}
+}
@@ -0,0 +1,7 @@
+package android.app;
+
+public class Application extends android.content.ContextWrapper {
+	public Application() { super(null); }
+	public void onCreate() { throw new RuntimeException("Stub!"); }
+	public void onTerminate() { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,12 @@
+package android.app;
+
+import android.content.Context;
+import android.widget.DatePicker;
+
+public class DatePickerDialog extends AlertDialog {
+	public DatePickerDialog(Context context, OnDateSetListener listener, int year, int month, int dayOfMonth) { super(context); }
+	public DatePicker getDatePicker() { throw new RuntimeException("Stub!"); }
+	public interface OnDateSetListener {
+		void onDateSet(DatePicker view, int year, int month, int dayOfMonth);
+	}
+}
@@ -0,0 +1,17 @@
+package android.app;
+
+import android.content.Context;
+import android.content.DialogInterface;
+
+public class Dialog implements DialogInterface {
+	public Dialog(Context context) { throw new RuntimeException("Stub!"); }
+	public void show() { throw new RuntimeException("Stub!"); }
+	public void hide() { throw new RuntimeException("Stub!"); }
+	public void cancel() { throw new RuntimeException("Stub!"); }
+	public void dismiss() { throw new RuntimeException("Stub!"); }
+	public boolean isShowing() { throw new RuntimeException("Stub!"); }
+	public void setTitle(CharSequence title) { throw new RuntimeException("Stub!"); }
+	public void setCancelable(boolean flag) { throw new RuntimeException("Stub!"); }
+	public void setOnCancelListener(OnCancelListener listener) { throw new RuntimeException("Stub!"); }
+	public void setOnDismissListener(OnDismissListener listener) { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,38 @@
+package android.app;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+public class Fragment {
+	public Fragment() { throw new RuntimeException("Stub!"); }
+	public void onAttach(Context context) { throw new RuntimeException("Stub!"); }
+	public void onAttach(Activity activity) { throw new RuntimeException("Stub!"); }
+	public void onCreate(Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	public void onViewCreated(View view, Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	public void onActivityCreated(Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	public void onStart() { throw new RuntimeException("Stub!"); }
+	public void onResume() { throw new RuntimeException("Stub!"); }
+	public void onPause() { throw new RuntimeException("Stub!"); }
+	public void onStop() { throw new RuntimeException("Stub!"); }
+	public void onDestroyView() { throw new RuntimeException("Stub!"); }
+	public void onDestroy() { throw new RuntimeException("Stub!"); }
+	public void onDetach() { throw new RuntimeException("Stub!"); }
+	public void onSaveInstanceState(Bundle outState) { throw new RuntimeException("Stub!"); }
+	public void onActivityResult(int requestCode, int resultCode, Intent data) { throw new RuntimeException("Stub!"); }
+	public View getView() { throw new RuntimeException("Stub!"); }
+	public final Activity getActivity() { throw new RuntimeException("Stub!"); }
+	public Context getContext() { throw new RuntimeException("Stub!"); }
+	public final Bundle getArguments() { throw new RuntimeException("Stub!"); }
+	public void setArguments(Bundle args) { throw new RuntimeException("Stub!"); }
+	public final boolean isAdded() { throw new RuntimeException("Stub!"); }
+	public final FragmentManager getFragmentManager() { throw new RuntimeException("Stub!"); }
+	public void startActivity(Intent intent) { throw new RuntimeException("Stub!"); }
+	public void startActivity(Intent intent, Bundle options) { throw new RuntimeException("Stub!"); }
+	public void startActivityForResult(Intent intent, int requestCode) { throw new RuntimeException("Stub!"); }
+	public void startActivityForResult(Intent intent, int requestCode, Bundle options) { throw new RuntimeException("Stub!"); }
+}
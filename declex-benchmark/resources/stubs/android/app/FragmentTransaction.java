@@ -0,0 +1,11 @@
+package android.app;
+
+public abstract class FragmentTransaction {
+	public abstract FragmentTransaction add(int containerViewId, Fragment fragment);
+	public abstract FragmentTransaction add(int containerViewId, Fragment fragment, String tag);
+	public abstract FragmentTransaction replace(int containerViewId, Fragment fragment);
+	public abstract FragmentTransaction replace(int containerViewId, Fragment fragment, String tag);
+	public abstract FragmentTransaction remove(Fragment fragment);
+	public abstract FragmentTransaction addToBackStack(String name);
+	public abstract int commit();
+}
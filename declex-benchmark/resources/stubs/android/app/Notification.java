@@ -0,0 +1,8 @@
+package android.app;
+
+public class Notification {
+	public static final int DEFAULT_ALL = ~0;
+	public static final int FLAG_AUTO_CANCEL = 0x00000010;
+	public int flags;
+	public int defaults;
+}
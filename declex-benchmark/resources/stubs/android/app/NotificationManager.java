@@ -0,0 +1,7 @@
+package android.app;
+
+public class NotificationManager {
+	public void notify(int id, Notification notification) { throw new RuntimeException("Stub!"); }
+	public void notify(String tag, int id, Notification notification) { throw new RuntimeException("Stub!"); }
+	public void cancel(int id) { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,6 @@
+package android.app;
+
+public final class PendingIntent {
+	public static final int FLAG_UPDATE_CURRENT = 1 << 27;
+	public static PendingIntent getActivity(android.content.Context context, int requestCode, android.content.Intent intent, int flags) { throw new RuntimeException("Stub!"); }
+}
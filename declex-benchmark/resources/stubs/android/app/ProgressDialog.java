@@ -0,0 +1,10 @@
+package android.app;
+
+public class ProgressDialog extends AlertDialog {
+	public ProgressDialog(android.content.Context context) { super(context); }
+	public static ProgressDialog show(android.content.Context context, CharSequence title, CharSequence message) { throw new RuntimeException("Stub!"); }
+	public void setIndeterminate(boolean indeterminate) { throw new RuntimeException("Stub!"); }
+	public void setProgress(int value) { throw new RuntimeException("Stub!"); }
+	public void setMax(int max) { throw new RuntimeException("Stub!"); }
+	public void setProgressStyle(int style) { throw new RuntimeException("Stub!"); }
+}
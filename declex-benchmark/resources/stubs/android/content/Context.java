@@ -0,0 +1,12 @@
+package android.content;
+
+public abstract class Context {
+	public abstract Context getApplicationContext();
+	public abstract android.content.res.Resources getResources();
+	public abstract Object getSystemService(String name);
+	public abstract String getPackageName();
+	public abstract void startActivity(Intent intent);
+	public abstract void startActivity(Intent intent, android.os.Bundle options);
+	public final String getString(int resId) { throw new RuntimeException("Stub!"); }
+	public final CharSequence getText(int resId) { throw new RuntimeException("Stub!"); }
+}
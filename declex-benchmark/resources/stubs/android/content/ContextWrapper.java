@@ -0,0 +1,39 @@
+package android.content;
+
+//Stand-in: without a base Context it is its own application Context
+public class ContextWrapper extends Context {
+
+	private final Context base;
+
+	public ContextWrapper(Context base) {
+		this.base = base;
+	}
+
+	public Context getBaseContext() {
+		return base;
+	}
+
+	public Context getApplicationContext() {
+		return base == null ? this : base.getApplicationContext();
+	}
+
+	public android.content.res.Resources getResources() {
+		return base.getResources();
+	}
+
+	public Object getSystemService(String name) {
+		return base == null ? null : base.getSystemService(name);
+	}
+
+	public String getPackageName() {
+		return base == null ? null : base.getPackageName();
+	}
+
+	public void startActivity(Intent intent) {
+		base.startActivity(intent);
+	}
+
+	public void startActivity(Intent intent, android.os.Bundle options) {
+		base.startActivity(intent, options);
+	}
+}
@@ -0,0 +1,22 @@
+package android.content;
+
+public class Intent {
+	public static final int FLAG_ACTIVITY_NEW_TASK = 0x10000000;
+	public static final int FLAG_ACTIVITY_CLEAR_TOP = 0x04000000;
+	public Intent() { throw new RuntimeException("Stub!"); }
+	public Intent(String action) { throw new RuntimeException("Stub!"); }
+	public Intent(Context packageContext, Class<?> cls) { throw new RuntimeException("Stub!"); }
+	public Intent setFlags(int flags) { throw new RuntimeException("Stub!"); }
+	public Intent addFlags(int flags) { throw new RuntimeException("Stub!"); }
+	public int getFlags() { throw new RuntimeException("Stub!"); }
+	public String getAction() { throw new RuntimeException("Stub!"); }
+	public Intent setAction(String action) { throw new RuntimeException("Stub!"); }
+	public android.os.Bundle getExtras() { throw new RuntimeException("Stub!"); }
+	public boolean hasExtra(String name) { throw new RuntimeException("Stub!"); }
+	public Intent putExtras(android.os.Bundle extras) { throw new RuntimeException("Stub!"); }
+	public Intent putExtra(String name, String value) { throw new RuntimeException("Stub!"); }
+	public Intent putExtra(String name, int value) { throw new RuntimeException("Stub!"); }
+	public Intent putExtra(String name, boolean value) { throw new RuntimeException("Stub!"); }
+	public Intent putExtra(String name, java.io.Serializable value) { throw new RuntimeException("Stub!"); }
+	public Intent putExtra(String name, android.os.Parcelable value) { throw new RuntimeException("Stub!"); }
+}
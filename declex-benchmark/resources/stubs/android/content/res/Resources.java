@@ -0,0 +1,9 @@
+package android.content.res;
+
+public class Resources {
+	public String getString(int id) { throw new RuntimeException("Stub!"); }
+	public CharSequence getText(int id) { throw new RuntimeException("Stub!"); }
+	public int getColor(int id) { throw new RuntimeException("Stub!"); }
+	public float getDimension(int id) { throw new RuntimeException("Stub!"); }
+	public android.graphics.drawable.Drawable getDrawable(int id) { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,6 @@
+package android.graphics;
+
+public final class Bitmap {
+	public int getWidth() { throw new RuntimeException("Stub!"); }
+	public int getHeight() { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,24 @@
+package android.os;
+
+//Stand-in: SDK_INT is not a constant, as in the framework, so it isn't inlined by the compiler
+public class Build {
+
+	public static class VERSION {
+		public static final int SDK_INT = Integer.getInteger("android.os.Build.VERSION.SDK_INT", VERSION_CODES.N_MR1);
+	}
+
+	public static class VERSION_CODES {
+		public static final int BASE = 1;
+		public static final int GINGERBREAD = 9;
+		public static final int HONEYCOMB = 11;
+		public static final int ICE_CREAM_SANDWICH = 14;
+		public static final int JELLY_BEAN = 16;
+		public static final int JELLY_BEAN_MR1 = 17;
+		public static final int JELLY_BEAN_MR2 = 18;
+		public static final int KITKAT = 19;
+		public static final int LOLLIPOP = 21;
+		public static final int M = 23;
+		public static final int N = 24;
+		public static final int N_MR1 = 25;
+	}
+}
@@ -0,0 +1,25 @@
+package android.os;
+
+public final class Bundle implements Parcelable {
+	public Bundle() { throw new RuntimeException("Stub!"); }
+	public boolean containsKey(String key) { throw new RuntimeException("Stub!"); }
+	public Object get(String key) { throw new RuntimeException("Stub!"); }
+	public void remove(String key) { throw new RuntimeException("Stub!"); }
+	public void putAll(Bundle bundle) { throw new RuntimeException("Stub!"); }
+	public void putString(String key, String value) { throw new RuntimeException("Stub!"); }
+	public String getString(String key) { throw new RuntimeException("Stub!"); }
+	public void putInt(String key, int value) { throw new RuntimeException("Stub!"); }
+	public int getInt(String key) { throw new RuntimeException("Stub!"); }
+	public void putLong(String key, long value) { throw new RuntimeException("Stub!"); }
+	public long getLong(String key) { throw new RuntimeException("Stub!"); }
+	public void putBoolean(String key, boolean value) { throw new RuntimeException("Stub!"); }
+	public boolean getBoolean(String key) { throw new RuntimeException("Stub!"); }
+	public void putSerializable(String key, java.io.Serializable value) { throw new RuntimeException("Stub!"); }
+	public java.io.Serializable getSerializable(String key) { throw new RuntimeException("Stub!"); }
+	public void putParcelable(String key, Parcelable value) { throw new RuntimeException("Stub!"); }
+	public <T extends Parcelable> T getParcelable(String key) { throw new RuntimeException("Stub!"); }
+	public void putBundle(String key, Bundle value) { throw new RuntimeException("Stub!"); }
+	public Bundle getBundle(String key) { throw new RuntimeException("Stub!"); }
+	public int describeContents() { throw new RuntimeException("Stub!"); }
+	public void writeToParcel(Parcel dest, int flags) { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,80 @@
+package android.os;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+//Stand-in: the callbacks are executed by the thread of the Looper, only the delayed ones can be removed
+public class Handler {
+
+	private final Looper looper;
+	private final Map<Runnable, List<ScheduledFuture<?>>> delayed = new HashMap<>();
+
+	public Handler() {
+		this(Looper.myLooper());
+	}
+
+	public Handler(Looper looper) {
+		if (looper == null) {
+			throw new RuntimeException("Can't create handler inside thread that has not called Looper.prepare()");
+		}
+		this.looper = looper;
+	}
+
+	public final boolean post(Runnable r) {
+		looper.executor.execute(r);
+		return true;
+	}
+
+	public final boolean postDelayed(Runnable r, long delayMillis) {
+		ScheduledFuture<?> future = looper.executor.schedule(r, Math.max(delayMillis, 0), TimeUnit.MILLISECONDS);
+
+		synchronized (delayed) {
+			List<ScheduledFuture<?>> futures = delayed.get(r);
+			if (futures == null) {
+				futures = new ArrayList<>(1);
+				delayed.put(r, futures);
+			}
+			futures.add(future);
+		}
+
+		return true;
+	}
+
+	public final boolean postAtTime(Runnable r, long uptimeMillis) {
+		return postDelayed(r, uptimeMillis - SystemClock.uptimeMillis());
+	}
+
+	public final void removeCallbacks(Runnable r) {
+		List<ScheduledFuture<?>> futures;
+		synchronized (delayed) {
+			futures = delayed.remove(r);
+		}
+
+		if (futures != null) {
+			for (ScheduledFuture<?> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	public final void removeCallbacksAndMessages(Object token) {
+		if (token != null) return;
+
+		List<Runnable> callbacks;
+		synchronized (delayed) {
+			callbacks = new ArrayList<>(delayed.keySet());
+		}
+
+		for (Runnable callback : callbacks) {
+			removeCallbacks(callback);
+		}
+	}
+
+	public final Looper getLooper() {
+		return looper;
+	}
+}
@@ -0,0 +1,45 @@
+package android.os;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+//Stand-in: the main Looper executes its messages in a daemon thread named "main"
+public final class Looper {
+
+	private static final Looper mainLooper = new Looper("main");
+
+	final ScheduledThreadPoolExecutor executor;
+	final MessageQueue queue = new MessageQueue(this);
+	private volatile Thread thread;
+
+	private Looper(final String name) {
+		executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread newThread = new Thread(runnable, name);
+				newThread.setDaemon(true);
+				thread = newThread;
+				return newThread;
+			}
+		});
+		executor.prestartCoreThread();
+	}
+
+	public static Looper getMainLooper() {
+		return mainLooper;
+	}
+
+	public static Looper myLooper() {
+		return Thread.currentThread() == mainLooper.thread ? mainLooper : null;
+	}
+
+	public static MessageQueue myQueue() {
+		Looper looper = myLooper();
+		return looper == null ? null : looper.queue;
+	}
+
+	public Thread getThread() {
+		return thread;
+	}
+}
@@ -0,0 +1,27 @@
+package android.os;
+
+//Stand-in: the idle handlers are executed after the messages already posted to the Looper
+public final class MessageQueue {
+
+	private final Looper looper;
+
+	MessageQueue(Looper looper) {
+		this.looper = looper;
+	}
+
+	public void addIdleHandler(final IdleHandler handler) {
+		looper.executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				if (handler.queueIdle()) {
+					addIdleHandler(handler);
+				}
+			}
+		});
+	}
+
+	public static interface IdleHandler {
+		boolean queueIdle();
+	}
+}
@@ -0,0 +1,396 @@
+package android.os;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+//Stand-in: the values are marshalled to a byte buffer as Android does (little endian, 4 bytes
+//per int, byte and boolean, 2 bytes per char of the Strings padded to 4), and the recycled
+//Parcels are pooled. The data position is the offset in the buffer
+public final class Parcel {
+
+	private static final int VAL_NULL = -1;
+	private static final int VAL_STRING = 0;
+	private static final int VAL_INTEGER = 1;
+	private static final int VAL_PARCELABLE = 4;
+	private static final int VAL_LONG = 6;
+	private static final int VAL_FLOAT = 7;
+	private static final int VAL_DOUBLE = 8;
+	private static final int VAL_BOOLEAN = 9;
+	private static final int VAL_LIST = 11;
+	private static final int VAL_BYTE = 20;
+	private static final int VAL_SERIALIZABLE = 21;
+
+	private static final int POOL_SIZE = 6;
+	private static final Parcel[] pool = new Parcel[POOL_SIZE];
+
+	private byte[] data = new byte[256];
+	private int size;
+	private int position;
+
+	private Parcel() {
+	}
+
+	public static Parcel obtain() {
+		synchronized (pool) {
+			for (int i = 0; i < POOL_SIZE; i++) {
+				Parcel parcel = pool[i];
+				if (parcel != null) {
+					pool[i] = null;
+					return parcel;
+				}
+			}
+		}
+		return new Parcel();
+	}
+
+	public void recycle() {
+		size = 0;
+		position = 0;
+
+		synchronized (pool) {
+			for (int i = 0; i < POOL_SIZE; i++) {
+				if (pool[i] == null) {
+					pool[i] = this;
+					return;
+				}
+			}
+		}
+	}
+
+	public int dataSize() {
+		return size;
+	}
+
+	public int dataPosition() {
+		return position;
+	}
+
+	public void setDataPosition(int pos) {
+		position = pos;
+	}
+
+	public byte[] marshall() {
+		byte[] bytes = new byte[size];
+		System.arraycopy(data, 0, bytes, 0, size);
+		return bytes;
+	}
+
+	private void ensureCapacity(int length) {
+		int required = position + length;
+		if (required > data.length) {
+			byte[] newData = new byte[Math.max(required, data.length * 2)];
+			System.arraycopy(data, 0, newData, 0, size);
+			data = newData;
+		}
+	}
+
+	private void advance(int length) {
+		position += length;
+		if (position > size) size = position;
+	}
+
+	private void checkRead(int length) {
+		if (position + length > size) {
+			throw new RuntimeException("Reading past the end of the Parcel");
+		}
+	}
+
+	public void writeInt(int val) {
+		ensureCapacity(4);
+		data[position] = (byte) val;
+		data[position + 1] = (byte) (val >> 8);
+		data[position + 2] = (byte) (val >> 16);
+		data[position + 3] = (byte) (val >> 24);
+		advance(4);
+	}
+
+	public int readInt() {
+		checkRead(4);
+		int val = (data[position] & 0xff)
+				| (data[position + 1] & 0xff) << 8
+				| (data[position + 2] & 0xff) << 16
+				| (data[position + 3] & 0xff) << 24;
+		position += 4;
+		return val;
+	}
+
+	public void writeLong(long val) {
+		writeInt((int) val);
+		writeInt((int) (val >>> 32));
+	}
+
+	public long readLong() {
+		long low = readInt() & 0xffffffffL;
+		long high = readInt() & 0xffffffffL;
+		return high << 32 | low;
+	}
+
+	public void writeFloat(float val) { writeInt(Float.floatToRawIntBits(val)); }
+	public float readFloat() { return Float.intBitsToFloat(readInt()); }
+	public void writeDouble(double val) { writeLong(Double.doubleToRawLongBits(val)); }
+	public double readDouble() { return Double.longBitsToDouble(readLong()); }
+	public void writeByte(byte val) { writeInt(val); }
+	public byte readByte() { return (byte) readInt(); }
+
+	public void writeString(String val) {
+		if (val == null) {
+			writeInt(-1);
+			return;
+		}
+
+		final int length = val.length();
+		writeInt(length);
+
+		final int padded = (length * 2 + 3) & ~3;
+		ensureCapacity(padded);
+		for (int i = 0; i < length; i++) {
+			char c = val.charAt(i);
+			data[position + i * 2] = (byte) c;
+			data[position + i * 2 + 1] = (byte) (c >> 8);
+		}
+		for (int i = length * 2; i < padded; i++) {
+			data[position + i] = 0;
+		}
+		advance(padded);
+	}
+
+	public String readString() {
+		final int length = readInt();
+		if (length < 0) return null;
+
+		final int padded = (length * 2 + 3) & ~3;
+		checkRead(padded);
+
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) ((data[position + i * 2] & 0xff) | (data[position + i * 2 + 1] & 0xff) << 8);
+		}
+		position += padded;
+		return new String(chars);
+	}
+
+	public void writeByteArray(byte[] b) {
+		if (b == null) {
+			writeInt(-1);
+			return;
+		}
+
+		writeInt(b.length);
+		final int padded = (b.length + 3) & ~3;
+		ensureCapacity(padded);
+		System.arraycopy(b, 0, data, position, b.length);
+		advance(padded);
+	}
+
+	public byte[] createByteArray() {
+		final int length = readInt();
+		if (length < 0) return null;
+
+		final int padded = (length + 3) & ~3;
+		checkRead(padded);
+
+		byte[] b = new byte[length];
+		System.arraycopy(data, position, b, 0, length);
+		position += padded;
+		return b;
+	}
+
+	public void writeValue(Object v) {
+		if (v == null) {
+			writeInt(VAL_NULL);
+		} else if (v instanceof String) {
+			writeInt(VAL_STRING);
+			writeString((String) v);
+		} else if (v instanceof Integer) {
+			writeInt(VAL_INTEGER);
+			writeInt((Integer) v);
+		} else if (v instanceof Parcelable) {
+			writeInt(VAL_PARCELABLE);
+			writeParcelable((Parcelable) v, 0);
+		} else if (v instanceof Long) {
+			writeInt(VAL_LONG);
+			writeLong((Long) v);
+		} else if (v instanceof Float) {
+			writeInt(VAL_FLOAT);
+			writeFloat((Float) v);
+		} else if (v instanceof Double) {
+			writeInt(VAL_DOUBLE);
+			writeDouble((Double) v);
+		} else if (v instanceof Boolean) {
+			writeInt(VAL_BOOLEAN);
+			writeInt((Boolean) v ? 1 : 0);
+		} else if (v instanceof List) {
+			writeInt(VAL_LIST);
+			writeList((List<?>) v);
+		} else if (v instanceof Byte) {
+			writeInt(VAL_BYTE);
+			writeInt((Byte) v);
+		} else if (v instanceof Serializable) {
+			writeInt(VAL_SERIALIZABLE);
+			writeSerializable((Serializable) v);
+		} else {
+			throw new RuntimeException("Parcel: unable to marshal value " + v);
+		}
+	}
+
+	public Object readValue(ClassLoader loader) {
+		final int type = readInt();
+		switch (type) {
+		case VAL_NULL: return null;
+		case VAL_STRING: return readString();
+		case VAL_INTEGER: return readInt();
+		case VAL_PARCELABLE: return readParcelable(loader);
+		case VAL_LONG: return readLong();
+		case VAL_FLOAT: return readFloat();
+		case VAL_DOUBLE: return readDouble();
+		case VAL_BOOLEAN: return readInt() != 0;
+		case VAL_LIST:
+			final int size = readInt();
+			if (size < 0) return null;
+
+			ArrayList<Object> list = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				list.add(readValue(loader));
+			}
+			return list;
+		case VAL_BYTE: return (byte) readInt();
+		case VAL_SERIALIZABLE: return readSerializable();
+		default: throw new RuntimeException("Parcel: unmarshalling unknown type code " + type);
+		}
+	}
+
+	public void writeSerializable(Serializable s) {
+		if (s == null) {
+			writeString(null);
+			return;
+		}
+
+		writeString(s.getClass().getName());
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			ObjectOutputStream out = new ObjectOutputStream(bytes);
+			out.writeObject(s);
+			out.close();
+			writeByteArray(bytes.toByteArray());
+		} catch (IOException e) {
+			throw new RuntimeException("Parcelable encountered IOException writing serializable object", e);
+		}
+	}
+
+	public Serializable readSerializable() {
+		if (readString() == null) return null;
+
+		try {
+			ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(createByteArray()));
+			try {
+				return (Serializable) in.readObject();
+			} finally {
+				in.close();
+			}
+		} catch (IOException | ClassNotFoundException e) {
+			throw new RuntimeException("Parcelable encountered an exception reading serializable object", e);
+		}
+	}
+
+	public void writeStringList(List<String> val) {
+		if (val == null) {
+			writeInt(-1);
+			return;
+		}
+
+		writeInt(val.size());
+		for (String item : val) {
+			writeString(item);
+		}
+	}
+
+	public ArrayList<String> createStringArrayList() {
+		final int size = readInt();
+		if (size < 0) return null;
+
+		ArrayList<String> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(readString());
+		}
+		return list;
+	}
+
+	public void writeParcelable(Parcelable p, int parcelableFlags) {
+		if (p == null) {
+			writeString(null);
+			return;
+		}
+
+		writeString(p.getClass().getName());
+		p.writeToParcel(this, parcelableFlags);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends Parcelable> T readParcelable(ClassLoader loader) {
+		final String name = readString();
+		if (name == null) return null;
+
+		try {
+			Class<?> cls = Class.forName(name, false, loader == null ? Parcel.class.getClassLoader() : loader);
+			Field creator = cls.getField("CREATOR");
+			return (T) ((Parcelable.Creator<?>) creator.get(null)).createFromParcel(this);
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException("Parcelable protocol requires a CREATOR in " + name, e);
+		}
+	}
+
+	public void writeList(List val) {
+		if (val == null) {
+			writeInt(-1);
+			return;
+		}
+
+		writeInt(val.size());
+		for (Object item : val) {
+			writeValue(item);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public void readList(List outVal, ClassLoader loader) {
+		final int size = readInt();
+		for (int i = 0; i < size; i++) {
+			outVal.add(readValue(loader));
+		}
+	}
+
+	public void writeTypedList(List<? extends Parcelable> val) {
+		if (val == null) {
+			writeInt(-1);
+			return;
+		}
+
+		writeInt(val.size());
+		for (Parcelable item : val) {
+			if (item == null) {
+				writeInt(0);
+			} else {
+				writeInt(1);
+				item.writeToParcel(this, 0);
+			}
+		}
+	}
+
+	public <T> ArrayList<T> createTypedArrayList(Parcelable.Creator<T> c) {
+		final int size = readInt();
+		if (size < 0) return null;
+
+		ArrayList<T> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(readInt() == 0 ? null : c.createFromParcel(this));
+		}
+		return list;
+	}
+}
@@ -0,0 +1,11 @@
+package android.os;
+
+//Stand-in: the priorities are ignored
+public class Process {
+
+	public static final int THREAD_PRIORITY_DEFAULT = 0;
+	public static final int THREAD_PRIORITY_BACKGROUND = 10;
+
+	public static final void setThreadPriority(int priority) {
+	}
+}
@@ -0,0 +1,13 @@
+package android.os;
+
+//Stand-in: both clocks are the monotonic clock of the JVM
+public final class SystemClock {
+
+	public static long uptimeMillis() {
+		return System.nanoTime() / 1000000;
+	}
+
+	public static long elapsedRealtime() {
+		return System.nanoTime() / 1000000;
+	}
+}
@@ -0,0 +1,10 @@
+package android.support.v4.app;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.os.Bundle;
+
+public class ActivityCompat {
+	public static void startActivityForResult(Activity activity, Intent intent, int requestCode, Bundle options) { throw new RuntimeException("Stub!"); }
+	public static void startActivity(Activity activity, Intent intent, Bundle options) { throw new RuntimeException("Stub!"); }
+}
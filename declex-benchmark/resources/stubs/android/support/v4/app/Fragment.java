@@ -0,0 +1,27 @@
+package android.support.v4.app;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+public class Fragment {
+	public Fragment() { throw new RuntimeException("Stub!"); }
+	public void onAttach(Context context) { throw new RuntimeException("Stub!"); }
+	public void onCreate(Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	public void onViewCreated(View view, Bundle savedInstanceState) { throw new RuntimeException("Stub!"); }
+	public void onDestroyView() { throw new RuntimeException("Stub!"); }
+	public void onDestroy() { throw new RuntimeException("Stub!"); }
+	public View getView() { throw new RuntimeException("Stub!"); }
+	public final FragmentActivity getActivity() { throw new RuntimeException("Stub!"); }
+	public Context getContext() { throw new RuntimeException("Stub!"); }
+	public final Bundle getArguments() { throw new RuntimeException("Stub!"); }
+	public void setArguments(Bundle args) { throw new RuntimeException("Stub!"); }
+	public void startActivity(Intent intent) { throw new RuntimeException("Stub!"); }
+	public void startActivity(Intent intent, Bundle options) { throw new RuntimeException("Stub!"); }
+	public void startActivityForResult(Intent intent, int requestCode) { throw new RuntimeException("Stub!"); }
+	public void startActivityForResult(Intent intent, int requestCode, Bundle options) { throw new RuntimeException("Stub!"); }
+}
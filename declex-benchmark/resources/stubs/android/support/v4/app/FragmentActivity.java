@@ -0,0 +1,4 @@
+package android.support.v4.app;
+
+public class FragmentActivity extends android.app.Activity {
+}
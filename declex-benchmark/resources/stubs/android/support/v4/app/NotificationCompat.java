@@ -0,0 +1,31 @@
+package android.support.v4.app;
+
+import android.app.Notification;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.widget.RemoteViews;
+
+public class NotificationCompat {
+	public static class Builder {
+		public Builder(Context context) { throw new RuntimeException("Stub!"); }
+		public Builder setSmallIcon(int icon) { throw new RuntimeException("Stub!"); }
+		public Builder setLargeIcon(Bitmap icon) { throw new RuntimeException("Stub!"); }
+		public Builder setContentTitle(CharSequence title) { throw new RuntimeException("Stub!"); }
+		public Builder setContentText(CharSequence text) { throw new RuntimeException("Stub!"); }
+		public Builder setContentInfo(CharSequence info) { throw new RuntimeException("Stub!"); }
+		public Builder setContentIntent(PendingIntent intent) { throw new RuntimeException("Stub!"); }
+		public Builder setContent(RemoteViews views) { throw new RuntimeException("Stub!"); }
+		public Builder setTicker(CharSequence tickerText) { throw new RuntimeException("Stub!"); }
+		public Builder setAutoCancel(boolean autoCancel) { throw new RuntimeException("Stub!"); }
+		public Builder setOngoing(boolean ongoing) { throw new RuntimeException("Stub!"); }
+		public Builder setDefaults(int defaults) { throw new RuntimeException("Stub!"); }
+		public Builder setNumber(int number) { throw new RuntimeException("Stub!"); }
+		public Builder setPriority(int pri) { throw new RuntimeException("Stub!"); }
+		public Builder setColor(int argb) { throw new RuntimeException("Stub!"); }
+		public Builder setStyle(Style style) { throw new RuntimeException("Stub!"); }
+		public Notification build() { throw new RuntimeException("Stub!"); }
+	}
+	public static abstract class Style {
+	}
+}
@@ -0,0 +1,9 @@
+package android.support.v4.content;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+
+public class ContextCompat {
+	public static boolean startActivities(Context context, Intent[] intents, Bundle options) { throw new RuntimeException("Stub!"); }
+}
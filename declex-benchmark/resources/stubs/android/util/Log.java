@@ -0,0 +1,35 @@
+package android.util;
+
+//Stand-in: only the warnings and errors are printed
+public final class Log {
+
+	public static int d(String tag, String msg) {
+		return 0;
+	}
+
+	public static int i(String tag, String msg) {
+		return 0;
+	}
+
+	public static int w(String tag, String msg) {
+		System.err.println("W/" + tag + ": " + msg);
+		return 0;
+	}
+
+	public static int w(String tag, String msg, Throwable tr) {
+		System.err.println("W/" + tag + ": " + msg);
+		tr.printStackTrace();
+		return 0;
+	}
+
+	public static int e(String tag, String msg) {
+		System.err.println("E/" + tag + ": " + msg);
+		return 0;
+	}
+
+	public static int e(String tag, String msg, Throwable tr) {
+		System.err.println("E/" + tag + ": " + msg);
+		tr.printStackTrace();
+		return 0;
+	}
+}
@@ -0,0 +1,32 @@
+package android.view;
+
+import android.os.Handler;
+import android.os.Looper;
+
+//Stand-in: the frames are produced every 16 ms in the main Looper
+public final class Choreographer {
+
+	private static final long FRAME_INTERVAL = 16;
+
+	private static final Choreographer instance = new Choreographer();
+
+	private final Handler handler = new Handler(Looper.getMainLooper());
+
+	public static Choreographer getInstance() {
+		return instance;
+	}
+
+	public void postFrameCallback(final FrameCallback callback) {
+		handler.postDelayed(new Runnable() {
+
+			@Override
+			public void run() {
+				callback.doFrame(System.nanoTime());
+			}
+		}, FRAME_INTERVAL);
+	}
+
+	public interface FrameCallback {
+		void doFrame(long frameTimeNanos);
+	}
+}
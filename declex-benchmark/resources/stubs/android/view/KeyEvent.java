@@ -0,0 +1,5 @@
+package android.view;
+
+public class KeyEvent {
+	public final int getKeyCode() { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,9 @@
+package android.view;
+
+import android.content.Context;
+
+public abstract class LayoutInflater {
+	public static LayoutInflater from(Context context) { throw new RuntimeException("Stub!"); }
+	public View inflate(int resource, ViewGroup root) { throw new RuntimeException("Stub!"); }
+	public View inflate(int resource, ViewGroup root, boolean attachToRoot) { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,5 @@
+package android.view;
+
+public final class MotionEvent {
+	public final int getAction() { throw new RuntimeException("Stub!"); }
+}
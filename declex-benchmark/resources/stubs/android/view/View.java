@@ -0,0 +1,39 @@
+package android.view;
+
+import android.content.Context;
+
+public class View {
+	public static final int VISIBLE = 0x00000000;
+	public static final int INVISIBLE = 0x00000004;
+	public static final int GONE = 0x00000008;
+	public View(Context context) { throw new RuntimeException("Stub!"); }
+	public Context getContext() { throw new RuntimeException("Stub!"); }
+	public int getId() { throw new RuntimeException("Stub!"); }
+	public void setId(int id) { throw new RuntimeException("Stub!"); }
+	public View findViewById(int id) { throw new RuntimeException("Stub!"); }
+	public Object getTag() { throw new RuntimeException("Stub!"); }
+	public void setTag(Object tag) { throw new RuntimeException("Stub!"); }
+	public int getVisibility() { throw new RuntimeException("Stub!"); }
+	public void setVisibility(int visibility) { throw new RuntimeException("Stub!"); }
+	public void setEnabled(boolean enabled) { throw new RuntimeException("Stub!"); }
+	public boolean isEnabled() { throw new RuntimeException("Stub!"); }
+	public void setOnClickListener(OnClickListener l) { throw new RuntimeException("Stub!"); }
+	public void setOnLongClickListener(OnLongClickListener l) { throw new RuntimeException("Stub!"); }
+	public void setOnTouchListener(OnTouchListener l) { throw new RuntimeException("Stub!"); }
+	public void setOnFocusChangeListener(OnFocusChangeListener l) { throw new RuntimeException("Stub!"); }
+	public void startAnimation(android.view.animation.Animation animation) { throw new RuntimeException("Stub!"); }
+	public boolean post(Runnable action) { throw new RuntimeException("Stub!"); }
+	public ViewParent getParent() { throw new RuntimeException("Stub!"); }
+	public interface OnClickListener {
+		void onClick(View v);
+	}
+	public interface OnLongClickListener {
+		boolean onLongClick(View v);
+	}
+	public interface OnTouchListener {
+		boolean onTouch(View v, MotionEvent event);
+	}
+	public interface OnFocusChangeListener {
+		void onFocusChange(View v, boolean hasFocus);
+	}
+}
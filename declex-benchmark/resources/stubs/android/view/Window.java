@@ -0,0 +1,6 @@
+package android.view;
+
+public abstract class Window {
+	public abstract View getDecorView();
+	public void setSoftInputMode(int mode) { throw new RuntimeException("Stub!"); }
+}
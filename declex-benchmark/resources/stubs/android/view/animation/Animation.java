@@ -0,0 +1,11 @@
+package android.view.animation;
+
+public abstract class Animation {
+	public void setDuration(long durationMillis) { throw new RuntimeException("Stub!"); }
+	public void setAnimationListener(AnimationListener listener) { throw new RuntimeException("Stub!"); }
+	public interface AnimationListener {
+		void onAnimationStart(Animation animation);
+		void onAnimationEnd(Animation animation);
+		void onAnimationRepeat(Animation animation);
+	}
+}
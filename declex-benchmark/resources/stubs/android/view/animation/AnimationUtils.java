@@ -0,0 +1,5 @@
+package android.view.animation;
+
+public class AnimationUtils {
+	public static Animation loadAnimation(android.content.Context context, int id) { throw new RuntimeException("Stub!"); }
+}
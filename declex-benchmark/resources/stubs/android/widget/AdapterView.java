@@ -0,0 +1,26 @@
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+public abstract class AdapterView<T extends Adapter> extends ViewGroup {
+	public AdapterView(Context context) { super(context); }
+	public abstract T getAdapter();
+	public abstract void setAdapter(T adapter);
+	public Object getItemAtPosition(int position) { throw new RuntimeException("Stub!"); }
+	public int getSelectedItemPosition() { throw new RuntimeException("Stub!"); }
+	public void setOnItemClickListener(OnItemClickListener listener) { throw new RuntimeException("Stub!"); }
+	public void setOnItemLongClickListener(OnItemLongClickListener listener) { throw new RuntimeException("Stub!"); }
+	public void setOnItemSelectedListener(OnItemSelectedListener listener) { throw new RuntimeException("Stub!"); }
+	public interface OnItemClickListener {
+		void onItemClick(AdapterView<?> parent, View view, int position, long id);
+	}
+	public interface OnItemLongClickListener {
+		boolean onItemLongClick(AdapterView<?> parent, View view, int position, long id);
+	}
+	public interface OnItemSelectedListener {
+		void onItemSelected(AdapterView<?> parent, View view, int position, long id);
+		void onNothingSelected(AdapterView<?> parent);
+	}
+}
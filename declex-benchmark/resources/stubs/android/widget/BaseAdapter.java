@@ -0,0 +1,5 @@
+package android.widget;
+
+public abstract class BaseAdapter implements ListAdapter, SpinnerAdapter {
+	public void notifyDataSetChanged() { throw new RuntimeException("Stub!"); }
+}
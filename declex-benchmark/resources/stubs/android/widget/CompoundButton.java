@@ -0,0 +1,12 @@
+package android.widget;
+
+public abstract class CompoundButton extends Button implements Checkable {
+	public CompoundButton(android.content.Context context) { super(context); }
+	public boolean isChecked() { throw new RuntimeException("Stub!"); }
+	public void setChecked(boolean checked) { throw new RuntimeException("Stub!"); }
+	public void toggle() { throw new RuntimeException("Stub!"); }
+	public void setOnCheckedChangeListener(OnCheckedChangeListener listener) { throw new RuntimeException("Stub!"); }
+	public static interface OnCheckedChangeListener {
+		void onCheckedChanged(CompoundButton buttonView, boolean isChecked);
+	}
+}
@@ -0,0 +1,8 @@
+package android.widget;
+
+public class DatePicker extends android.widget.FrameLayout {
+	public DatePicker(android.content.Context context) { super(context); }
+	public int getYear() { throw new RuntimeException("Stub!"); }
+	public int getMonth() { throw new RuntimeException("Stub!"); }
+	public int getDayOfMonth() { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,7 @@
+package android.widget;
+
+public class EditText extends TextView {
+	public EditText(android.content.Context context) { super(context); }
+	public android.text.Editable getText() { throw new RuntimeException("Stub!"); }
+	public void setSelection(int index) { throw new RuntimeException("Stub!"); }
+}
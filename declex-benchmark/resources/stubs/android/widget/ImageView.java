@@ -0,0 +1,12 @@
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+
+public class ImageView extends View {
+	public ImageView(Context context) { super(context); }
+	public void setImageResource(int resId) { throw new RuntimeException("Stub!"); }
+	public void setImageBitmap(android.graphics.Bitmap bm) { throw new RuntimeException("Stub!"); }
+	public void setImageDrawable(android.graphics.drawable.Drawable drawable) { throw new RuntimeException("Stub!"); }
+	public void setImageURI(android.net.Uri uri) { throw new RuntimeException("Stub!"); }
+}
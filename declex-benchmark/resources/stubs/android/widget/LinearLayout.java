@@ -0,0 +1,5 @@
+package android.widget;
+
+public class LinearLayout extends android.view.ViewGroup {
+	public LinearLayout(android.content.Context context) { super(context); }
+}
@@ -0,0 +1,7 @@
+package android.widget;
+
+public class ListView extends AdapterView<ListAdapter> {
+	public ListView(android.content.Context context) { super(context); }
+	public ListAdapter getAdapter() { throw new RuntimeException("Stub!"); }
+	public void setAdapter(ListAdapter adapter) { throw new RuntimeException("Stub!"); }
+}
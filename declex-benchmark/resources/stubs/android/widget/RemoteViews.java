@@ -0,0 +1,6 @@
+package android.widget;
+
+public class RemoteViews {
+	public RemoteViews(String packageName, int layoutId) { throw new RuntimeException("Stub!"); }
+	public void setTextViewText(int viewId, CharSequence text) { throw new RuntimeException("Stub!"); }
+}
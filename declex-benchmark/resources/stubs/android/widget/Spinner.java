@@ -0,0 +1,8 @@
+package android.widget;
+
+public class Spinner extends AdapterView<SpinnerAdapter> {
+	public Spinner(android.content.Context context) { super(context); }
+	public SpinnerAdapter getAdapter() { throw new RuntimeException("Stub!"); }
+	public void setAdapter(SpinnerAdapter adapter) { throw new RuntimeException("Stub!"); }
+	public void setSelection(int position) { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,14 @@
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+
+public class TextView extends View {
+	public TextView(Context context) { super(context); }
+	public CharSequence getText() { throw new RuntimeException("Stub!"); }
+	public void setText(CharSequence text) { throw new RuntimeException("Stub!"); }
+	public void setText(int resid) { throw new RuntimeException("Stub!"); }
+	public void setHint(CharSequence hint) { throw new RuntimeException("Stub!"); }
+	public void setTextColor(int color) { throw new RuntimeException("Stub!"); }
+	public void addTextChangedListener(android.text.TextWatcher watcher) { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,5 @@
+package android.widget;
+
+public class TimePicker extends android.widget.FrameLayout {
+	public TimePicker(android.content.Context context) { super(context); }
+}
@@ -0,0 +1,9 @@
+package android.widget;
+
+public class Toast {
+	public static final int LENGTH_SHORT = 0;
+	public static final int LENGTH_LONG = 1;
+	public static Toast makeText(android.content.Context context, CharSequence text, int duration) { throw new RuntimeException("Stub!"); }
+	public static Toast makeText(android.content.Context context, int resId, int duration) { throw new RuntimeException("Stub!"); }
+	public void show() { throw new RuntimeException("Stub!"); }
+}
@@ -0,0 +1,26 @@
+package com.activeandroid;
+
+//Stand-in: there is no database, the transactions don't have effect
+public final class ActiveAndroid {
+
+	public static void initialize(android.content.Context context) {
+	}
+
+	public static void initialize(Configuration configuration) {
+	}
+
+	public static void beginTransaction() {
+	}
+
+	public static void endTransaction() {
+	}
+
+	public static void setTransactionSuccessful() {
+	}
+
+	public static void execSQL(String sql) {
+	}
+
+	public static void dispose() {
+	}
+}
@@ -0,0 +1,31 @@
+package com.activeandroid;
+
+public final class Configuration {
+
+	public static class Builder {
+
+		public Builder(android.content.Context context) {
+		}
+
+		public Builder setDatabaseName(String databaseName) {
+			return this;
+		}
+
+		public Builder setDatabaseVersion(int databaseVersion) {
+			return this;
+		}
+
+		public Builder addModelClass(Class<? extends Model> modelClass) {
+			return this;
+		}
+
+		@SuppressWarnings("unchecked")
+		public Builder addModelClasses(Class<? extends Model>... modelClasses) {
+			return this;
+		}
+
+		public Configuration create() {
+			return new Configuration();
+		}
+	}
+}
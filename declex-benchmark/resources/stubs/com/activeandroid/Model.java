@@ -0,0 +1,74 @@
+package com.activeandroid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Stand-in: the models are saved in memory, by class
+public abstract class Model {
+
+	private static final Map<Class<?>, Map<Long, Model>> tables = new HashMap<>();
+	private static long lastId;
+
+	private Long mId;
+
+	public Model() {
+	}
+
+	public final Long getId() {
+		return mId;
+	}
+
+	public final Long save() {
+		synchronized (tables) {
+			if (mId == null) mId = ++lastId;
+			tableOf(getClass()).put(mId, this);
+		}
+		return mId;
+	}
+
+	public final void delete() {
+		if (mId == null) return;
+		delete(getClass(), mId);
+	}
+
+	public static void delete(Class<? extends Model> type, long id) {
+		synchronized (tables) {
+			tableOf(type).remove(id);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T extends Model> T load(Class<T> type, long id) {
+		synchronized (tables) {
+			return (T) tableOf(type).get(id);
+		}
+	}
+
+	/**
+	 * Returns the saved models of the type, in the order they were saved
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Model> List<T> rows(Class<? extends Model> type) {
+		synchronized (tables) {
+			return new ArrayList<>((java.util.Collection<T>) (java.util.Collection<?>) tableOf(type).values());
+		}
+	}
+
+	public static void deleteAll(Class<? extends Model> type) {
+		synchronized (tables) {
+			tableOf(type).clear();
+		}
+	}
+
+	private static Map<Long, Model> tableOf(Class<?> type) {
+		Map<Long, Model> table = tables.get(type);
+		if (table == null) {
+			table = new LinkedHashMap<>();
+			tables.put(type, table);
+		}
+		return table;
+	}
+}
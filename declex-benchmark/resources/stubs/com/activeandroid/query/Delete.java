@@ -0,0 +1,15 @@
+package com.activeandroid.query;
+
+public final class Delete implements Sqlable {
+
+	public Delete() {
+	}
+
+	public From from(Class<? extends com.activeandroid.Model> table) {
+		return new From(table, true);
+	}
+
+	public String toSql() {
+		return "DELETE ";
+	}
+}
@@ -0,0 +1,81 @@
+package com.activeandroid.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.activeandroid.Model;
+
+//Stand-in: the clauses are recorded but not applied, the query returns all the saved models of the table
+public final class From implements Sqlable {
+
+	private final Class<? extends Model> table;
+	private final boolean delete;
+
+	private String where;
+	private String orderBy;
+	private Object[] arguments = new Object[0];
+
+	From(Class<? extends Model> table, boolean delete) {
+		this.table = table;
+		this.delete = delete;
+	}
+
+	public From where(String clause) {
+		this.where = clause;
+		return this;
+	}
+
+	public From where(String clause, Object... args) {
+		this.where = clause;
+		this.arguments = args;
+		return this;
+	}
+
+	public From orderBy(String orderBy) {
+		this.orderBy = orderBy;
+		return this;
+	}
+
+	public From limit(int limit) {
+		return this;
+	}
+
+	public From offset(int offset) {
+		return this;
+	}
+
+	public boolean exists() {
+		return count() > 0;
+	}
+
+	public int count() {
+		return Model.rows(table).size();
+	}
+
+	public <T extends Model> List<T> execute() {
+		if (delete) {
+			Model.deleteAll(table);
+			return Collections.emptyList();
+		}
+		return Model.rows(table);
+	}
+
+	public <T extends Model> T executeSingle() {
+		List<T> rows = execute();
+		return rows.isEmpty() ? null : rows.get(0);
+	}
+
+	public String toSql() {
+		return (delete ? "DELETE " : "SELECT * ") + "FROM " + table.getSimpleName()
+			   + (where == null ? "" : " WHERE " + where)
+			   + (orderBy == null ? "" : " ORDER BY " + orderBy);
+	}
+
+	public String[] getArguments() {
+		String[] args = new String[arguments.length];
+		for (int i = 0; i < arguments.length; i++) {
+			args[i] = String.valueOf(arguments[i]);
+		}
+		return args;
+	}
+}
@@ -0,0 +1,18 @@
+package com.activeandroid.query;
+
+public final class Select implements Sqlable {
+
+	public Select() {
+	}
+
+	public Select(String... columns) {
+	}
+
+	public From from(Class<? extends com.activeandroid.Model> table) {
+		return new From(table, false);
+	}
+
+	public String toSql() {
+		return "SELECT * ";
+	}
+}
@@ -0,0 +1,5 @@
+package com.activeandroid.query;
+
+public interface Sqlable {
+	String toSql();
+}
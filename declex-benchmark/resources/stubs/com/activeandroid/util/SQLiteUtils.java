@@ -0,0 +1,19 @@
+package com.activeandroid.util;
+
+import java.util.List;
+
+import com.activeandroid.Model;
+
+//Stand-in: the raw queries return all the saved models of the type
+public final class SQLiteUtils {
+
+	public static void execSql(String sql) {
+	}
+
+	public static void execSql(String sql, Object[] bindArgs) {
+	}
+
+	public static <T extends Model> List<T> rawQuery(Class<? extends Model> type, String sql, String[] selectionArgs) {
+		return Model.rows(type);
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+/**
+ * Compiles the stubs of the Android framework (and of ActiveAndroid) used by the synthetic projects.
+ * Most stubs are only declarations, enough for the processor and the compiler to resolve the types
+ * of the project and of the generated code. The ones used at runtime by the DecleX API (Looper,
+ * Handler, Choreographer and the ActiveAndroid queries) are desktop stand-ins, since declex-api-benchmark
+ * executes the API over them. A stub is skipped when the class is already in the classpath, ej.: when
+ * a real android.jar is provided.
+ */
+public class AndroidStubs {
+
+	private static final String STUBS_PATH = "stubs/";
+
+	/**
+	 * Compiles the stubs not found in the classpath into "stubs" inside the work folder, and returns
+	 * the folder with the compiled classes
+	 */
+	public static File compile(JavaCompiler compiler, File workFolder, List<File> classpath) throws IOException {
+		File sourcesFolder = new File(workFolder, "stubs" + File.separator + "src");
+		File classesFolder = new File(workFolder, "stubs" + File.separator + "classes");
+
+		org.apache.commons.io.FileUtils.deleteDirectory(sourcesFolder);
+		org.apache.commons.io.FileUtils.deleteDirectory(classesFolder);
+		classesFolder.mkdirs();
+
+		List<File> stubs = new ArrayList<>();
+
+		URLClassLoader classpathLoader = new URLClassLoader(toURLs(classpath), null);
+		try {
+			for (String className : readIndex()) {
+				final String classPath = className.replace('.', '/');
+				if (classpathLoader.getResource(classPath + ".class") != null) continue;
+
+				InputStream in = AndroidStubs.class.getClassLoader().getResourceAsStream(STUBS_PATH + classPath + ".java");
+				if (in == null) {
+					throw new IllegalStateException("Stub for " + className + " not found");
+				}
+
+				File stub = new File(sourcesFolder, classPath.replace('/', File.separatorChar) + ".java");
+				stub.getParentFile().mkdirs();
+				try {
+					Files.copy(in, stub.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				} finally {
+					in.close();
+				}
+
+				stubs.add(stub);
+			}
+		} finally {
+			classpathLoader.close();
+		}
+
+		if (stubs.isEmpty()) return classesFolder;
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, Charset.forName("UTF-8"));
+		try {
+			List<String> options = Arrays.asList(
+				"-proc:none", "-nowarn",
+				"-classpath", ProcessorBenchmark.toPath(classpath),
+				"-d", classesFolder.getAbsolutePath()
+			);
+
+			boolean success = compiler.getTask(
+				null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(stubs)
+			).call();
+
+			if (!success) {
+				throw new IllegalStateException("The Android stubs couldn't be compiled: " + diagnostics.getDiagnostics());
+			}
+		} finally {
+			fileManager.close();
+		}
+
+		return classesFolder;
+	}
+
+	private static List<String> readIndex() throws IOException {
+		InputStream in = AndroidStubs.class.getClassLoader().getResourceAsStream(STUBS_PATH + "index.txt");
+		if (in == null) {
+			throw new IllegalStateException(STUBS_PATH + "index.txt not found in the classpath");
+		}
+
+		List<String> classNames = new ArrayList<>();
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, Charset.forName("UTF-8")));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (!line.isEmpty()) classNames.add(line);
+			}
+		} finally {
+			reader.close();
+		}
+
+		return classNames;
+	}
+
+	private static URL[] toURLs(List<File> files) throws MalformedURLException {
+		URL[] urls = new URL[files.size()];
+		for (int i = 0; i < files.size(); i++) {
+			urls[i] = files.get(i).toURI().toURL();
+		}
+		return urls;
+	}
+
+}
@@ -0,0 +1,533 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import com.dspot.declex.DeclexProcessor;
+import com.dspot.declex.helper.FilesCacheHelper;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+/**
+ * Measures how the processing time of DecleX scales with the size of a project. A {@link SyntheticProject}
+ * is compiled in this process through javax.tools with the {@link DeclexProcessor}, against the
+ * {@link AndroidStubs} (or a real android.jar), in three scenarios:
+ * <ul>
+ * <li><b>cold</b>: the first build, without the files cache.</li>
+ * <li><b>warm</b>: builds without changes, reusing the files cache and the state kept in the process.</li>
+ * <li><b>change</b>: builds after modifying one component.</li>
+ * </ul>
+ * With "--baseline" the medians are compared with a previous run, and the exit code is 1 if any
+ * of them is slower than the tolerance, so it can be used as a regression gate. The exit code is 2 if
+ * the project was compiled with errors (unless "--allow-errors" is given), and 3 if the baseline is
+ * missing, can't be read or was recorded for a different project.
+ * <p>
+ * The files cache of the processor is kept in ".declex/cache" of the working directory, so the benchmark
+ * should be run from its own folder. The cache service only works when DecleX is in the classpath as a jar.
+ */
+public class ProcessorBenchmark {
+
+	private static final String[] SCENARIOS = {"cold", "warm", "change"};
+
+	private final SyntheticProject project;
+	private final JavaCompiler compiler;
+	private final List<File> classpath;
+	private final Map<String, String> processorOptions;
+	private final boolean verbose;
+
+	public ProcessorBenchmark(SyntheticProject project, List<File> classpath,
+			Map<String, String> processorOptions, boolean verbose) {
+		this.project = project;
+		this.classpath = classpath;
+		this.processorOptions = processorOptions;
+		this.verbose = verbose;
+
+		this.compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new IllegalStateException("No Java compiler available, the benchmark should be run with a JDK");
+		}
+	}
+
+	/**
+	 * Runs the scenarios and returns the results of each of them, by name
+	 */
+	public Map<String, Result> run(int warmRuns, int changeRuns) throws IOException {
+		Map<String, Result> results = new LinkedHashMap<>();
+
+		project.generate();
+		log("Generated project with " + project.describe());
+
+		File workFolder = project.getRoot().getParentFile();
+		List<File> compileClasspath = new ArrayList<>();
+		compileClasspath.add(AndroidStubs.compile(compiler, workFolder, classpath));
+		compileClasspath.addAll(classpath);
+
+		org.apache.commons.io.FileUtils.deleteDirectory(FilesCacheHelper.getExternalCache());
+
+		Result cold = new Result("cold");
+		cold.add(compile(compileClasspath));
+		results.put(cold.name, cold);
+
+		Result warm = new Result("warm");
+		for (int i = 0; i < warmRuns; i++) {
+			warm.add(compile(compileClasspath));
+		}
+		results.put(warm.name, warm);
+
+		Result change = new Result("change");
+		for (int i = 0; i < changeRuns; i++) {
+			project.changeOneFile();
+			change.add(compile(compileClasspath));
+		}
+		results.put(change.name, change);
+
+		return results;
+	}
+
+	private Run compile(List<File> compileClasspath) throws IOException {
+		org.apache.commons.io.FileUtils.deleteDirectory(project.getGenFolder());
+		org.apache.commons.io.FileUtils.deleteDirectory(project.getClassesFolder());
+		project.getGenFolder().mkdirs();
+		project.getClassesFolder().mkdirs();
+
+		List<String> options = new ArrayList<>();
+		options.add("-classpath");
+		options.add(toPath(compileClasspath));
+		options.add("-s");
+		options.add(project.getGenFolder().getAbsolutePath());
+		options.add("-d");
+		options.add(project.getClassesFolder().getAbsolutePath());
+		options.add("-encoding");
+		options.add("UTF-8");
+		options.add("-nowarn");
+		options.add("-AandroidManifestFile=" + project.getAndroidManifest().getAbsolutePath());
+		for (Entry<String, String> option : processorOptions.entrySet()) {
+			options.add("-A" + option.getKey() + "=" + option.getValue());
+		}
+
+		final Run run = new Run();
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, Charset.forName("UTF-8"));
+		try {
+			JavacTask task = (JavacTask) compiler.getTask(
+				null, fileManager, diagnostics, options, null,
+				fileManager.getJavaFileObjectsFromFiles(project.getSourceFiles())
+			);
+
+			task.setProcessors(Collections.singletonList(new DeclexProcessor()));
+			task.setTaskListener(new TaskListener() {
+
+				private long processingStart;
+
+				@Override
+				public void started(TaskEvent event) {
+					if (event.getKind() == TaskEvent.Kind.ANNOTATION_PROCESSING) {
+						processingStart = System.nanoTime();
+					}
+				}
+
+				@Override
+				public void finished(TaskEvent event) {
+					if (event.getKind() == TaskEvent.Kind.ANNOTATION_PROCESSING) {
+						run.processing += System.nanoTime() - processingStart;
+					}
+				}
+			});
+
+			final long start = System.nanoTime();
+			task.call();
+			run.total = System.nanoTime() - start;
+
+		} finally {
+			fileManager.close();
+		}
+
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				run.errors++;
+				if (run.errors <= 5) {
+					run.firstErrors.add(diagnostic.toString());
+				}
+			}
+		}
+
+		log(String.format(Locale.US, "Build: %d ms total, %d ms processing, %d errors",
+				millis(run.total), millis(run.processing), run.errors));
+		if (verbose) {
+			for (String error : run.firstErrors) {
+				log(error);
+			}
+		}
+
+		return run;
+	}
+
+	private void log(String message) {
+		System.out.println("[benchmark] " + message);
+	}
+
+	static String toPath(List<File> files) {
+		StringBuilder path = new StringBuilder();
+		for (File file : files) {
+			if (path.length() > 0) path.append(File.pathSeparator);
+			path.append(file.getAbsolutePath());
+		}
+		return path.toString();
+	}
+
+	static long millis(long nanos) {
+		return nanos / 1000000;
+	}
+
+	/**
+	 * The classpath of this process, which contains DecleX, its API and AndroidAnnotations
+	 */
+	private static List<File> currentClasspath() {
+		Set<File> files = new LinkedHashSet<>();
+
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		if (loader instanceof URLClassLoader) {
+			for (URL url : ((URLClassLoader) loader).getURLs()) {
+				if (!"file".equals(url.getProtocol())) continue;
+				try {
+					files.add(new File(url.toURI()).getAbsoluteFile());
+				} catch (URISyntaxException e) {
+					files.add(new File(url.getPath()).getAbsoluteFile());
+				}
+			}
+		}
+
+		for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+			if (!entry.isEmpty()) files.add(new File(entry).getAbsoluteFile());
+		}
+
+		return new ArrayList<>(files);
+	}
+
+	private static boolean isCacheServiceAvailable() {
+		URL location = FilesCacheHelper.class.getProtectionDomain().getCodeSource().getLocation();
+		return location != null && location.getPath().endsWith(".jar");
+	}
+
+	public static void main(String[] args) throws IOException {
+		File folder = new File("benchmark");
+		int activities = 40;
+		int fragments = 20;
+		int models = 12;
+		int views = 15;
+		int actionMethods = 4;
+		int actions = 8;
+		int warmRuns = 5;
+		int changeRuns = 5;
+
+		List<File> extraClasspath = new ArrayList<>();
+		Map<String, String> processorOptions = new LinkedHashMap<>();
+		processorOptions.put(FilesCacheHelper.OPTION_CACHE_FILES.getName(), "true");
+
+		File baseline = null;
+		boolean saveBaseline = false;
+		double tolerance = 0.2;
+		boolean failOnErrors = true;
+		boolean verbose = false;
+
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "--dir": folder = new File(args[++i]); break;
+			case "--activities": activities = Integer.parseInt(args[++i]); break;
+			case "--fragments": fragments = Integer.parseInt(args[++i]); break;
+			case "--models": models = Integer.parseInt(args[++i]); break;
+			case "--views": views = Integer.parseInt(args[++i]); break;
+			case "--action-methods": actionMethods = Integer.parseInt(args[++i]); break;
+			case "--actions": actions = Integer.parseInt(args[++i]); break;
+			case "--warm-runs": warmRuns = Integer.parseInt(args[++i]); break;
+			case "--change-runs": changeRuns = Integer.parseInt(args[++i]); break;
+
+			case "--android-jar":
+				extraClasspath.add(new File(args[++i]).getAbsoluteFile());
+				break;
+
+			case "--classpath":
+				for (String entry : args[++i].split(File.pathSeparator)) {
+					if (!entry.isEmpty()) extraClasspath.add(new File(entry).getAbsoluteFile());
+				}
+				break;
+
+			case "--option":
+				String option = args[++i];
+				int equals = option.indexOf('=');
+				if (equals == -1) {
+					processorOptions.put(option, "true");
+				} else {
+					processorOptions.put(option.substring(0, equals), option.substring(equals + 1));
+				}
+				break;
+
+			case "--baseline": baseline = new File(args[++i]); break;
+			case "--save-baseline": saveBaseline = true; break;
+			case "--tolerance": tolerance = Double.parseDouble(args[++i]); break;
+			case "--allow-errors": failOnErrors = false; break;
+			case "--verbose": verbose = true; break;
+
+			default:
+				System.err.println("Unknown argument: " + args[i]);
+				printUsage();
+				System.exit(64);
+			}
+		}
+
+		if (!isCacheServiceAvailable()) {
+			System.out.println("[benchmark] DecleX is not in the classpath as a jar, the files cache service is disabled, "
+					           + "so the warm builds only reuse the state kept in the process");
+		}
+
+		List<File> classpath = new ArrayList<>(extraClasspath);
+		classpath.addAll(currentClasspath());
+
+		SyntheticProject project = new SyntheticProject(
+			new File(folder.getAbsoluteFile(), "project"), activities, fragments, models, views, actionMethods, actions
+		);
+
+		ProcessorBenchmark benchmark = new ProcessorBenchmark(project, classpath, processorOptions, verbose);
+		Map<String, Result> results = benchmark.run(warmRuns, changeRuns);
+
+		System.out.println();
+		System.out.println("Project: " + project.describe());
+		System.out.println(String.format(Locale.US, "%-8s %5s %12s %12s %12s %12s %7s",
+				"", "runs", "processing", "min", "max", "total", "errors"));
+		System.out.println("Times in milliseconds: median, min and max of the annotation processing, and median of the whole build");
+		for (Result result : results.values()) {
+			System.out.println(result);
+		}
+
+		int exitCode = 0;
+
+		for (Result result : results.values()) {
+			if (result.getErrors() > 0) {
+				System.out.println();
+				System.out.println("The synthetic project was compiled with errors, the first of them:");
+				for (String error : result.getFirstErrors()) {
+					System.out.println(error);
+				}
+				if (failOnErrors) exitCode = 2;
+				break;
+			}
+		}
+
+		if (baseline != null) {
+			if (saveBaseline) {
+				saveBaseline(baseline, project, results);
+				System.out.println("Baseline saved to " + baseline.getAbsolutePath());
+			} else if (exitCode == 0) {
+				exitCode = compareWithBaseline(baseline, project, results, tolerance);
+			}
+		}
+
+		System.exit(exitCode);
+	}
+
+	private static void saveBaseline(File baseline, SyntheticProject project, Map<String, Result> results) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty("project", project.describe());
+		for (Result result : results.values()) {
+			properties.setProperty(result.name + ".processing", String.valueOf(millis(result.getMedianProcessing())));
+			properties.setProperty(result.name + ".total", String.valueOf(millis(result.getMedianTotal())));
+		}
+
+		OutputStream out = new FileOutputStream(baseline);
+		try {
+			properties.store(out, "DecleX processor benchmark, median times in milliseconds");
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Returns the exit code of the comparison: 1 if the median processing time of any scenario
+	 * regressed more than the tolerance, and 3 if the baseline can't be compared
+	 */
+	private static int compareWithBaseline(File baseline, SyntheticProject project,
+			Map<String, Result> results, double tolerance) {
+
+		if (!baseline.exists()) {
+			System.err.println("Baseline " + baseline.getAbsolutePath() + " not found, use --save-baseline to create it");
+			return 3;
+		}
+
+		Properties properties = new Properties();
+		try {
+			InputStream in = new FileInputStream(baseline);
+			try {
+				properties.load(in);
+			} finally {
+				in.close();
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("Baseline " + baseline.getAbsolutePath() + " can't be read: " + e.getMessage());
+			return 3;
+		}
+
+		if (!project.describe().equals(properties.getProperty("project"))) {
+			System.err.println("The baseline was recorded for a different project (" + properties.getProperty("project")
+					           + "), the results can't be compared. Use --save-baseline to record it again");
+			return 3;
+		}
+
+		boolean passed = true;
+
+		System.out.println();
+		for (String scenario : SCENARIOS) {
+			Result result = results.get(scenario);
+			if (result == null || result.isEmpty()) continue;
+
+			long baselineMillis;
+			try {
+				baselineMillis = Long.parseLong(properties.getProperty(scenario + ".processing"));
+			} catch (NumberFormatException e) {
+				System.err.println("The baseline has no valid time for the scenario " + scenario + ", the results can't be compared");
+				return 3;
+			}
+
+			long currentMillis = millis(result.getMedianProcessing());
+			long limit = (long) (baselineMillis * (1 + tolerance));
+
+			boolean regressed = currentMillis > limit;
+			System.out.println(String.format(Locale.US, "%-8s processing %d ms, baseline %d ms, limit %d ms%s",
+					scenario, currentMillis, baselineMillis, limit, regressed ? " REGRESSION" : ""));
+
+			if (regressed) passed = false;
+		}
+
+		return passed ? 0 : 1;
+	}
+
+	private static void printUsage() {
+		System.err.println("Usage: ProcessorBenchmark [--dir folder] [--activities n] [--fragments n] [--models n]\n"
+				           + "       [--views n] [--action-methods n] [--actions n] [--warm-runs n] [--change-runs n]\n"
+				           + "       [--android-jar android.jar] [--classpath path] [--option key=value]...\n"
+				           + "       [--baseline file [--save-baseline] [--tolerance 0.2]] [--allow-errors] [--verbose]");
+	}
+
+	static class Run {
+		long total;
+		long processing;
+		int errors;
+		List<String> firstErrors = new ArrayList<>(5);
+	}
+
+	/**
+	 * The builds of one scenario
+	 */
+	public static class Result {
+
+		private final String name;
+		private final List<Run> runs = new ArrayList<>();
+
+		Result(String name) {
+			this.name = name;
+		}
+
+		void add(Run run) {
+			runs.add(run);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isEmpty() {
+			return runs.isEmpty();
+		}
+
+		public long getMedianProcessing() {
+			List<Long> times = new ArrayList<>(runs.size());
+			for (Run run : runs) times.add(run.processing);
+			return median(times);
+		}
+
+		public long getMedianTotal() {
+			List<Long> times = new ArrayList<>(runs.size());
+			for (Run run : runs) times.add(run.total);
+			return median(times);
+		}
+
+		public int getErrors() {
+			int errors = 0;
+			for (Run run : runs) errors = Math.max(errors, run.errors);
+			return errors;
+		}
+
+		public List<String> getFirstErrors() {
+			for (Run run : runs) {
+				if (!run.firstErrors.isEmpty()) return run.firstErrors;
+			}
+			return Collections.emptyList();
+		}
+
+		private static long median(List<Long> times) {
+			if (times.isEmpty()) return 0;
+			Collections.sort(times);
+			return times.get(times.size() / 2);
+		}
+
+		@Override
+		public String toString() {
+			if (runs.isEmpty()) {
+				return String.format(Locale.US, "%-8s %5d", name, 0);
+			}
+
+			long min = Long.MAX_VALUE;
+			long max = 0;
+			for (Run run : runs) {
+				min = Math.min(min, run.processing);
+				max = Math.max(max, run.processing);
+			}
+
+			return String.format(Locale.US, "%-8s %5d %12d %12d %12d %12d %7d",
+					name, runs.size(), millis(getMedianProcessing()), millis(min), millis(max),
+					millis(getMedianTotal()), getErrors());
+		}
+	}
+
+}
@@ -0,0 +1,390 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates an Android project in the Ant structure (AndroidManifest.xml, res, src and gen
+ * folders) with the given number of @EActivity and @EFragment components, models and
+ * layout views. Each component has a layout, injects its views, uses a model and has
+ * several @Click methods composed of Actions.
+ */
+public class SyntheticProject {
+
+	public static final String PACKAGE = "com.example.benchmark";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final File root;
+
+	private final int activities;
+	private final int fragments;
+	private final int models;
+	private final int viewsPerLayout;
+	private final int actionMethods;
+	private final int actionsPerMethod;
+
+	private final List<File> sourceFiles = new ArrayList<>();
+
+	private int revision;
+
+	public SyntheticProject(File root, int activities, int fragments, int models,
+			int viewsPerLayout, int actionMethods, int actionsPerMethod) {
+		this.root = root;
+		this.activities = activities;
+		this.fragments = fragments;
+		this.models = models;
+		this.viewsPerLayout = Math.max(viewsPerLayout, actionMethods);
+		this.actionMethods = actionMethods;
+		this.actionsPerMethod = actionsPerMethod;
+	}
+
+	public File getRoot() {
+		return root;
+	}
+
+	public File getAndroidManifest() {
+		return new File(root, "AndroidManifest.xml");
+	}
+
+	/**
+	 * Folder of the generated sources, the project root is found by AndroidAnnotations as its parent
+	 */
+	public File getGenFolder() {
+		return new File(root, "gen");
+	}
+
+	public File getClassesFolder() {
+		return new File(root, "bin" + File.separator + "classes");
+	}
+
+	public List<File> getSourceFiles() {
+		return sourceFiles;
+	}
+
+	public String describe() {
+		return activities + " activities, " + fragments + " fragments, " + models + " models, "
+			   + viewsPerLayout + " views per layout, " + actionMethods + " action methods with "
+			   + actionsPerMethod + " actions each";
+	}
+
+	public void generate() throws IOException {
+		sourceFiles.clear();
+		revision = 0;
+
+		write(getAndroidManifest(), manifest());
+		write(new File(root, "res" + File.separator + "values" + File.separator + "strings.xml"),
+			"<?xml version=\"1.0\" encoding=\"utf-8\"?>\n"
+			+ "<resources>\n\t<string name=\"app_name\">Benchmark</string>\n</resources>\n");
+
+		writeSource(PACKAGE, "R", rClass());
+		writeSource(PACKAGE, "BenchmarkApplication", application());
+
+		for (int i = 0; i < models; i++) {
+			writeSource(PACKAGE + ".model", modelName(i), model(i));
+		}
+
+		for (int i = 0; i < activities; i++) {
+			write(layoutFile("activity_" + i), layout());
+			writeSource(PACKAGE + ".activity", "Screen" + i + "Activity", component(i, true));
+		}
+
+		for (int i = 0; i < fragments; i++) {
+			write(layoutFile("fragment_" + i), layout());
+			writeSource(PACKAGE + ".fragment", "Screen" + i + "Fragment", component(i, false));
+		}
+	}
+
+	/**
+	 * Modifies the first component of the project, as a developer editing one file
+	 * between two builds. Returns the modified file
+	 */
+	public File changeOneFile() throws IOException {
+		File file = activities > 0 ? sourceFile(PACKAGE + ".activity", "Screen0Activity")
+				                   : sourceFile(PACKAGE + ".fragment", "Screen0Fragment");
+
+		String content = new String(Files.readAllBytes(file.toPath()), UTF_8);
+		content = content.replace("revision " + revision + "\"", "revision " + (revision + 1) + "\"");
+		revision++;
+
+		long lastModified = file.lastModified();
+		write(file, content);
+
+		//Ensure that the change is detected in file systems with low timestamp resolution
+		file.setLastModified(Math.max(System.currentTimeMillis(), lastModified + 2000));
+
+		return file;
+	}
+
+	private String manifest() {
+		StringBuilder manifest = new StringBuilder();
+		manifest.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+				.append("<manifest xmlns:android=\"http://schemas.android.com/apk/res/android\"\n")
+				.append("\tpackage=\"").append(PACKAGE).append("\">\n\n")
+				.append("\t<uses-sdk android:minSdkVersion=\"16\" android:targetSdkVersion=\"25\" />\n")
+				.append("\t<uses-permission android:name=\"android.permission.INTERNET\" />\n\n")
+				.append("\t<application android:name=\".BenchmarkApplication_\" android:label=\"@string/app_name\">\n");
+
+		for (int i = 0; i < activities; i++) {
+			manifest.append("\t\t<activity android:name=\".activity.Screen").append(i).append("Activity_\" />\n");
+		}
+
+		return manifest.append("\t</application>\n</manifest>\n").toString();
+	}
+
+	private String rClass() {
+		StringBuilder r = new StringBuilder();
+		r.append("package ").append(PACKAGE).append(";\n\n")
+		 .append("public final class R {\n");
+
+		r.append("\tpublic static final class id {\n");
+		for (int j = 0; j < viewsPerLayout; j++) {
+			r.append("\t\tpublic static final int ").append(viewName(j)).append(" = 0x")
+			 .append(Integer.toHexString(0x7f0a0000 + j)).append(";\n");
+		}
+		r.append("\t}\n");
+
+		r.append("\tpublic static final class layout {\n");
+		for (int i = 0; i < activities; i++) {
+			r.append("\t\tpublic static final int activity_").append(i).append(" = 0x")
+			 .append(Integer.toHexString(0x7f040000 + i)).append(";\n");
+		}
+		for (int i = 0; i < fragments; i++) {
+			r.append("\t\tpublic static final int fragment_").append(i).append(" = 0x")
+			 .append(Integer.toHexString(0x7f048000 + i)).append(";\n");
+		}
+		r.append("\t}\n");
+
+		r.append("\tpublic static final class string {\n")
+		 .append("\t\tpublic static final int app_name = 0x7f0c0000;\n")
+		 .append("\t}\n");
+
+		return r.append("}\n").toString();
+	}
+
+	private String application() {
+		return "package " + PACKAGE + ";\n\n"
+			   + "import org.androidannotations.annotations.EApplication;\n\n"
+			   + "import android.app.Application;\n\n"
+			   + "import com.dspot.declex.api.localdb.UseLocalDB;\n\n"
+			   + "@EApplication\n"
+			   + "@UseLocalDB\n"
+			   + "public class BenchmarkApplication extends Application {\n"
+			   + "}\n";
+	}
+
+	private String modelName(int index) {
+		switch (index % 3) {
+		case 1: return "Record" + index;
+		case 2: return "Remote" + index;
+		default: return "Item" + index;
+		}
+	}
+
+	/**
+	 * The models alternate between plain, local database and server models
+	 */
+	private String model(int index) {
+		StringBuilder model = new StringBuilder();
+		model.append("package ").append(PACKAGE).append(".model;\n\n");
+
+		switch (index % 3) {
+		case 1:
+			model.append("import com.activeandroid.Model;\n")
+				 .append("import com.activeandroid.annotation.Column;\n")
+				 .append("import com.dspot.declex.api.localdb.LocalDBModel;\n")
+				 .append("import com.dspot.declex.api.model.UseModel;\n\n")
+				 .append("@UseModel\n")
+				 .append("@LocalDBModel\n")
+				 .append("public class ").append(modelName(index)).append(" extends Model {\n\n")
+				 .append("\t@Column\n\tString name;\n\n")
+				 .append("\t@Column\n\tint count;\n\n")
+				 .append("\t@Column\n\tboolean enabled;\n\n");
+			break;
+
+		case 2:
+			model.append("import com.dspot.declex.api.model.UseModel;\n")
+				 .append("import com.dspot.declex.api.server.ServerModel;\n\n")
+				 .append("@UseModel\n")
+				 .append("@ServerModel(\n")
+				 .append("\tbaseUrl = \"http://localhost/api/\",\n")
+				 .append("\tget = \"remote").append(index).append("/{id}\",\n")
+				 .append("\tpost = \"remote").append(index).append("\"\n")
+				 .append(")\n")
+				 .append("public class ").append(modelName(index)).append(" {\n\n")
+				 .append("\tint id;\n\n")
+				 .append("\tString title;\n\n")
+				 .append("\tString description;\n\n");
+			break;
+
+		default:
+			model.append("import com.dspot.declex.api.model.UseModel;\n\n")
+				 .append("@UseModel\n")
+				 .append("public class ").append(modelName(index)).append(" {\n\n")
+				 .append("\tString name;\n\n")
+				 .append("\tint count;\n\n")
+				 .append("\tboolean enabled;\n\n");
+		}
+
+		return model.append("}\n").toString();
+	}
+
+	private String viewName(int index) {
+		if (index < actionMethods) return "button_" + index;
+
+		switch (index % 3) {
+		case 1: return "input_" + index;
+		case 2: return "image_" + index;
+		default: return "text_" + index;
+		}
+	}
+
+	private String viewClass(int index) {
+		if (index < actionMethods) return "Button";
+
+		switch (index % 3) {
+		case 1: return "EditText";
+		case 2: return "ImageView";
+		default: return "TextView";
+		}
+	}
+
+	private String layout() {
+		StringBuilder layout = new StringBuilder();
+		layout.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+			  .append("<LinearLayout xmlns:android=\"http://schemas.android.com/apk/res/android\"\n")
+			  .append("\tandroid:layout_width=\"match_parent\"\n")
+			  .append("\tandroid:layout_height=\"match_parent\"\n")
+			  .append("\tandroid:orientation=\"vertical\">\n\n");
+
+		for (int j = 0; j < viewsPerLayout; j++) {
+			layout.append("\t<").append(viewClass(j)).append("\n")
+				  .append("\t\tandroid:id=\"@+id/").append(viewName(j)).append("\"\n")
+				  .append("\t\tandroid:layout_width=\"match_parent\"\n")
+				  .append("\t\tandroid:layout_height=\"wrap_content\" />\n\n");
+		}
+
+		return layout.append("</LinearLayout>\n").toString();
+	}
+
+	private String component(int index, boolean isActivity) {
+		final String name = "Screen" + index + (isActivity ? "Activity" : "Fragment");
+		final String model = models > 0 ? modelName(index % models) : null;
+
+		StringBuilder component = new StringBuilder();
+		component.append("package ").append(PACKAGE).append(isActivity ? ".activity" : ".fragment").append(";\n\n")
+				 .append("import static com.dspot.declex.Action.*;\n\n")
+				 .append("import org.androidannotations.annotations.Click;\n")
+				 .append(isActivity ? "import org.androidannotations.annotations.EActivity;\n"
+						            : "import org.androidannotations.annotations.EFragment;\n")
+				 .append("import org.androidannotations.annotations.ViewById;\n\n")
+				 .append(isActivity ? "import android.app.Activity;\n" : "import android.app.Fragment;\n")
+				 .append("import android.widget.EditText;\n")
+				 .append("import android.widget.ImageView;\n")
+				 .append("import android.widget.TextView;\n\n");
+
+		if (model != null) {
+			component.append("import com.dspot.declex.api.model.Model;\n");
+		}
+		component.append("import ").append(PACKAGE).append(".R;\n");
+		if (model != null) {
+			component.append("import ").append(PACKAGE).append(".model.").append(model).append("_;\n");
+		}
+
+		component.append("\n@").append(isActivity ? "EActivity" : "EFragment")
+				 .append("(R.layout.").append(isActivity ? "activity_" : "fragment_").append(index).append(")\n")
+				 .append("public class ").append(name).append(" extends ").append(isActivity ? "Activity" : "Fragment")
+				 .append(" {\n\n");
+
+		for (int j = actionMethods; j < viewsPerLayout; j++) {
+			component.append("\t@ViewById\n\t").append(viewClass(j)).append(" ").append(viewName(j)).append(";\n\n");
+		}
+
+		if (model != null) {
+			component.append("\t@Model\n\t").append(model).append("_ model;\n\n");
+		}
+
+		for (int m = 0; m < actionMethods; m++) {
+			component.append("\t@Click\n\tvoid ").append(viewName(m)).append("() {\n");
+
+			for (int a = 0; a < actionsPerMethod; a++) {
+				component.append("\t\t");
+
+				switch (a % 4) {
+				case 0:
+					component.append("$Toast(\"").append(name).append(" step ").append(a);
+					if (m == 0 && a == 0) component.append(" revision 0");
+					component.append("\");\n");
+					break;
+
+				case 1:
+					component.append("$Background();\n");
+					break;
+
+				case 2:
+					component.append("$UIThread();\n");
+					break;
+
+				default:
+					if (model != null) {
+						component.append("$LoadModel(model);\n");
+					} else {
+						component.append("$Toast(R.string.app_name);\n");
+					}
+				}
+			}
+
+			component.append("\t}\n\n");
+		}
+
+		return component.append("}\n").toString();
+	}
+
+	private File layoutFile(String name) {
+		return new File(root, "res" + File.separator + "layout" + File.separator + name + ".xml");
+	}
+
+	private File sourceFile(String pkg, String name) {
+		return new File(root, "src" + File.separator + pkg.replace('.', File.separatorChar) + File.separator + name + ".java");
+	}
+
+	private void writeSource(String pkg, String name, String content) throws IOException {
+		File file = sourceFile(pkg, name);
+		write(file, content);
+		sourceFiles.add(file);
+	}
+
+	static void write(File file, String content) throws IOException {
+		file.getParentFile().mkdirs();
+
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+	}
+
+}
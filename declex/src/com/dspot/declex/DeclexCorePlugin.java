@@ -107,6 +107,7 @@ import com.dspot.declex.eventbus.oneventhandler.LoadOnEventHandler;
 import com.dspot.declex.eventbus.oneventhandler.PutOnActionHandler;
 import com.dspot.declex.eventbus.oneventhandler.PutOnEventHandler;
 import com.dspot.declex.eventbus.oneventhandler.UpdateOnEventHandler;
+import com.dspot.declex.generate.DeclexCodeModelGenerator;
 import com.dspot.declex.helper.FilesCacheHelper;
 import com.dspot.declex.json.JsonModelHandler;
 import com.dspot.declex.localdb.LocalDBModelHandler;
@@ -132,6 +133,7 @@ import com.dspot.declex.override.handler.LongClickHandler;
 import com.dspot.declex.plugin.JClassPlugin;
 import com.dspot.declex.runwith.RunWithHandler;
 import com.dspot.declex.server.ServerModelHandler;
+import com.dspot.declex.util.ProcessorTrace;
 import com.dspot.declex.util.SharedRecords;
 import com.dspot.declex.viewsinjection.AdapterClassHandler;
 import com.dspot.declex.viewsinjection.PopulateHandler;
@@ -168,7 +170,13 @@ public class DeclexCorePlugin extends AndroidAnnotationsPlugin {
 			FilesCacheHelper.OPTION_DEBUG_CACHE,
 			FilesCacheHelper.OPTION_CACHE_FILES_IN_PROCESS,
 			
-			Actions.OPTION_DEBUG_ACTIONS
+			DeclexCodeModelGenerator.OPTION_RENDERING_THREADS,
+			DeclexCodeModelGenerator.OPTION_VERIFY_RENDERING,
+			ProcessorTrace.OPTION_TRACE_PROCESSOR,
+			
+			Actions.OPTION_DEBUG_ACTIONS,
+			Actions.OPTION_FLATTEN_ACTIONS,
+			Actions.OPTION_COUNT_ACTION_HOLDERS
 		);
 	}
 	
@@ -343,6 +351,10 @@ public class DeclexCorePlugin extends AndroidAnnotationsPlugin {
 		annotationHandlers.add(new SupposeUiThreadHandler(androidAnnotationEnv));
 		annotationHandlers.add(new SupposeBackgroundHandler(androidAnnotationEnv));
 
+		if (ProcessorTrace.isEnabled(androidAnnotationEnv.getProcessingEnvironment())) {
+			return ProcessorTrace.traceHandlers(annotationHandlers);
+		}
+		
 		return annotationHandlers;		
 	}
 
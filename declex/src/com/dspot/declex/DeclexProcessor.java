@@ -48,8 +48,10 @@ import com.dspot.declex.generate.DeclexCodeModelGenerator;
 import com.dspot.declex.helper.FilesCacheHelper;
 import com.dspot.declex.helper.FilesCacheHelper.FileDetails;
 import com.dspot.declex.util.DeclexConstant;
+import com.dspot.declex.util.EventUtils;
 import com.dspot.declex.util.LayoutsParser;
 import com.dspot.declex.util.MenuParser;
+import com.dspot.declex.util.ProcessorTrace;
 import com.dspot.declex.util.SharedRecords;
 import com.dspot.declex.util.TypeUtils;
 import com.dspot.declex.wrapper.RoundEnvironmentByCache;
@@ -82,8 +84,10 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 	protected void helpersInitialization() {
 		super.helpersInitialization();
 		
+		ProcessorTrace.init(processingEnv);
+		
 		try {
-			timeStats.start("Helpers Initialization");
+			startPhase("Helpers Initialization");
 			
 			layoutsParser = new LayoutsParser(processingEnv, LOGGER);
 			menuParser = new MenuParser(processingEnv, LOGGER);
@@ -107,7 +111,7 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 				
 			}
 			
-			timeStats.stop("Helpers Initialization");
+			stopPhase("Helpers Initialization");
 			timeStats.logStats();
 			
 		} catch (Throwable e) {
@@ -123,6 +127,8 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 		LOGGER.info("Executing Declex");
 				
 		try {
+			
+			SharedRecords.addBackgroundSubscribers(roundEnv, processingEnv);
 
 			return super.process(annotations, roundEnv);
 			
@@ -146,7 +152,7 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 		if (nothingToDo) {			
 			if (roundEnv.processingOver()) {
 			
-				timeStats.start("Writing Cache");
+				startPhase("Writing Cache");
 				
 				long time = 0;
 				//Wait till all the documents be saved
@@ -171,15 +177,17 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 				
 				filesCacheHelper.ensureSources();
 				
-				timeStats.stop("Writing Cache");
+				stopPhase("Writing Cache");
+				
+				ProcessorTrace.write();
 			}
 			
 			return true;
 		} else {
 			//Update actions information in each round
-			timeStats.start("Update Actions");
+			startPhase("Update Actions");
 			actions.getActionsInformation();		
-			timeStats.stop("Update Actions");
+			stopPhase("Update Actions");
 		}
 		
 		return false;
@@ -192,7 +200,7 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 		if (!FilesCacheHelper.isCacheFilesEnabled())
 			return super.extractAnnotations(annotations, roundEnv);
 		
-		timeStats.start("Extract Annotations");
+		startPhase("Extract Annotations");
 		
 		Map<TypeElement, Set<? extends Element>> annotatedElements = new HashMap<>();
 		Set<TypeElement> noCachedAnnotations = new HashSet<>();
@@ -252,6 +260,8 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 				
 				
 				if (filesCacheHelper.hasCachedFile(generatedClassName)) {
+					
+					ProcessorTrace.instant("cache", "hit", "class", generatedClassName);
 
 					Set<FileDetails> detailsList = filesCacheHelper.getFileDetailsList(generatedClassName);
 					for (FileDetails details : detailsList) {						
@@ -265,6 +275,7 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 					confirmedCachedClasses.add(generatedClassName);
 					
 				} else {
+					ProcessorTrace.instant("cache", "miss", "class", generatedClassName);
 					annotatedElementsWithAnnotation.add(element);
 				}
 			}
@@ -308,7 +319,7 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 			//Action object hasn't be registered yet
 		}
 		
-		timeStats.stop("Extract Annotations");
+		stopPhase("Extract Annotations");
 				
 		return extractedModel;
 	}
@@ -323,10 +334,10 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 		AnnotationElements annotationElements = super.validateAnnotations(extractedModel, validatingHolder);
 		
 		//Run validations for Actions (it should be run after all the normal validations)
-		timeStats.start("Validate Actions");
+		startPhase("Validate Actions");
 		LOGGER.info("Validating Actions");
 		ActionHelper.getInstance(androidAnnotationsEnv).validate();
-		timeStats.stop("Validate Actions");
+		stopPhase("Validate Actions");
 		
 		return annotationElements;
 	}
@@ -340,11 +351,12 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 		SharedRecords.priorityExecute();
 
 		//Process Actions (it should be run after all the normal process)
-		timeStats.start("Process Actions");
+		startPhase("Process Actions");
 		LOGGER.info("Processing Actions");
 		ActionHelper.getInstance(androidAnnotationsEnv).process();
 		ActionHelper.getInstance(androidAnnotationsEnv).clear();
-		timeStats.stop("Process Actions");
+		EventUtils.clear();
+		stopPhase("Process Actions");
 		
 		return result;
 	}
@@ -353,7 +365,7 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 	protected void generateSources(ProcessResult processResult)
 			throws IOException {
 				
-		timeStats.start("Generate Sources");
+		startPhase("Generate Sources");
 		
 		int numberOfFiles = processResult.codeModel.countArtifacts() + cachedFiles.size() - cachedFilesGenerated; 
 				
@@ -366,13 +378,24 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 		
 		LOGGER.info("Number of files generated by DecleX: {}", numberOfFiles);
 		
+		//Let the build system know all the sources the generated classes depend on
+		actions.addOriginatingElements(processResult.originatingElements);
+		layoutsParser.addOriginatingElements(processResult.originatingElements);
+		
 		if (processResult.codeModel.countArtifacts() > 0) {
-			CodeModelGenerator modelGenerator = new DeclexCodeModelGenerator(
+			DeclexCodeModelGenerator modelGenerator = new DeclexCodeModelGenerator(
 				coreVersion, 
 				androidAnnotationsEnv.getOptionValue(CodeModelGenerator.OPTION_ENCODING), 
 				androidAnnotationsEnv
 			);
+			
+			startPhase("Render Sources");
+			modelGenerator.render(processResult);
+			stopPhase("Render Sources");
+			
+			startPhase("Write Sources");
 			modelGenerator.generate(processResult);
+			stopPhase("Write Sources");
 		}
 		
 		for (FileDetails details : cachedFiles) {	
@@ -383,15 +406,25 @@ public class DeclexProcessor extends org.androidannotations.internal.AndroidAnno
 			}
 		}
 		
-		timeStats.stop("Generate Sources");
+		stopPhase("Generate Sources");
 		
-		timeStats.start("Save Config");				
+		startPhase("Save Config");				
 		SharedRecords.writeEvents(processingEnv);
 		SharedRecords.writeDBModels(processingEnv);				
-		timeStats.stop("Save Config");
+		stopPhase("Save Config");
 
 	}
 	
+	private void startPhase(String phase) {
+		timeStats.start(phase);
+		ProcessorTrace.begin(phase);
+	}
+	
+	private void stopPhase(String phase) {
+		timeStats.stop(phase);
+		ProcessorTrace.end(phase);
+	}
+	
 	public static void main(String[] args) {
 		System.out.println("DecleX Service");
 		
@@ -16,12 +16,15 @@
 package com.dspot.declex.action;
 
 import static com.helger.jcodemodel.JExpr._this;
+import static com.helger.jcodemodel.JExpr.ref;
 
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -39,15 +42,19 @@ import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
 import org.androidannotations.annotations.EBean;
 import org.androidannotations.handler.BaseAnnotationHandler;
+import org.androidannotations.holder.EBeanHolder;
 import org.androidannotations.holder.EComponentWithViewSupportHolder;
 
 import com.dspot.declex.api.action.annotation.ActionFor;
 import com.dspot.declex.api.action.process.ActionInfo;
+import com.dspot.declex.api.util.MainThreadDispatcher;
 import com.dspot.declex.helper.FilesCacheHelper.FileDependency;
 import com.dspot.declex.override.util.OverrideAPTCodeModelHelper;
 import com.dspot.declex.util.DeclexConstant;
 import com.dspot.declex.util.TypeUtils;
 import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.AbstractJType;
+import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldVar;
@@ -212,6 +219,16 @@ public class ActionForHandler extends BaseAnnotationHandler<EComponentWithViewSu
 			valid.addError(element, "The Action Holder should implement a method \"execute\". Ex. \"void execute(){}\"");
 		}
 		
+		if (element.getAnnotation(ActionFor.class).reusable()) {
+			for (Element elem : element.getEnclosedElements()) {
+				if (elem.getKind() == ElementKind.FIELD && elem.getModifiers().contains(Modifier.PRIVATE)
+					&& !elem.getModifiers().contains(Modifier.STATIC) && !elem.getModifiers().contains(Modifier.FINAL)) {
+					valid.addWarning("The private field \"" + elem.getSimpleName() + "\" of the reusable Action Holder "
+							         + "is not reset between uses, it should be assigned in \"init\"");
+				}
+			}
+		}
+		
 		if (valid.isValid()) {
 			Actions.getInstance().addActionHolder(element.asType().toString());
 		}
@@ -258,6 +275,94 @@ public class ActionForHandler extends BaseAnnotationHandler<EComponentWithViewSu
 			ActionGate.method(JMod.PUBLIC, getCodeModel().VOID, "fire");
 		}
 		
+		if (actionFor.reusable()) {
+			createReuseMethods((TypeElement) element, holder);
+		}
+		
+	}
+	
+	/**
+	 * Reusable Action Holders keep the initial value of their fields, which are restored
+	 * each time that the instance is reused by {@code reuse_(instance, context)}
+	 */
+	private void createReuseMethods(TypeElement element, EComponentWithViewSupportHolder holder) {
+		
+		final JDefinedClass generatedClass = holder.getGeneratedClass();
+		final String pkg = element.getQualifiedName().toString()
+				                  .substring(0, element.getQualifiedName().toString().lastIndexOf('.'));
+		
+		Map<String, VariableElement> resettableFields = new LinkedHashMap<>();
+		collectResettableFields(element, pkg, resettableFields);
+		
+		JFieldVar inUse = generatedClass.field(JMod.PRIVATE, getCodeModel().BOOLEAN, "inUse_");
+		
+		JMethod reset = generatedClass.method(JMod.PRIVATE, getCodeModel().VOID, "reset_");
+		for (VariableElement field : resettableFields.values()) {
+			final String fieldName = field.getSimpleName().toString();
+			final AbstractJType fieldType = field.asType().getKind().isPrimitive() ?
+					getCodeModel().parseType(field.asType().toString()) 
+					: codeModelHelper.typeMirrorToJClass(field.asType());
+			
+			JFieldVar initialValue = generatedClass.field(JMod.PRIVATE, fieldType, "initial$" + fieldName);
+			
+			holder.getInitBody().assign(initialValue, ref(fieldName));
+			reset.body().assign(ref(fieldName), initialValue);
+		}
+		
+		JMethod reuse = generatedClass.method(JMod.PUBLIC | JMod.STATIC, generatedClass, "reuse_");
+		JVar instance = reuse.param(generatedClass, "instance");
+		JVar context = reuse.param(getClasses().CONTEXT, "context");
+		
+		//Only the main thread reuses the instances, the rest of threads allocate them 
+		JBlock allocate = reuse.body()._if(
+				instance.eq(JExpr._null())
+				.cor(instance.ref(inUse))
+				.cor(getJClass(MainThreadDispatcher.class).staticInvoke("isMainThread").not())
+			)._then();
+		allocate.assign(instance, generatedClass.staticInvoke(EBeanHolder.GET_INSTANCE_METHOD_NAME).arg(context));
+		allocate.assign(instance.ref(inUse), JExpr.TRUE);
+		allocate._return(instance);
+		
+		reuse.body().invoke(instance, reset);
+		reuse.body().assign(instance.ref(inUse), JExpr.TRUE);
+		reuse.body()._return(instance);
+		
+		JMethod release = generatedClass.method(JMod.PUBLIC, getCodeModel().VOID, "release_");
+		release.body().assign(inUse, JExpr.FALSE);
+	}
+	
+	private void collectResettableFields(TypeElement element, String pkg, Map<String, VariableElement> fields) {
+		
+		final String elementClass = element.getQualifiedName().toString();
+		final boolean samePackage = elementClass.lastIndexOf('.') == pkg.length() && elementClass.startsWith(pkg);
+		
+		for (Element elem : element.getEnclosedElements()) {
+			if (elem.getKind() != ElementKind.FIELD) continue;
+			
+			final Set<Modifier> modifiers = elem.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) 
+				|| modifiers.contains(Modifier.FINAL)) continue;
+			
+			if (!samePackage && !modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.PROTECTED)) continue;
+			
+			//Injected fields are kept
+			if (!elem.getAnnotationMirrors().isEmpty()) continue;
+			
+			//The fields of the subclass hide the ones of the superclasses
+			final String fieldName = elem.getSimpleName().toString();
+			if (!fields.containsKey(fieldName)) {
+				fields.put(fieldName, (VariableElement) elem);
+			}
+		}
+		
+		List<? extends TypeMirror> superTypes = getProcessingEnvironment().getTypeUtils().directSupertypes(element.asType());
+		for (TypeMirror type : superTypes) {
+			TypeElement superElement = getProcessingEnvironment().getElementUtils().getTypeElement(type.toString());
+			if (superElement == null) continue;
+			if (superElement.getKind().equals(ElementKind.INTERFACE)) continue;
+			if (superElement.asType().toString().equals(Object.class.getCanonicalName())) continue;
+			collectResettableFields(superElement, pkg, fields);
+		}
 	}
 
 	public void createActionGateMethods(Element typeElement, List<JDefinedClass> actionGates, 
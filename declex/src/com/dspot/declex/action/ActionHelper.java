@@ -22,6 +22,7 @@ import org.androidannotations.logger.LoggerFactory;
 
 import com.dspot.declex.action.ActionsProcessor.ActionCallSuperException;
 import com.dspot.declex.override.util.DeclexAPTCodeModelHelper;
+import com.dspot.declex.util.ProcessorTrace;
 
 public class ActionHelper {
 	
@@ -79,7 +80,9 @@ public class ActionHelper {
 								}
 								
 							} else {
+								final long traceStart = ProcessorTrace.now();
 								ActionsProcessor.validateActions(elem, valid, environment);
+								ProcessorTrace.complete("validate", "ActionsProcessor", traceStart, elem);
 							}
 							
 							if (valid.isValid()) {
@@ -170,14 +173,18 @@ public class ActionHelper {
 									
 								}
 								
-								ActionsProcessor.processActions(elem, (EComponentHolder) holder);								
+								final long traceStart = ProcessorTrace.now();
+								ActionsProcessor.processActions(elem, (EComponentHolder) holder);
+								ProcessorTrace.complete("process", "ActionsProcessor", traceStart, elem);
 							}
 						}
 						
 						continue;
 					}
 					
+					final long traceStart = ProcessorTrace.now();
 					ActionsProcessor.processActions(elem, (EComponentHolder) holder);
+					ProcessorTrace.complete("process", "ActionsProcessor", traceStart, elem);
 					
 				} catch (Throwable e) {
 					LOGGER.error(
@@ -53,6 +53,7 @@ import org.androidannotations.api.view.HasViews;
 import org.androidannotations.helper.APTCodeModelHelper;
 import org.androidannotations.helper.IdAnnotationHelper;
 import org.androidannotations.internal.InternalAndroidAnnotationsEnvironment;
+import org.androidannotations.internal.process.OriginatingElements;
 import org.androidannotations.internal.process.ProcessHolder;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
@@ -82,6 +83,18 @@ public class Actions {
 
 	public static final Option OPTION_DEBUG_ACTIONS = new Option("debugActions", "false");
 	
+	/**
+	 * Generates the code executed after the Actions of a method as steps of one continuation
+	 * class, instead of an anonymous Runnable for each Action
+	 */
+	public static final Option OPTION_FLATTEN_ACTIONS = new Option("flattenActions", "false");
+	
+	/**
+	 * Counts the Action Holders allocated and reused by each component, 
+	 * see {@link com.dspot.declex.api.util.ActionHolderStats}
+	 */
+	public static final Option OPTION_COUNT_ACTION_HOLDERS = new Option("countActionHolders", "false");
+	
 	protected static final Logger LOGGER = LoggerFactory.getLogger(Actions.class);
 	
 	public static final String BUILTIN_DIRECT_PKG = "com.dspot.declex.action.builtin.";
@@ -97,6 +110,9 @@ public class Actions {
 	private final Map<String, String> ACTION_NAMES = new HashMap<>();
 	private final Map<String, ActionInfo> ACTION_INFOS = new HashMap<>();
 	
+	//Signature of the Action Holder from which its ActionInfo was created
+	private final Map<String, String> ACTION_SIGNATURES = new HashMap<>();
+	
 	private InternalAndroidAnnotationsEnvironment env;
 	
 	public boolean generateInRound = false; 	//Never generate Actions in first round
@@ -194,7 +210,10 @@ public class Actions {
 				}
 
 				final Filer filer = env.getProcessingEnvironment().getFiler();
-				JavaFileObject sourceFile = filer.createSourceFile(BUILTIN_DIRECT_PKG + builtin);
+				final TypeElement builtinElement = env.getProcessingEnvironment().getElementUtils().getTypeElement(BUILTIN_PKG + builtin);
+				JavaFileObject sourceFile = builtinElement == null ? 
+						filer.createSourceFile(BUILTIN_DIRECT_PKG + builtin)
+						: filer.createSourceFile(BUILTIN_DIRECT_PKG + builtin, builtinElement);
 
 				OutputStream out = sourceFile.openOutputStream();
 				InputStream in = url.openStream();
@@ -264,6 +283,18 @@ public class Actions {
 		details.metaData.put("lastBuiltInLibModified", lastBuiltInLibModified);
 	}
 
+	/**
+	 * The Action object depends on all the Action Holders
+	 */
+	public void addOriginatingElements(OriginatingElements originatingElements) {
+		for (String action : ACTION_HOLDERS) {
+			TypeElement typeElement = env.getProcessingEnvironment().getElementUtils().getTypeElement(action);
+			if (typeElement != null) {
+				originatingElements.add(DeclexConstant.ACTION, typeElement);
+			}
+		}
+	}
+	
 	public void addActionHolder(String action) {
 		ACTION_HOLDERS.add(action);
 		createInformationForAction(action);
@@ -315,6 +346,13 @@ public class Actions {
 				);
 		}
 		
+		//The information is created again only if the Action Holder changed
+		final String signature = getActionSignature(typeElement, generatedHolder);
+		if (signature.equals(ACTION_SIGNATURES.get(action)) && ACTION_INFOS.containsKey(action)) {
+			return;
+		}
+		ACTION_SIGNATURES.put(action, signature);
+		
 		final ActionFor actionForAnnotation = typeElement.getAnnotation(ActionFor.class);
 		
 		for (String name : actionForAnnotation.value()) {
@@ -323,21 +361,11 @@ public class Actions {
 			final ActionInfo actionInfo = new ActionInfo(action);
 			actionInfo.isGlobal = actionForAnnotation.global();
 			actionInfo.isTimeConsuming = actionForAnnotation.timeConsuming();
+			actionInfo.isReusable = actionForAnnotation.reusable();
 			
 			//This will work only for cached classes
-			if (generatedHolder != null) {
-				for (Element elem : generatedHolder.getEnclosedElements()) {
-					if (elem instanceof ExecutableElement) {
-						final String elemName = elem.getSimpleName().toString();
-						final List<? extends VariableElement> params = ((ExecutableElement)elem).getParameters();
-						
-						if (elemName.equals("onViewChanged") && params.size() == 1
-							&& params.get(0).asType().toString().equals(HasViews.class.getCanonicalName())) {
-							actionInfo.handleViewChanges = true;
-							break;
-						}
-					}
-				}
+			if (handlesViewChanges(generatedHolder)) {
+				actionInfo.handleViewChanges = true;
 			}
 			
 			addAction(name, action, actionInfo, false);
@@ -372,15 +400,71 @@ public class Actions {
 		}		
 	}
 	
+	private boolean handlesViewChanges(TypeElement generatedHolder) {
+		if (generatedHolder == null) return false;
+		
+		for (Element elem : generatedHolder.getEnclosedElements()) {
+			if (elem instanceof ExecutableElement) {
+				final String elemName = elem.getSimpleName().toString();
+				final List<? extends VariableElement> params = ((ExecutableElement)elem).getParameters();
+				
+				if (elemName.equals("onViewChanged") && params.size() == 1
+					&& params.get(0).asType().toString().equals(HasViews.class.getCanonicalName())) {
+					return true;
+				}
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns a signature of everything the ActionInfo is created from: the Action Holder,
+	 * its annotations and the methods of its hierarchy. It is much cheaper to calculate than 
+	 * the ActionInfo itself, so it is used to detect if the information should be created again
+	 */
+	private String getActionSignature(TypeElement typeElement, TypeElement generatedHolder) {
+		
+		StringBuilder signature = new StringBuilder(typeElement.getQualifiedName());
+		signature.append(typeElement.getAnnotationMirrors());
+		signature.append(handlesViewChanges(generatedHolder));
+		
+		Element superElement = typeElement;
+		while (superElement != null) {
+			for (Element elem : superElement.getEnclosedElements()) {
+				if (elem.getKind() != ElementKind.METHOD) continue;
+				
+				final ExecutableElement method = (ExecutableElement) elem;
+				signature.append(';').append(method.getReturnType()).append(' ').append(method);
+				signature.append(method.getAnnotationMirrors());
+				for (VariableElement param : method.getParameters()) {
+					signature.append(param.getAnnotationMirrors());
+				}
+			}
+			
+			Element nextElement = null;
+			for (TypeMirror type : env.getProcessingEnvironment().getTypeUtils().directSupertypes(superElement.asType())) {
+				TypeElement element = env.getProcessingEnvironment().getElementUtils().getTypeElement(type.toString());
+				if (element == null) continue;
+				if (element.getKind().equals(ElementKind.INTERFACE)) continue;
+				if (element.asType().toString().equals(Object.class.getCanonicalName())) continue;
+				nextElement = element;
+			}
+			superElement = nextElement;
+		}
+		
+		return signature.toString();
+	}
+	
 	public void createInformationForMethods(Element typeElement, ActionInfo actionInfo) {
 		this.createInformationForMethods(typeElement, actionInfo, null);
 	}
 	
 	public void createInformationForMethods(Element typeElement, ActionInfo actionInfo, 
-			 List<String> methodsHandled) {
+			 Set<String> methodsHandled) {
 
 		if (methodsHandled == null) {
-			methodsHandled = new LinkedList<>();
+			methodsHandled = new HashSet<>();
 		}
 		
 		for (Element elem : typeElement.getEnclosedElements()) {
@@ -480,7 +564,7 @@ public class Actions {
 					Long cachedLastBuiltinModified = (Long) details.metaData.get("lastBuiltInLibModified");
 					if (!cachedLastBuiltinModified.equals(lastBuiltInLibModified)) {
 						LOGGER.debug("Removing Cached Action: " + builtin);
-						details.invalidate();
+						details.invalidate("built-in Actions library changed");
 						builtinClassesNotCached.add(builtin);
 					} else {					
 						LOGGER.debug("Cached bultin Action: " + builtin);
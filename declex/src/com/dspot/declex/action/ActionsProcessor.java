@@ -22,6 +22,7 @@ import static com.helger.jcodemodel.JExpr.assign;
 import static com.helger.jcodemodel.JExpr.cast;
 import static com.helger.jcodemodel.JExpr.direct;
 import static com.helger.jcodemodel.JExpr.invoke;
+import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JExpr.ref;
 
 import java.io.BufferedReader;
@@ -32,11 +33,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -67,8 +70,11 @@ import com.dspot.declex.api.action.annotation.StopOn;
 import com.dspot.declex.api.action.process.ActionInfo;
 import com.dspot.declex.api.action.process.ActionMethod;
 import com.dspot.declex.api.action.process.ActionMethodParam;
+import com.dspot.declex.api.action.runnable.ActionContinuation;
 import com.dspot.declex.api.action.structure.ActionResult;
+import com.dspot.declex.api.util.ActionHolderStats;
 import com.dspot.declex.api.util.FormatsUtils;
+import com.dspot.declex.api.util.MainThreadDispatcher;
 import com.dspot.declex.override.util.DeclexAPTCodeModelHelper;
 import com.dspot.declex.share.holder.EnsureImportsHolder;
 import com.dspot.declex.util.DeclexConstant;
@@ -79,12 +85,14 @@ import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.IJStatement;
 import com.helger.jcodemodel.JAnonymousClass;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JCase;
 import com.helger.jcodemodel.JCatchBlock;
 import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JCodeModel;
 import com.helger.jcodemodel.JConditional;
 import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JFieldRef;
+import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JFormatter;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
@@ -150,6 +158,11 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 	private JBlock initialBlock = new JBlock();
 	private JAnonymousClass sharedVariablesHolder = null;
 	
+	//Flattened Actions, the code after each Action is a step of the sharedVariablesHolder
+	private JSwitch continuationSteps;
+	private int continuationStepsCount = 0;
+	private Set<JBlock> flattenableBlocks = new HashSet<>();
+	
 	private LiteralTree literalDiscovered;
 	
 	private boolean processingTry;
@@ -380,6 +393,7 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 		}
 		
 		pushBlock(initialBlock, null);
+		flattenableBlocks.add(initialBlock);
 
 		if (showDebugInfo()) System.out.println("PROCESSING: " + holder.getAnnotatedElement());
 	}
@@ -394,6 +408,26 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 		return env.getOptionBooleanValue(Actions.OPTION_DEBUG_ACTIONS);
 	}
 	
+	/**
+	 * When the Actions are flattened, all the code executed after the Actions of the method
+	 * is placed in one continuation class, instead of an anonymous Runnable for each Action
+	 */
+	private boolean isFlatteningActions() {
+		if (isValidating()) return false;
+		if (!(element instanceof ExecutableElement)) return false;
+		if (!((ExecutableElement) element).getReturnType().toString().equals("void")) return false;
+		
+		return env.getOptionBooleanValue(Actions.OPTION_FLATTEN_ACTIONS);
+	}
+	
+	//Reports the event of the Action Holder to ActionHolderStats, if counting is enabled
+	private void countActionHolder(JBlock block, String event) {
+		if (holder == null || !env.getOptionBooleanValue(Actions.OPTION_COUNT_ACTION_HOLDERS)) return;
+		
+		final String component = ((TypeElement) holder.getAnnotatedElement()).getQualifiedName().toString();
+		block.staticInvoke(getJClass(ActionHolderStats.class), event).arg(getJClass(component).dotclass());
+	}
+	
 	private String debugPrefix() {
 		String prefix = "";
 		return prefix + debugIndex;
@@ -523,7 +557,17 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 	}
 	
 	private void createSharedVariablesHolder() {
-		sharedVariablesHolder = getCodeModel().anonymousClass(Runnable.class);
+		if (isFlatteningActions()) {
+			sharedVariablesHolder = getCodeModel().anonymousClass(ActionContinuation.class);
+			
+			JMethod resumeMethod = sharedVariablesHolder.method(JMod.PUBLIC, getCodeModel().VOID, "resume_");
+			resumeMethod.annotate(Override.class);
+			JVar step = resumeMethod.param(getCodeModel().INT, "step");
+			continuationSteps = resumeMethod.body()._switch(step);
+		} else {
+			sharedVariablesHolder = getCodeModel().anonymousClass(Runnable.class);
+		}
+		
 		JMethod anonymousRunnableRun = sharedVariablesHolder.method(JMod.PUBLIC, getCodeModel().VOID, "run");
 		anonymousRunnableRun.annotate(Override.class);
 		
@@ -539,6 +583,36 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 		initialBlock.invoke(sharedVariablesHolderVar, "run");
 	}
 	
+	/**
+	 * Creates the step of the continuation executed when the current Action finishes. Only the
+	 * Actions placed directly in the method body, or after another flattened Action, are flattened,
+	 * since the steps cannot access the local variables of other blocks
+	 */
+	private JBlock createContinuationStep(ActionMethodParam param) {
+		if (!isFlatteningActions() || processingTry) return null;
+		if (!flattenableBlocks.contains(blocks.get(0))) return null;
+		if (!param.clazz.fullName().equals(Runnable.class.getCanonicalName())) return null;
+		
+		if (continuationSteps == null) {
+			if (sharedVariablesHolder == null) {
+				createSharedVariablesHolder();
+			}
+			
+			//The holder was created before by a method which is not flattened
+			if (continuationSteps == null) return null;
+		}
+		
+		continuationStepsCount++;
+		JCase stepCase = continuationSteps._case(lit(continuationStepsCount));
+		JBlock stepBlock = stepCase.body().block();
+		stepCase.body()._break();
+		
+		stepBlock.directStatement("//ACTION EVENT: " + param.name);
+		flattenableBlocks.add(stepBlock);
+		
+		return stepBlock;
+	}
+	
 	private void writePreviousStatements() {
 		
 		if (!isValidating()) {
@@ -1080,9 +1154,32 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 				JBlock preInstantiate = block.blockVirtual();
 				
 				final JVar action;
+				final boolean reuseAction = actionInfo.isReusable && !actionInfo.isGlobal && holder != null && !isValidating();
 				if (actionInfo.isGlobal && !isValidating()) {
 					action = holder.getGeneratedClass().field(JMod.PRIVATE, injectedClass, actionName);
 					block.assign(action, injectedClass.staticInvoke(EBeanHolder.GET_INSTANCE_METHOD_NAME).arg(context));
+					countActionHolder(block, "allocated");
+				} else if (reuseAction) {
+					
+					//One instance of the Action Holder is kept for all the Actions of this type in the component
+					final String reusableName = "reusable" + injectedClass.name();
+					JFieldVar reusable = holder.getGeneratedClass().fields().get(reusableName);
+					if (reusable == null) {
+						reusable = holder.getGeneratedClass().field(JMod.PRIVATE, injectedClass, reusableName);
+					}
+					
+					action = block.decl(
+							JMod.FINAL,
+							injectedClass, 
+							actionName,
+							injectedClass.staticInvoke("reuse_").arg(reusable).arg(context)
+					);
+					
+					JConditional ifAllocated = block._if(action.ne(reusable));
+					ifAllocated._then()._if(getJClass(MainThreadDispatcher.class).staticInvoke("isMainThread"))
+					                   ._then().assign(reusable, action);
+					countActionHolder(ifAllocated._then(), "allocated");
+					countActionHolder(ifAllocated._else(), "reused");
 				} else {
 					action = block.decl(
 							JMod.FINAL,
@@ -1090,6 +1187,7 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 							actionName,
 							injectedClass.staticInvoke(EBeanHolder.GET_INSTANCE_METHOD_NAME).arg(context)
 					);
+					if (!isValidating()) countActionHolder(block, "allocated");
 				}
 				
 
@@ -1247,7 +1345,19 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 						boolean firstParam = true;
 						for (ActionMethodParam param : buildMethod.params) {
 							ParamInfo paramInfo;
-							if (firstParam) {
+							JBlock continuationStep = firstParam? createContinuationStep(param) : null;
+							if (continuationStep != null) {
+								
+								paramInfo = new ParamInfo(param, continuationStep, invoke("step_").arg(lit(continuationStepsCount)));
+								blocks.set(0, continuationStep);
+								
+								if (showDebugInfo()) {
+									System.out.println(debugPrefix() + "writeFlattenedAction: " + methodSelect);
+								}
+								
+								firstParam = false;
+								
+							} else if (firstParam) {
 								
 								JDefinedClass anonymousRunnable = getCodeModel().anonymousClass((AbstractJClass) param.clazz);
 								JMethod anonymousRunnableRun = anonymousRunnable.method(JMod.PUBLIC, getCodeModel().VOID, "run");
@@ -1279,6 +1389,10 @@ class ActionsProcessor extends TreePathScanner<Boolean, Trees> {
 					
 						block.invoke(action, "execute");
 						
+						if (reuseAction) {
+							block.invoke(action, "release_");
+						}
+						
 					} else {
 						currentBuildInvocation.set(0, null);
 						currentBuildParams.get(0).clear();
@@ -16,6 +16,7 @@
 package com.dspot.declex.event.holder;
 
 import static com.helger.jcodemodel.JExpr._new;
+import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JExpr.ref;
 
 import java.util.ArrayList;
@@ -41,6 +42,8 @@ import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JFieldRef;
 import com.helger.jcodemodel.JMethod;
+import com.helger.jcodemodel.JMod;
+import com.helger.jcodemodel.JVar;
 
 public class BaseViewListenerHolder extends PluginClassHolder<EComponentWithViewSupportHolder> 
 	implements ViewListenerHolder {
@@ -123,6 +126,12 @@ public class BaseViewListenerHolder extends PluginClassHolder<EComponentWithView
 
 	@Override
 	public JBlock createListener(String viewFieldName, JBlock block) {
+		return createListener(viewFieldName, block, null, null, null);
+	}
+	
+	@Override
+	public JBlock createListener(String viewFieldName, JBlock block, IJExpression position, 
+			AbstractJClass modelClass, IJExpression model) {
 		
 		String[] viewFields = viewFieldName.split("\\.");
 		JFieldRef view = null;
@@ -150,6 +159,19 @@ public class BaseViewListenerHolder extends PluginClassHolder<EComponentWithView
 			listenerInfo.block = listenerMethodBody;
 			
 			IJExpression returnedExpression = returnedExpression();
+			
+			if (position != null && !hasParam(listenerMethod, "position")) {
+				JVar positionVar = listenerMethodBody.decl(JMod.FINAL, getCodeModel().INT, "position", position);
+				
+				//The item could be already removed when the listener is fired
+				JBlock noPosition = listenerMethodBody._if(positionVar.lt(lit(0)))._then();
+				if (returnedExpression != null) noPosition._return(returnedExpression);
+				else noPosition._return();
+				
+				if (model != null && !hasDecl(listenerInfo, "model")) {
+					listenerMethodBody.decl(JMod.FINAL, modelClass, "model", model);
+				}
+			}
 			if (returnedExpression != null) {
 				listenerInfo.block = listenerMethodBody.block();
 				listenerMethodBody._return(returnedExpression);
@@ -169,6 +191,20 @@ public class BaseViewListenerHolder extends PluginClassHolder<EComponentWithView
 		return listenerInfo.block;
 	}
 	
+	private boolean hasParam(JMethod method, String name) {
+		for (JVar param : method.params()) {
+			if (param.name().equals(name)) return true;
+		}
+		return false;
+	}
+	
+	private boolean hasDecl(ListenerInfo listenerInfo, String name) {
+		for (DeclData decl : listenerInfo.decls) {
+			if (decl.name.equals(name)) return true;
+		}
+		return false;
+	}
+	
 	private class ListenerInfo {
 		List<IStatementCreator> statementCreators = new LinkedList<>();
 		List<DeclData> decls = new LinkedList<>();
@@ -29,4 +29,12 @@ public interface ViewListenerHolder {
 	public Set<String> getViewFieldNames();
 	
 	public JBlock createListener(String viewFieldName, JBlock block);
+	
+	/**
+	 * Creates a listener which reads the "position" (and optionally the "model") 
+	 * when it is fired, instead of capturing them from the block where it is created.
+	 * This permits to assign the listener only once, ex. when a ViewHolder is created
+	 */
+	public JBlock createListener(String viewFieldName, JBlock block, IJExpression position, 
+			AbstractJClass modelClass, IJExpression model);
 }
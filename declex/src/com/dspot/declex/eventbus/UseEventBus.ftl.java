@@ -18,7 +18,7 @@
 <@class_head>
 package com.dspot.declex.eventbus;
 
-import org.greenrobot.eventbus.EventBus;
+import com.dspot.declex.api.util.EventBusUtility;
 
 public class UseEventBusObject  {
 </@class_head>
@@ -53,13 +53,13 @@ public class UseEventBusObject  {
 		
 	public void registerWithEventBus() {
 		try {
-			EventBus.getDefault().register(this);
+			EventBusUtility.getDefault().register(this);
 		} catch (Exception e) {};
 	}
 	
 	public void unregisterWithEventBus() {
 		try {
-			EventBus.getDefault().unregister(this);
+			EventBusUtility.getDefault().unregister(this);
 		} catch (Exception e) {};
 	}
 	
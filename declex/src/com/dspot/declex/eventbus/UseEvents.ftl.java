@@ -18,11 +18,15 @@
 <@class_head>
 package com.dspot.declex.eventbus;
 
-import org.greenrobot.eventbus.EventBus;
+import com.dspot.declex.api.util.EventBusUtility;
+import com.dspot.declex.api.util.EventPool;
+import com.dspot.declex.api.util.MainThreadDispatcher;
 
 public class Event  {
 </@class_head>
 <@class_fields>
+	private static final Object[] NO_VALUES = new Object[]{};
+	
 	private Object[] values;
 </@class_fields>
 
@@ -32,7 +36,7 @@ public class Event  {
 	//============================================================
 
 	public ${className}() {
-		values = new Object[]{};
+		values = NO_VALUES;
 	}
 	
 	public ${className}(Object ... values) {
@@ -48,12 +52,118 @@ public class Event  {
 		return this;
 	}
 	
+<#if pooled>
+	//The events are taken from the pool and they are released once dispatched,
+	//they are always dispatched in the main thread
+	private static final EventPool<${className}> POOL = new EventPool<${className}>(EventPool.DEFAULT_SIZE, ${packageName}.BuildConfig.DEBUG) {
+		@Override
+		protected ${className} create() {
+			return new ${className}();
+		}
+	};
+	
+	private final Runnable dispatcher = new Runnable() {
+		@Override
+		public void run() {
+			dispatch();
+		}
+	};
+	
+	private final Object[] finishedValues = new Object[] {
+		new Runnable() {
+			@Override
+			public void run() {
+				finished();
+			}
+		}
+	};
+	
+	private Runnable finished;
+	private boolean awaitingFinished;
+	private boolean dispatched;
+	
+	public static void post(Object ... values) {
+		create().setValues(values).postEvent();
+	}
+	
+	public static void post() {
+		create().postEvent();
+	}
+	
+	public static ${className} create() {
+		return POOL.acquire();
+	}
+	
+	public void postEvent() {
+		MainThreadDispatcher.run(dispatcher);
+	}
+	
+	/**
+	 * The first value of the event is a Runnable which the subscribers run when they finish
+	 * handling it. It runs the given Runnable, and the event is not released until it runs
+	 */
+	public ${className} setFinished(Runnable finished) {
+		synchronized (this) {
+			this.finished = finished;
+			this.awaitingFinished = finished != null;
+		}
+		values = finishedValues;
+		return this;
+	}
+	
+	private void dispatch() {
+		try {
+			EventBusUtility.getDefault().post(this);
+		} finally {
+			synchronized (this) {
+				dispatched = true;
+				if (awaitingFinished) return;
+			}
+			recycle();
+		}
+	}
+	
+	private void finished() {
+		Runnable runnable;
+		synchronized (this) {
+			runnable = finished;
+			if (runnable == null) return;
+			finished = null;
+		}
+		
+		try {
+			runnable.run();
+		} finally {
+			synchronized (this) {
+				awaitingFinished = false;
+				if (!dispatched) return;
+			}
+			recycle();
+		}
+	}
+	
+	/**
+	 * Returns the event to the pool, the subscribers shouldn't keep a reference to it
+	 */
+	public void recycle() {
+		synchronized (this) {
+			finished = null;
+			awaitingFinished = false;
+			dispatched = false;
+		}
+		values = NO_VALUES;
+		<#list resetFields as field, value>
+		${field} = ${value};
+		</#list>
+		POOL.release(this);
+	}
+<#else>
 	public static void post(Object ... values) {
-		EventBus.getDefault().post(new ${className}(values));
+		EventBusUtility.getDefault().post(new ${className}(values));
 	}
 	
 	public static void post() {
-		EventBus.getDefault().post(new ${className}());
+		EventBusUtility.getDefault().post(new ${className}());
 	}
 	
 	public static ${className} create() {
@@ -61,8 +171,24 @@ public class Event  {
 	}
 	
 	public void postEvent() {
-		EventBus.getDefault().post(this);
+		EventBusUtility.getDefault().post(this);
+	}
+	
+	/**
+	 * The first value of the event is a Runnable which the subscribers run when they finish
+	 * handling it
+	 */
+	public ${className} setFinished(Runnable finished) {
+		values = new Object[] {finished};
+		return this;
+	}
+	
+	/**
+	 * The event is not pooled, so it is never reused
+	 */
+	public void recycle() {
 	}
+</#if>
 	
 <@class_footer>
 }
@@ -27,12 +27,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
@@ -47,6 +50,7 @@ import com.dspot.declex.util.TypeUtils;
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JExpr;
+import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JMod;
 import com.helger.jcodemodel.JVar;
@@ -65,6 +69,45 @@ public class UseEventsHandler extends BaseTemplateHandler<EBeanHolder> {
 			   ));
 	}
 
+	@Override
+	protected void setTemplateDataModel(Map<String, Object> rootDataModel,
+			Element element, EBeanHolder holder) {
+		super.setTemplateDataModel(rootDataModel, element, holder);
+		
+		boolean pooled = adiHelper.getAnnotation(element, UseEvents.class).pooled();
+		if (pooled && SharedRecords.hasBackgroundSubscribers((TypeElement) element, getEnvironment())) {
+			//The event would be reused while the subscriber is still handling it
+			LOGGER.warn(
+				"The event is not pooled, it has subscribers with ThreadMode BACKGROUND or ASYNC", 
+				element, element.getAnnotation(UseEvents.class)
+			);
+			pooled = false;
+		}
+		
+		rootDataModel.put("pooled", pooled);
+		
+		//The pooled events reset all their fields when they are recycled
+		Map<String, String> resetFields = new TreeMap<>();
+		for (Element elem : element.getEnclosedElements()) {
+			if (elem.getKind() != ElementKind.FIELD) continue;
+			if (elem.getModifiers().contains(Modifier.STATIC)) continue;
+			if (elem.getModifiers().contains(Modifier.PRIVATE)) continue;
+			if (elem.getModifiers().contains(Modifier.FINAL)) continue;
+			
+			resetFields.put(elem.getSimpleName().toString(), defaultValue(elem.asType().getKind()));
+		}
+		rootDataModel.put("resetFields", resetFields);
+	}
+	
+	private String defaultValue(TypeKind kind) {
+		switch (kind) {
+		case BOOLEAN: return "false";
+		case CHAR: return "'\\0'";
+		case BYTE: case SHORT: case INT: case LONG: case FLOAT: case DOUBLE: return "0";
+		default: return "null";
+		}
+	}
+	
 	@Override
 	public void validate(Element element, ElementValidation valid) {
 		validatorHelper.typeHasAnnotation(EBean.class, element, valid);
@@ -114,6 +157,21 @@ public class UseEventsHandler extends BaseTemplateHandler<EBeanHolder> {
 			}
 			
 			create.body()._return(instance);
+			
+			//The typed post doesn't create the values array nor box the primitive fields. It has its
+			//own name, an overload of post would take over the calls to post(Object...)
+			JMethod postTyped = holder.getGeneratedClass().method(JMod.PUBLIC | JMod.STATIC, getCodeModel().VOID, "postTyped");
+			JInvocation createInvocation = JExpr.invoke(create);
+			
+			for (String elemName : fields.keySet()) {
+				String elemType = fields.get(elemName);
+				AbstractJClass elemClass = TypeUtils.classFromTypeString(elemType, getEnvironment());
+				
+				JVar param = postTyped.param(elemClass, elemName);
+				createInvocation.arg(param);
+			}
+			
+			postTyped.body().add(createInvocation.invoke("postEvent"));
 		}
 	}
 	
@@ -1,25 +1,166 @@
 package com.dspot.declex.generate;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
+import org.androidannotations.Option;
 import org.androidannotations.internal.generation.CodeModelGenerator;
 import org.androidannotations.internal.generation.ResourceCodeWriter;
 import org.androidannotations.internal.generation.SourceCodeWriter;
 import org.androidannotations.internal.process.ModelProcessor;
+import org.androidannotations.logger.Logger;
+import org.androidannotations.logger.LoggerFactory;
 
+import com.helger.jcodemodel.AbstractCodeWriter;
+import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.JCodeModel;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JFormatter;
+import com.helger.jcodemodel.JPackage;
 import com.helger.jcodemodel.writer.PrologCodeWriter;
 
+/**
+ * When the option "renderingThreads" is greater than 0, the classes are rendered to text in parallel
+ * by {@link #render(ModelProcessor.ProcessResult)}, and the files are created afterwards through the Filer
+ * in the processing thread by {@link #generate(ModelProcessor.ProcessResult)}.
+ * <p>
+ * Each class is rendered with the same {@link JFormatter} used by the serial generation, and the text is
+ * written through the same writers (prolog, encoding and unicode escaping), so the output is identical.
+ * The formatters resolve lazily the packages and the outer classes, superclasses and interfaces of the referenced
+ * classes in the {@link JCodeModel}, which keeps them in plain HashMaps. They are resolved beforehand in the
+ * processing thread, and while rendering the model uses synchronized views of the maps. If a class is still
+ * referenced for the first time while rendering (the formatters could get different instances of it), the
+ * rendered sources are discarded and the classes are written serially by the model build. The packages created
+ * while rendering are not compared by identity, so they don't change the output.
+ * <p>
+ * The option "verifyRendering" writes each class also as {@link JPackage} does it when the model is built,
+ * and compares the bytes of both outputs. A class which differs is left to the model build.
+ */
 public class DeclexCodeModelGenerator extends CodeModelGenerator {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(DeclexCodeModelGenerator.class);
+
+	public static final Option OPTION_RENDERING_THREADS = new Option("renderingThreads", "0");
+	public static final Option OPTION_VERIFY_RENDERING = new Option("verifyRendering", "false");
+
+	private static final String PACKAGES_FIELD = "m_aPackages";
+	private static final String REF_CLASSES_FIELD = "m_aRefClasses";
+
+	private static Method formatterWriteMethod;
+	private static Method createSourceWriterMethod;
+
+	private final int renderingThreads;
+	private final boolean verifyRendering;
+
+	private final Map<JDefinedClass, String> renderedSources = new LinkedHashMap<>();
+
 	public DeclexCodeModelGenerator(String aaVersion, String encoding, AndroidAnnotationsEnvironment env) {
 		super(env.getProcessingEnvironment().getFiler(), aaVersion, encoding);
 		header = "DO NOT EDIT THIS FILE. Generated using DSpot Sp. z o.o - DecleX " + aaVersion + " "
-				+ "and AndroidAnnotations .\n " + 
+				+ "and AndroidAnnotations .\n " +
 				"You can create a larger work that contains this file and distribute that work under terms of your choice.\n";
+
+		int threads = 0;
+		try {
+			threads = Integer.parseInt(env.getOptionValue(OPTION_RENDERING_THREADS));
+		} catch (NumberFormatException e) {
+			LOGGER.warn("Invalid value for option {}, the sources are rendered serially", OPTION_RENDERING_THREADS.getName());
+		}
+
+		renderingThreads = Math.min(threads, Runtime.getRuntime().availableProcessors());
+		verifyRendering = env.getOptionBooleanValue(OPTION_VERIFY_RENDERING);
 	}
-	
+
+	/**
+	 * Renders all the classes of the model in parallel, if it is enabled. The rendered
+	 * classes are written later by {@link #generate(ModelProcessor.ProcessResult)}
+	 */
+	public void render(ModelProcessor.ProcessResult processResult) throws IOException {
+		if (renderingThreads <= 0) return;
+
+		List<JDefinedClass> classes = new LinkedList<>();
+		Iterator<JPackage> packages = processResult.codeModel.packages();
+		while (packages.hasNext()) {
+			for (JDefinedClass definedClass : packages.next().classes()) {
+				if (!definedClass.isHidden()) {
+					classes.add(definedClass);
+				}
+			}
+		}
+
+		if (classes.size() < 2) return;
+
+		final JCodeModel codeModel = processResult.codeModel;
+		resolveReferences(codeModel);
+
+		final Map<String, JPackage> packagesMap = getModelMap(codeModel, PACKAGES_FIELD);
+		final Map<Class<?>, AbstractJClass> refClassesMap = getModelMap(codeModel, REF_CLASSES_FIELD);
+		final int refClasses = refClassesMap.size();
+
+		setModelMap(codeModel, PACKAGES_FIELD, Collections.synchronizedMap(packagesMap));
+		setModelMap(codeModel, REF_CLASSES_FIELD, Collections.synchronizedMap(refClassesMap));
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(renderingThreads, classes.size()));
+		try {
+
+			Map<JDefinedClass, Future<String>> sources = new LinkedHashMap<>();
+			for (final JDefinedClass definedClass : classes) {
+				sources.put(definedClass, executor.submit(new Callable<String>() {
+
+					@Override
+					public String call() throws Exception {
+						return renderSource(definedClass);
+					}
+				}));
+			}
+
+			for (Entry<JDefinedClass, Future<String>> source : sources.entrySet()) {
+				renderedSources.put(source.getKey(), source.getValue().get());
+			}
+
+			//All the tasks finished, if any failed the synchronized views are kept
+			setModelMap(codeModel, PACKAGES_FIELD, packagesMap);
+			setModelMap(codeModel, REF_CLASSES_FIELD, refClassesMap);
+
+			if (refClassesMap.size() != refClasses) {
+				LOGGER.warn("Classes were referenced for the first time while rendering, the sources are written serially");
+				renderedSources.clear();
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	public void generate(ModelProcessor.ProcessResult processResult) throws IOException {
 		Charset charset = getCharset();
 
@@ -27,7 +168,180 @@ public class DeclexCodeModelGenerator extends CodeModelGenerator {
 
 		PrologCodeWriter prologCodeWriter = new PrologCodeWriter(sourceCodeWriter, header);
 
+		//The rendered classes are written in the processing thread, and hidden for the model build
+		for (Entry<JDefinedClass, String> renderedSource : renderedSources.entrySet()) {
+			final JDefinedClass definedClass = renderedSource.getKey();
+			final String source = renderedSource.getValue();
+
+			if (verifyRendering && !Arrays.equals(writeSource(definedClass, source, charset), buildSource(definedClass, charset))) {
+				LOGGER.error("Parallel rendering of {} differs from the serial rendering", definedClass.fullName());
+				continue;
+			}
+
+			Writer writer = prologCodeWriter.openSource(definedClass._package(), definedClass.name() + ".java");
+			writer.write(source);
+			writer.close();
+
+			definedClass.hide();
+		}
+		renderedSources.clear();
+
 		processResult.codeModel.build(prologCodeWriter, new ResourceCodeWriter(filer, charset));
 	}
-	
+
+	/**
+	 * Renders the class as {@link JPackage} does it when the model is built
+	 */
+	private static String renderSource(JDefinedClass definedClass) throws IOException {
+		StringWriter source = new StringWriter();
+		JFormatter formatter = new JFormatter(new PrintWriter(new BufferedWriter(source)));
+
+		invoke(getFormatterWriteMethod(), formatter, definedClass);
+
+		formatter.close();
+		return source.toString();
+	}
+
+	/**
+	 * Writes the rendered source as {@link #generate(ModelProcessor.ProcessResult)} does it
+	 */
+	private byte[] writeSource(JDefinedClass definedClass, String source, Charset charset) throws IOException {
+		MemoryCodeWriter codeWriter = new MemoryCodeWriter(charset);
+
+		Writer writer = new PrologCodeWriter(codeWriter, header).openSource(definedClass._package(), definedClass.name() + ".java");
+		writer.write(source);
+		writer.close();
+
+		return codeWriter.toByteArray();
+	}
+
+	/**
+	 * Writes the class through the same path used by {@link JPackage} when the model is built
+	 */
+	private byte[] buildSource(JDefinedClass definedClass, Charset charset) throws IOException {
+		MemoryCodeWriter codeWriter = new MemoryCodeWriter(charset);
+
+		JFormatter formatter = (JFormatter) invoke(getCreateSourceWriterMethod(), definedClass._package(),
+				new PrologCodeWriter(codeWriter, header), definedClass.name());
+		invoke(getFormatterWriteMethod(), formatter, definedClass);
+		formatter.close();
+
+		return codeWriter.toByteArray();
+	}
+
+	private static Object invoke(Method method, Object target, Object... args) throws IOException {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw new IOException(e.getCause());
+		} catch (ReflectiveOperationException e) {
+			throw new IOException(e);
+		}
+	}
+
+	//JFormatter.write(JDefinedClass) is package-private
+	private static synchronized Method getFormatterWriteMethod() throws IOException {
+		if (formatterWriteMethod == null) {
+			try {
+				Method method = JFormatter.class.getDeclaredMethod("write", JDefinedClass.class);
+				method.setAccessible(true);
+				formatterWriteMethod = method;
+			} catch (NoSuchMethodException e) {
+				throw new IOException(e);
+			}
+		}
+		return formatterWriteMethod;
+	}
+
+	//JPackage._createJavaSourceFileWriter(AbstractCodeWriter, String) is private
+	private static synchronized Method getCreateSourceWriterMethod() throws IOException {
+		if (createSourceWriterMethod == null) {
+			try {
+				Method method = JPackage.class.getDeclaredMethod("_createJavaSourceFileWriter", AbstractCodeWriter.class, String.class);
+				method.setAccessible(true);
+				createSourceWriterMethod = method;
+			} catch (NoSuchMethodException e) {
+				throw new IOException(e);
+			}
+		}
+		return createSourceWriterMethod;
+	}
+
+	/**
+	 * Resolves the classes and packages which the formatters would resolve lazily from the referenced
+	 * classes, until no more classes are referenced
+	 */
+	private static void resolveReferences(JCodeModel codeModel) throws IOException {
+		codeModel._package("java.lang");
+		codeModel.ref(Object.class);
+
+		final Map<Class<?>, AbstractJClass> refClassesMap = getModelMap(codeModel, REF_CLASSES_FIELD);
+
+		int refClasses;
+		do {
+			refClasses = refClassesMap.size();
+
+			for (AbstractJClass refClass : new ArrayList<>(refClassesMap.values())) {
+				refClass._package();
+				refClass.outer();
+				refClass._extends();
+
+				Iterator<AbstractJClass> interfaces = refClass._implements();
+				while (interfaces.hasNext()) {
+					interfaces.next();
+				}
+			}
+		} while (refClassesMap.size() != refClasses);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> Map<K, V> getModelMap(JCodeModel codeModel, String fieldName) throws IOException {
+		try {
+			return (Map<K, V>) getCodeModelField(fieldName).get(codeModel);
+		} catch (IllegalAccessException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static void setModelMap(JCodeModel codeModel, String fieldName, Map<?, ?> map) throws IOException {
+		try {
+			getCodeModelField(fieldName).set(codeModel, map);
+		} catch (IllegalAccessException e) {
+			throw new IOException(e);
+		}
+	}
+
+	//The maps of JCodeModel are private
+	private static Field getCodeModelField(String fieldName) throws IOException {
+		try {
+			Field field = JCodeModel.class.getDeclaredField(fieldName);
+			field.setAccessible(true);
+			return field;
+		} catch (NoSuchFieldException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static class MemoryCodeWriter extends AbstractCodeWriter {
+
+		private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		MemoryCodeWriter(Charset charset) {
+			super(charset);
+		}
+
+		@Override
+		public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+			return output;
+		}
+
+		@Override
+		public void close() throws IOException {
+		}
+
+		byte[] toByteArray() {
+			return output.toByteArray();
+		}
+	}
+
 }
@@ -59,6 +59,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.dspot.declex.DeclexProcessor;
 import com.dspot.declex.action.Actions;
 import com.dspot.declex.util.FileUtils;
+import com.dspot.declex.util.ProcessorTrace;
 import com.dspot.declex.util.TypeUtils;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.KryoSerializable;
@@ -309,7 +310,7 @@ public class FilesCacheHelper {
 							if (!details.isCacheValid()) {
 								LOGGER.debug("Removing Cached file because its cache is invalid: " + details.className 
 										     + ". This will invalidate all its dependencies");
-								details.invalidate();
+								details.invalidate("cache invalid");
 								
 								//Invalidate all the dependencies so that the class be generated again
 								for (FileDependency dependency : details.dependencies) {
@@ -332,7 +333,7 @@ public class FilesCacheHelper {
 										+ ", dependency : " + dependency 
 										+ (dependency.isAncestor? ". This is an ancestor dependency, all current cached file dependencies will be invalidated." : "")
 									);							
-									details.invalidate();
+									details.invalidate("dependency changed: " + dependency);
 									
 									//If the dependency is an ancestor all the dependencies should be invalidated
 									if (dependency.isAncestor) {
@@ -362,7 +363,7 @@ public class FilesCacheHelper {
 										+ ", dependency : " + dependency 
 										+ ". All current cached file dependencies will be invalidated."
 									);							
-									details2.invalidate();
+									details2.invalidate("dependency removed: " + dependency);
 									details2.dependencies.remove(dependency);		
 									
 									for (FileDependency dependency2 : details2.dependencies) {
@@ -1027,7 +1028,7 @@ public class FilesCacheHelper {
 		
 		//If canBeUpdated and a class is added, then invalidate it
 		if (canBeUpdated) {
-			details.invalidate();			
+			details.invalidate("updatable class added");			
 		}
 		
 		if (dependencies.isEmpty()) {
@@ -1432,6 +1433,11 @@ public class FilesCacheHelper {
 			removeCache();
 		}
 		
+		public void invalidate(String reason) {
+			ProcessorTrace.instant("cache", "invalidate", "class", className, "reason", reason);
+			invalidate();
+		}
+		
 		private void validate(AndroidAnnotationsEnvironment environment) {
 			invalid = false;
 			
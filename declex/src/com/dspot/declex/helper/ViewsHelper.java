@@ -14,6 +14,7 @@ import org.androidannotations.rclass.IRClass.Res;
 
 import com.dspot.declex.util.LayoutsParser;
 import com.dspot.declex.util.LayoutsParser.LayoutObject;
+import com.dspot.declex.util.TypeUtils;
 
 public class ViewsHelper {
 	
@@ -49,7 +50,7 @@ public class ViewsHelper {
 
 				if (matcher.find()) {
 					layoutId = matcher.group(1);
-					layoutObjects = layoutParser.getLayoutObjects(layoutId, annotationHelper);
+					layoutObjects = getLayoutObjects(layoutId);
 				}
 			}
 		}
@@ -65,7 +66,7 @@ public class ViewsHelper {
 
 				if (matcher.find()) {
 					layoutId = matcher.group(1);
-					layoutObjects = layoutParser.getLayoutObjects(layoutId, annotationHelper);
+					layoutObjects = getLayoutObjects(layoutId);
 				}
 			}
 		}
@@ -80,9 +81,12 @@ public class ViewsHelper {
 	}
 	
 	public Map<String, LayoutObject> getLayoutObjects(String layoutId) {
-		if (layoutId.equals(this.layoutId)) return layoutObjects;
+		if (layoutId.equals(this.layoutId) && layoutObjects != null) return layoutObjects;
 		
-		return layoutParser.getLayoutObjects(layoutId, annotationHelper);
+		Map<String, LayoutObject> objects = layoutParser.getLayoutObjects(layoutId, annotationHelper);
+		layoutParser.addLayoutDependency(TypeUtils.getGeneratedClassName(element, environment), objects);
+		
+		return objects;
 	}
 	
 }
@@ -239,11 +239,21 @@ public class LocalDBModelHandler extends BaseTemplateHandler<EComponentHolder> {
 			insertInPutModel(dbModelPut, element, useModelHolder);
 		}
 		
-		JMethod readObjectMethod = useModelHolder.getReadObjectMethod();
-		JMethod writeObjectMethod = useModelHolder.getWriteObjectMethod();
-		writeObjectMethod.body().invoke(ref("oos"), "writeObject").arg(_this().invoke("getId"));
-		readObjectMethod.body().invoke(_this(), "setId")
-		                       .arg(cast(getJClass(Long.class), ref("ois").invoke("readObject")));
+		if (useModelHolder.isParcelable()) {
+			JMethod readFromParcelMethod = useModelHolder.getReadFromParcelMethod();
+			JMethod writeToParcelMethod = useModelHolder.getWriteToParcelMethod();
+			writeToParcelMethod.body().invoke(ref("dest"), "writeValue").arg(_this().invoke("getId"));
+			readFromParcelMethod.body().invoke(_this(), "setId")
+			                           .arg(cast(getJClass(Long.class), ref("in").invoke("readValue").arg(_null())));
+		}
+		
+		if (useModelHolder.isSerializable()) {
+			JMethod readObjectMethod = useModelHolder.getReadObjectMethod();
+			JMethod writeObjectMethod = useModelHolder.getWriteObjectMethod();
+			writeObjectMethod.body().invoke(ref("oos"), "writeObject").arg(_this().invoke("getId"));
+			readObjectMethod.body().invoke(_this(), "setId")
+			                       .arg(cast(getJClass(Long.class), ref("ois").invoke("readObject")));
+		}
 	}
 
 	private void insertInSelectedGetModelList(ExecutableElement dbModelLoaded, Element element,
@@ -15,16 +15,23 @@
  */
 package com.dspot.declex.model;
 
+import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JExpr._this;
 import static com.helger.jcodemodel.JExpr.invoke;
 import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JExpr.ref;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
@@ -46,7 +53,10 @@ import com.dspot.declex.api.eventbus.PutOnEvent;
 import com.dspot.declex.api.eventbus.UpdateOnEvent;
 import com.dspot.declex.api.model.Model;
 import com.dspot.declex.api.model.UseModel;
+import com.dspot.declex.api.util.EventCoalescer;
 import com.dspot.declex.api.util.FormatsUtils;
+import com.dspot.declex.api.util.MainThreadDispatcher;
+import com.dspot.declex.api.util.ModelExecutor;
 import com.dspot.declex.event.holder.ClickHolder;
 import com.dspot.declex.share.holder.ViewsHolder;
 import com.dspot.declex.share.holder.ViewsHolder.WriteInBlockWithResult;
@@ -58,11 +68,14 @@ import com.helger.jcodemodel.AbstractJType;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JConditional;
+import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldRef;
+import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JMod;
+import com.helger.jcodemodel.JVar;
 import com.sun.source.tree.AnnotationTree;
 import com.sun.source.util.TreePath;
 import com.sun.source.util.TreePathScanner;
@@ -72,6 +85,9 @@ public class ModelHandler extends BaseAnnotationHandler<EComponentHolder> {
 		
 	private static final Logger LOGGER = LoggerFactory.getLogger(ModelHandler.class);
 	
+	private static final Pattern FORMAT_SYNTAX = Pattern.compile(FormatsUtils.FORMAT_SYNTAX_REGX);
+	private static final Pattern REFERENCED_NAME = Pattern.compile("^\\s*(?:this\\s*\\.\\s*)?([a-zA-Z_$][a-zA-Z_$0-9]*)");
+	
 	public ModelHandler(AndroidAnnotationsEnvironment environment) {
 		super(Model.class, environment);		
 	}
@@ -117,6 +133,16 @@ public class ModelHandler extends BaseAnnotationHandler<EComponentHolder> {
 			}
 		}
 		
+		if (element.getAnnotation(Model.class).prefetch()) {
+			if (!element.getAnnotation(Model.class).lazy()) {
+				valid.addError("Only lazy @Models can be prefetched (lazy = true)");
+			}
+			
+			if (element.getModifiers().contains(Modifier.STATIC)) {
+				valid.addError("Static @Models cannot be prefetched");
+			}
+		}
+		
 		String[] fields = element.getAnnotation(Model.class).fields();
 		if (fields.length > 0) {
 			for (String field : fields) {
@@ -154,7 +180,8 @@ public class ModelHandler extends BaseAnnotationHandler<EComponentHolder> {
 				return;
 			}
 			
-			block = EventUtils.getEventMethod(eventClass, element.getEnclosingElement(), viewsHolder, getEnvironment()).body();
+			JMethod loadOnEventMethod = EventUtils.getEventMethod(eventClass, element.getEnclosingElement(), viewsHolder, getEnvironment());
+			block = getEventBlock(loadOnEventMethod, element, "load", loadOnEvent.debounce(), loadOnEvent.minInterval(), holder, modelHolder);
 		} else {
 			block = holder.getInitBodyInjectionBlock();
 			
@@ -201,18 +228,46 @@ public class ModelHandler extends BaseAnnotationHandler<EComponentHolder> {
 				
 				JFieldRef field = ref(element.getSimpleName().toString());
 				
+				//The loaded flag is written once the model is initialized, so the getter can read it 
+				//without locking, and concurrent callers wait for the load in progress
+				JFieldVar loaded = holder.getGeneratedClass().field(
+						JMod.PRIVATE | JMod.VOLATILE | (isStatic ? JMod.STATIC : 0), 
+						getCodeModel().BOOLEAN, "_loaded_" + element.getSimpleName().toString()
+					);
+				
+				//Each lazy model has its own lock, so a slow load doesn't block the getters of the 
+				//other models, nor the user code synchronized on the component
+				JFieldVar lock = holder.getGeneratedClass().field(
+						JMod.PRIVATE | JMod.FINAL | (isStatic ? JMod.STATIC : 0), 
+						getClasses().OBJECT, "_lock_" + element.getSimpleName().toString(), 
+						_new(getClasses().OBJECT)
+					);
+				
 				//In the init(), set the field to null
 				if (element.getEnclosingElement().getAnnotation(UseModel.class) != null) { 
-					block._if(useModelHolder.getFullInitVar())._then().assign(field, _null());
+					JBlock fullInitBlock = block._if(useModelHolder.getFullInitVar())._then();
+					fullInitBlock.assign(field, _null());
+					fullInitBlock.assign(loaded, JExpr.FALSE);
 				} else {
 					if (element.getAnnotation(Extra.class)==null && element.getAnnotation(FragmentArg.class)==null) {
 						block.assign(field, _null());
+						block.assign(loaded, JExpr.FALSE);
 					}	
 				}
-								
-				block = getter.body()._if(field.eq(_null()))._then();
+				
+				IJExpression notLoaded = loaded.not().cor(field.eq(_null()));
+				JBlock loadBlock = getter.body()._if(notLoaded)._then()
+						                 .synchronizedBlock(lock)
+						                 .body()._if(notLoaded)._then();
+				
+				block = loadBlock.block();
+				loadBlock.assign(loaded, JExpr.TRUE);
 				
 				getter.body()._return(field);
+				
+				if (element.getAnnotation(Model.class).prefetch() && !isStatic) {
+					generatePrefetchInInit(element, getter, holder, modelHolder);
+				}
 			} else {
 				checkNull = true;
 			}
@@ -230,6 +285,20 @@ public class ModelHandler extends BaseAnnotationHandler<EComponentHolder> {
 				generateGetModelCallInBlock(block, false, element, modelHolder, useModelHolder, true);	
 			}
 			
+		} else if (checkNull && isLoadedAsyncInInit(element)) {
+			
+			Element dependency = getModelDependency(element);
+			if (dependency != null) {
+				//It is loaded once the @Model referenced in its expressions is loaded
+				generateGetModelCallInBlock(modelHolder.getAfterLoadModelBlock(dependency), false, element, modelHolder);
+			} else if (!hasFormattedExpressions(element.getAnnotation(Model.class))
+					   && element.getAnnotation(Extra.class) == null && element.getAnnotation(FragmentArg.class) == null) {
+				//Independent loads are started before any other model is loaded, so they run concurrently
+				generateGetModelCallInBlock(modelHolder.getLoadFanOutBlock(), checkNull, element, modelHolder);
+			} else {
+				generateGetModelCallInBlock(block, checkNull, element, modelHolder);
+			}
+			
 		} else {
 			 generateGetModelCallInBlock(block, checkNull, element, modelHolder);
 		}
@@ -287,12 +356,143 @@ public class ModelHandler extends BaseAnnotationHandler<EComponentHolder> {
 			}
 			
 			JMethod eventOnUpdateMethod = EventUtils.getEventMethod(eventClass, element.getEnclosingElement(), viewsHolder, getEnvironment());
-			block = eventOnUpdateMethod.body();
+			block = getEventBlock(eventOnUpdateMethod, element, "update", updateOnEvent.debounce(), updateOnEvent.minInterval(), holder, modelHolder);
 			
 			generateGetModelCallInBlock(block, false, element, modelHolder);				
 		}
 	}
 	
+	/**
+	 * Returns the block where the model is reloaded when the event is received. If the events are
+	 * coalesced, the block is executed through an EventCoalescer cancelled when the component is destroyed
+	 */
+	private JBlock getEventBlock(JMethod eventMethod, Element element, String operation, long debounce, long minInterval, 
+			EComponentHolder holder, ModelHolder modelHolder) {
+		
+		if ((debounce <= 0 && minInterval <= 0) || element.getModifiers().contains(Modifier.STATIC)) {
+			return eventMethod.body();
+		}
+		
+		JDefinedClass ReloadRunnable = getCodeModel().anonymousClass(Runnable.class);
+		JMethod run = ReloadRunnable.method(JMod.PUBLIC, getCodeModel().VOID, "run");
+		run.annotate(Override.class);
+		
+		AbstractJClass EventCoalescer = getJClass(EventCoalescer.class);
+		JFieldVar coalescer = holder.getGeneratedClass().field(
+				JMod.PRIVATE | JMod.FINAL, EventCoalescer, "_coalesce_" + operation + "_" + element.getSimpleName().toString(),
+				_new(EventCoalescer).arg(lit(debounce)).arg(lit(minInterval)).arg(_new(ReloadRunnable))
+			);
+		eventMethod.body().invoke(coalescer, "onEvent");
+		
+		JBlock onDestroyBlock = modelHolder.getOnDestroyBlock();
+		if (onDestroyBlock != null) {
+			onDestroyBlock.invoke(coalescer, "cancel");
+		}
+		
+		return run.body();
+	}
+	
+	/**
+	 * Calls the lazy getter in background once the component is initialized, the task is
+	 * submitted when the main thread is idle so the first frame is drawn before
+	 */
+	private void generatePrefetchInInit(Element element, JMethod getter, EComponentHolder holder, ModelHolder modelHolder) {
+		final String fieldName = element.getSimpleName().toString();
+		AbstractJClass ModelExecutor = getJClass(ModelExecutor.class);
+		
+		JDefinedClass PrefetchTask = getCodeModel().anonymousClass(getJClass(ModelExecutor.Task.class));
+		JMethod execute = PrefetchTask.method(JMod.PUBLIC, getCodeModel().VOID, "execute");
+		execute.annotate(Override.class);
+		execute.body().invoke(holder.getGeneratedClass().staticRef("this"), getter);
+		
+		JFieldVar prefetchTask = holder.getGeneratedClass().field(
+				JMod.PRIVATE, getJClass(ModelExecutor.Task.class), "_prefetch_" + fieldName
+			);
+		
+		JBlock block = holder.getInitBodyInjectionBlock();
+		JVar task = block.decl(
+				JMod.FINAL, getJClass(ModelExecutor.Task.class), "prefetchTask", 
+				_new(PrefetchTask).arg(holder.getGeneratedClass().staticRef("this"))
+				                  .arg(lit(modelHolder.getTaskSerial(element)))
+				                  .arg(ModelExecutor.staticRef("PRIORITY_PREFETCH"))
+			);
+		block.assign(prefetchTask, task);
+		
+		JDefinedClass PrefetchRunnable = getCodeModel().anonymousClass(Runnable.class);
+		JMethod run = PrefetchRunnable.method(JMod.PUBLIC, getCodeModel().VOID, "run");
+		run.annotate(Override.class);
+		run.body().staticInvoke(ModelExecutor, "execute").arg(task);
+		
+		block.add(getJClass(MainThreadDispatcher.class).staticInvoke("runWhenIdle").arg(_new(PrefetchRunnable)));
+		
+		//The prefetch is cancelled even if it was not submitted yet
+		JBlock onDestroyBlock = modelHolder.getOnDestroyBlock();
+		if (onDestroyBlock != null) {
+			onDestroyBlock._if(prefetchTask.ne(_null()))._then().invoke(prefetchTask, "cancel");
+			modelHolder.cancelTasksOnDestroy();
+		}
+	}
+	
+	private boolean isLoadedAsyncInInit(Element element) {
+		Model model = element.getAnnotation(Model.class);
+		return model != null && model.async() && !model.lazy() 
+			   && !element.getModifiers().contains(Modifier.STATIC)
+			   && element.getAnnotation(LoadOnEvent.class) == null;
+	}
+	
+	private boolean hasFormattedExpressions(Model model) {
+		for (String value : getExpressionValues(model)) {
+			if (FORMAT_SYNTAX.matcher(value).find()) return true;
+		}
+		return false;
+	}
+	
+	private List<String> getExpressionValues(Model model) {
+		List<String> values = new ArrayList<>(Arrays.asList(model.fields()));
+		values.add(model.query());
+		values.add(model.orderBy());
+		return values;
+	}
+	
+	/**
+	 * Returns the asynchronous @Model of the same component referenced in the expressions
+	 * of this @Model, or null if there's none or the references are circular
+	 */
+	private Element getModelDependency(Element element) {
+		Set<Element> visited = new HashSet<>();
+		visited.add(element);
+		
+		Element dependency = getReferencedModel(element);
+		Element current = dependency;
+		while (current != null) {
+			if (!visited.add(current)) return null;
+			current = getReferencedModel(current);
+		}
+		
+		return dependency;
+	}
+	
+	private Element getReferencedModel(Element element) {
+		Set<String> names = new HashSet<>();
+		for (String value : getExpressionValues(element.getAnnotation(Model.class))) {
+			Matcher matcher = FORMAT_SYNTAX.matcher(value);
+			while (matcher.find()) {
+				Matcher nameMatcher = REFERENCED_NAME.matcher(matcher.group(1));
+				if (nameMatcher.find()) names.add(nameMatcher.group(1));
+			}
+		}
+		
+		for (Element elem : element.getEnclosingElement().getEnclosedElements()) {
+			if (elem.getKind() != ElementKind.FIELD || elem.equals(element)) continue;
+			
+			if (names.contains(elem.getSimpleName().toString()) && isLoadedAsyncInInit(elem)) {
+				return elem;
+			}
+		}
+		
+		return null;
+	}
+	
 	private void generateGetModelCallInBlock(JBlock block, boolean checkNull, Element element, ModelHolder holder) {
 		this.generateGetModelCallInBlock(block, checkNull, element, holder, null, false);
 	}
@@ -17,6 +17,7 @@ package com.dspot.declex.model;
 
 import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._null;
+import static com.helger.jcodemodel.JExpr._this;
 import static com.helger.jcodemodel.JExpr.cast;
 import static com.helger.jcodemodel.JExpr.cond;
 import static com.helger.jcodemodel.JExpr.dotclass;
@@ -24,6 +25,7 @@ import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JExpr.ref;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,17 +38,20 @@ import java.util.regex.Pattern;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
 
-import org.androidannotations.api.BackgroundExecutor;
 import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.helper.ModelConstants;
 import org.androidannotations.holder.BaseGeneratedClassHolder;
 import org.androidannotations.holder.EComponentHolder;
+import org.androidannotations.holder.HasLifecycleMethods;
 import org.androidannotations.internal.process.ProcessHolder;
 import org.androidannotations.plugin.PluginClassHolder;
 
 import com.dspot.declex.api.action.runnable.OnFailedRunnable;
 import com.dspot.declex.api.model.Model;
+import com.dspot.declex.api.util.ModelExecutor;
 import com.dspot.declex.helper.FilesCacheHelper;
 import com.dspot.declex.util.TypeUtils;
 import com.dspot.declex.util.TypeUtils.ClassInformation;
@@ -77,6 +82,9 @@ public class ModelHolder extends PluginClassHolder<EComponentHolder> {
 	private Map<Element, PutModelRecord> putModelMethods = new HashMap<>();
 	private Map<Element, LoadModelRecord> loadModelMethods = new HashMap<>();
 	
+	private boolean cancelTasksOnDestroy;
+	private JBlock loadFanOutBlock;
+	
 	final AbstractJClass STRING;
 	final AbstractJClass LIST;
 	final AbstractJClass CONTEXT;
@@ -130,6 +138,23 @@ public class ModelHolder extends PluginClassHolder<EComponentHolder> {
 		return useModelHolder.getPutModelMethod().name();
 	}
 	
+	/**
+	 * Block of the initialization where the independent asynchronous loads are started,
+	 * before any other @Model is loaded. It is inserted at the start of the initialization,
+	 * even if some synchronous @Model was already injected
+	 */
+	public JBlock getLoadFanOutBlock() {
+		if (loadFanOutBlock == null) {
+			JBlock initBlock = holder().getInitBodyInjectionBlock();
+			
+			int pos = initBlock.pos(0);
+			loadFanOutBlock = initBlock.block();
+			initBlock.pos(pos + 1);
+		}
+		
+		return loadFanOutBlock;
+	}
+	
 	public JMethod getLoadModelMethod(Element element) {
 		LoadModelRecord loadModelRecord = loadModelMethods.get(element);
 		if (loadModelRecord == null) {
@@ -260,16 +285,20 @@ public class ModelHolder extends PluginClassHolder<EComponentHolder> {
 		
 		JTryBlock tryBlock;
 		if (modelAnnotation.async()) {
-			//Use the BackgroundExecutor for asynchronous calls
-			JDefinedClass anonymousTaskClass = getCodeModel().anonymousClass(BackgroundExecutor.Task.class);
+			//Use the ModelExecutor for asynchronous calls, the loads are serialized with the puts of the same field
+			JDefinedClass anonymousTaskClass = getCodeModel().anonymousClass(getJClass(ModelExecutor.Task.class));
 
 			JMethod executeMethod = anonymousTaskClass.method(JMod.PUBLIC, getCodeModel().VOID, "execute");
 			executeMethod.annotate(Override.class);
 
-			AbstractJClass backgroundExecutorClass = getJClass(BackgroundExecutor.class);
-			JInvocation newTask = _new(anonymousTaskClass).arg(lit("")).arg(lit(0)).arg(lit(""));
-			JInvocation executeCall = backgroundExecutorClass.staticInvoke("execute").arg(newTask);
-			block.add(executeCall);
+			AbstractJClass ModelExecutor = getJClass(ModelExecutor.class);
+			JInvocation newTask = _new(anonymousTaskClass)
+					.arg(isStatic ? _null() : getGeneratedClass().staticRef("this"))
+					.arg(lit(getTaskSerial(element)))
+					.arg(ModelExecutor.staticRef("PRIORITY_LOAD"));
+			block.add(ModelExecutor.staticInvoke("execute").arg(newTask));
+			
+			if (!isStatic) cancelTasksOnDestroy();
 
 			tryBlock = executeMethod.body()._try();
 		} else {
@@ -279,6 +308,11 @@ public class ModelHolder extends PluginClassHolder<EComponentHolder> {
 		if (isList) tryBlock.body().decl(LIST.narrow(ModelClass), fieldName + "Local");
 		
 		assign = tryBlock.body().assign(beanField, getModel);
+		
+		//The component was destroyed while the model was loading
+		if (modelAnnotation.async()) {
+			tryBlock.body()._if(_this().invoke("isCancelled"))._then()._return();
+		}
 		JCatchBlock catchBlock = tryBlock._catch(THROWABLE);
 		JVar caughtException = catchBlock.param("e");
 		IJStatement uncaughtExceptionCall = THREAD 
@@ -306,12 +340,19 @@ public class ModelHolder extends PluginClassHolder<EComponentHolder> {
 			}
 			
 			JFieldRef view = ref(fieldName);
-			JConditional ifCond = assign._if(view.eq(_null()));
-			ifCond._then().assign(view, _new(getJClass(LinkedList.class)));
-			
-			JSynchronizedBlock syncBlock = tryBlock.body().synchronizedBlock(ref(fieldName));
-			syncBlock.body().invoke(view, "clear");
-			syncBlock.body().invoke(view, "addAll").arg(assignField);
+			if (isSnapshotList(element)) {
+				//The models are published in a new list, so the readers of the field 
+				//never block nor see the list partially filled
+				AbstractJClass ArrayList = getJClass(ArrayList.class).narrow(getJClass(converted == null ? className : converted));
+				tryBlock.body().assign(view, _new(ArrayList).arg(assignField));
+			} else {
+				JConditional ifCond = assign._if(view.eq(_null()));
+				ifCond._then().assign(view, _new(getJClass(LinkedList.class)));
+				
+				JSynchronizedBlock syncBlock = tryBlock.body().synchronizedBlock(ref(fieldName));
+				syncBlock.body().invoke(view, "clear");
+				syncBlock.body().invoke(view, "addAll").arg(assignField);
+			}
 						
 		} else {
 			assign.invoke(converted == null ? beanField : cast(ModelClass, beanField), useModelModelInitMethod(useModelHolder))
@@ -433,28 +474,36 @@ public class ModelHolder extends PluginClassHolder<EComponentHolder> {
 		
 		ifNotPut._return();
 		
-		//Use the BackgroundExecutor for asynchronous calls
+		//Use the ModelExecutor for asynchronous calls
 		if (modelAnnotation != null) {
 			JTryBlock tryBlock;
 			if (modelAnnotation.asyncPut()) {
-				JDefinedClass anonymousTaskClass = getCodeModel().anonymousClass(BackgroundExecutor.Task.class);
+				JDefinedClass anonymousTaskClass = getCodeModel().anonymousClass(getJClass(ModelExecutor.Task.class));
 
 				JMethod executeMethod = anonymousTaskClass.method(JMod.PUBLIC, getCodeModel().VOID, "execute");
 				executeMethod.annotate(Override.class);
 				
 				tryBlock = executeMethod.body()._try();
 				
-				AbstractJClass backgroundExecutorClass = getJClass(BackgroundExecutor.class);
-				JInvocation newTask = _new(anonymousTaskClass).arg(lit("")).arg(lit(0)).arg(lit(""));
-				JInvocation executeCall = backgroundExecutorClass.staticInvoke("execute").arg(newTask);
-				block.add(executeCall);
+				AbstractJClass ModelExecutor = getJClass(ModelExecutor.class);
+				JInvocation newTask = _new(anonymousTaskClass)
+						.arg(element.getModifiers().contains(Modifier.STATIC) ? _null() : getGeneratedClass().staticRef("this"))
+						.arg(lit(getTaskSerial(element)))
+						.arg(ModelExecutor.staticRef("PRIORITY_PUT"));
+				block.add(ModelExecutor.staticInvoke("execute").arg(newTask));
 			} else {
 				tryBlock = block._try();
 			}
 			
 			if (isList) {
-				JSynchronizedBlock syncBlock = tryBlock.body().synchronizedBlock(ref(fieldName));
-				JBlock forEachBlock = syncBlock.body().forEach((converted == null ? ModelClass : getJClass(converted)), fieldName + "Local", ref(fieldName)).body();				
+				JBlock listBlock = tryBlock.body();
+				
+				//The loads don't modify the published lists, so they can be iterated without locking them
+				if (!isSnapshotList(element)) {
+					listBlock = listBlock.synchronizedBlock(ref(fieldName)).body();
+				}
+				
+				JBlock forEachBlock = listBlock.forEach((converted == null ? ModelClass : getJClass(converted)), fieldName + "Local", ref(fieldName)).body();				
 				forEachBlock.add(putModel);
 			} else {
 				tryBlock.body().add(putModel);
@@ -482,6 +531,52 @@ public class ModelHolder extends PluginClassHolder<EComponentHolder> {
 		return putModelRecord;
 	}
 
+	/**
+	 * Fields declared as {@link List} are replaced by a new list on each load, other list 
+	 * types keep their instance and they are filled while it is locked
+	 */
+	private boolean isSnapshotList(Element element) {
+		TypeMirror erasure = environment().getProcessingEnvironment().getTypeUtils().erasure(element.asType());
+		return erasure.toString().equals(CanonicalNameConstants.LIST);
+	}
+	
+	/**
+	 * Cancels the asynchronous loads of the component when it is destroyed, the puts
+	 * are always completed
+	 */
+	void cancelTasksOnDestroy() {
+		if (cancelTasksOnDestroy) return;
+		cancelTasksOnDestroy = true;
+		
+		JBlock onDestroyBlock = getOnDestroyBlock();
+		if (onDestroyBlock != null) {
+			onDestroyBlock.staticInvoke(getJClass(ModelExecutor.class), "cancelAll").arg(_this());
+		}
+	}
+	
+	/**
+	 * Returns the onDestroy block of the components with lifecycle (Activities and Fragments), 
+	 * the other components (ex. Beans) return null
+	 */
+	JBlock getOnDestroyBlock() {
+		if (holder() instanceof HasLifecycleMethods) {
+			return ((HasLifecycleMethods) holder()).getOnDestroy();
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * The tasks of the same field are serialized. The static fields have no owner, 
+	 * so their serial includes the declaring class
+	 */
+	String getTaskSerial(Element element) {
+		final String fieldName = element.getSimpleName().toString();
+		if (!element.getModifiers().contains(Modifier.STATIC)) return fieldName;
+		
+		return ((TypeElement) element.getEnclosingElement()).getQualifiedName() + "." + fieldName;
+	}
+
 	public IJExpression getContextRef() {
 		return holder().getContextRef();
 	}	
@@ -17,23 +17,32 @@ package com.dspot.declex.model;
 
 import static com.dspot.declex.api.util.FormatsUtils.fieldToGetter;
 import static com.dspot.declex.api.util.FormatsUtils.fieldToSetter;
+import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._this;
+import static com.helger.jcodemodel.JExpr.dotclass;
 import static com.helger.jcodemodel.JExpr.ref;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.ElementValidation;
@@ -49,12 +58,19 @@ import com.dspot.declex.api.model.Model;
 import com.dspot.declex.api.model.UseModel;
 import com.dspot.declex.api.runwith.RunWith;
 import com.dspot.declex.api.server.ServerModel;
+import com.dspot.declex.api.util.CastUtility;
+import com.dspot.declex.api.util.annotation.CopyIgnore;
+import com.dspot.declex.api.util.annotation.CopyName;
 import com.dspot.declex.helper.FilesCacheHelper;
 import com.dspot.declex.util.TypeUtils;
 import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
+import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JMod;
+import com.helger.jcodemodel.JVar;
 
 public class UseModelHandler extends BaseAnnotationHandler<BaseGeneratedClassHolder> {
 
@@ -148,12 +164,20 @@ public class UseModelHandler extends BaseAnnotationHandler<BaseGeneratedClassHol
 			LOGGER.warn("\nFields: " + fields + "\nMethods: " + methods, element, useModel);
 		
 		generateGetterAndSetters(holder, fields, methods);
+		generateCopiers(holder, (TypeElement) element);
 		
 		UseModelHolder useModelHolder = holder.getPluginHolder(new UseModelHolder(holder));
 		useModelHolder.getConstructorMethod();
 		
-		useModelHolder.getWriteObjectMethod();
-		useModelHolder.getReadObjectMethod();
+		if (useModelHolder.isParcelable()) {
+			useModelHolder.getWriteToParcelMethod();
+			useModelHolder.getReadFromParcelMethod();
+		}
+		
+		if (useModel.serializable()) {
+			useModelHolder.getWriteObjectMethod();
+			useModelHolder.getReadObjectMethod();
+		}
 		
 		//This avoids cross references if Cache Files is enabled
 		if (FilesCacheHelper.isCacheFilesEnabled()) {
@@ -163,6 +187,176 @@ public class UseModelHandler extends BaseAnnotationHandler<BaseGeneratedClassHol
 		}
 	}
 	
+	/**
+	 * Generates a copier for each class in "copyFrom" and "copyTo", the copiers are registered 
+	 * in CastUtility when the generated class is loaded
+	 */
+	private void generateCopiers(BaseGeneratedClassHolder holder, TypeElement element) {
+		List<DeclaredType> copyFrom = annotationHelper.extractAnnotationClassArrayParameter(element, getTarget(), "copyFrom");
+		if (copyFrom != null) {
+			for (DeclaredType fromType : copyFrom) {
+				generateCopier(holder, (TypeElement) fromType.asElement(), element, true);
+			}
+		}
+		
+		List<DeclaredType> copyTo = annotationHelper.extractAnnotationClassArrayParameter(element, getTarget(), "copyTo");
+		if (copyTo != null) {
+			for (DeclaredType toType : copyTo) {
+				generateCopier(holder, element, (TypeElement) toType.asElement(), false);
+			}
+		}
+	}
+	
+	private void generateCopier(BaseGeneratedClassHolder holder, TypeElement fromElement, TypeElement toElement, boolean copyToModel) {
+		final String generatedPackage = holder.getGeneratedClass()._package().name();
+		
+		final AbstractJClass CastUtility = getJClass(CastUtility.class);
+		final AbstractJClass FromClass = getJClass(fromElement.getQualifiedName().toString());
+		final AbstractJClass ToClass = getJClass(toElement.getQualifiedName().toString());
+		final AbstractJClass Copier = getJClass(CastUtility.Copier.class).narrow(FromClass, ToClass);
+		
+		JDefinedClass copierClass = getCodeModel().anonymousClass(Copier);
+		JMethod copyMethod = copierClass.method(JMod.PUBLIC, getCodeModel().VOID, "copy");
+		copyMethod.annotate(Override.class);
+		JVar from = copyMethod.param(FromClass, "from");
+		JVar to = copyMethod.param(ToClass, "to");
+		
+		//The fields are matched as in CastUtility.copy
+		Map<String, VariableElement> fromFields = getCopyFields(fromElement);
+		Map<String, VariableElement> toFields = getCopyFields(toElement);
+		
+		for (Entry<String, VariableElement> fromEntry : fromFields.entrySet()) {
+			final VariableElement fromField = fromEntry.getValue();
+			final VariableElement toField = toFields.get(fromEntry.getKey());
+			if (toField == null) continue;
+			
+			final String fromFieldName = fromField.getSimpleName().toString();
+			final String toFieldName = toField.getSimpleName().toString();
+			
+			if (getProcessingEnvironment().getTypeUtils().isSameType(fromField.asType(), toField.asType())) {
+				
+				IJExpression value = null;
+				if (isAccessible(fromField, generatedPackage)) {
+					value = from.ref(fromFieldName);
+				} else {
+					ExecutableElement getter = getAccessor(fromElement, fieldToGetter(fromFieldName), fromField.asType(), true, generatedPackage);
+					if (getter == null && fromField.asType().getKind() == TypeKind.BOOLEAN) {
+						getter = getAccessor(fromElement, "is" + fieldToGetter(fromFieldName).substring(3), fromField.asType(), true, generatedPackage);
+					}
+					if (getter != null) value = from.invoke(getter.getSimpleName().toString());
+				}
+				
+				if (value != null) {
+					if (isAccessible(toField, generatedPackage)) {
+						copyMethod.body().assign(to.ref(toFieldName), value);
+						continue;
+					}
+					
+					ExecutableElement setter = getAccessor(toElement, fieldToSetter(toFieldName), toField.asType(), false, generatedPackage);
+					if (setter != null) {
+						copyMethod.body().invoke(to, setter.getSimpleName().toString()).arg(value);
+						continue;
+					}
+				}
+			}
+			
+			//Fields which cannot be accessed, or which should be converted, are copied through reflection.
+			//The names are built from the fields, the CopyName could be an invalid identifier
+			JFieldVar fromReflectionField = copierClass.field(
+					JMod.PRIVATE | JMod.FINAL, getJClass(Field.class), copierFieldName(copierClass, fromFieldName + "$from"), 
+					CastUtility.staticInvoke("getCopyField")
+					           .arg(dotclass(getJClass(((TypeElement) fromField.getEnclosingElement()).getQualifiedName().toString())))
+					           .arg(fromFieldName)
+				);
+			JFieldVar toReflectionField = copierClass.field(
+					JMod.PRIVATE | JMod.FINAL, getJClass(Field.class), copierFieldName(copierClass, toFieldName + "$to"), 
+					CastUtility.staticInvoke("getCopyField")
+					           .arg(dotclass(getJClass(((TypeElement) toField.getEnclosingElement()).getQualifiedName().toString())))
+					           .arg(toFieldName)
+				);
+			
+			copyMethod.body().staticInvoke(CastUtility, "copyField")
+			                 .arg(fromReflectionField).arg(from).arg(toReflectionField).arg(to);
+		}
+		
+		JBlock registerBlock = holder.getGeneratedClass().init().block();
+		JVar copier = registerBlock.decl(Copier, "copier", _new(copierClass));
+		registerBlock.staticInvoke(CastUtility, "registerCopier")
+		             .arg(dotclass(FromClass)).arg(dotclass(ToClass)).arg(copier);
+		
+		//The instances of the generated class use the same copier
+		registerBlock.staticInvoke(CastUtility, "registerCopier")
+		             .arg(dotclass(copyToModel ? FromClass : holder.getGeneratedClass()))
+		             .arg(dotclass(copyToModel ? holder.getGeneratedClass() : ToClass))
+		             .arg(copier);
+	}
+	
+	/**
+	 * A field hidden in a superclass can have the same name than another copied field
+	 */
+	private String copierFieldName(JDefinedClass copierClass, String name) {
+		String fieldName = name;
+		int index = 1;
+		while (copierClass.fields().containsKey(fieldName)) {
+			fieldName = name + index++;
+		}
+		return fieldName;
+	}
+	
+	private Map<String, VariableElement> getCopyFields(TypeElement element) {
+		Map<String, VariableElement> fields = new TreeMap<>();
+		
+		while (element != null && !element.getQualifiedName().toString().equals(Object.class.getCanonicalName())) {
+			for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+				Set<Modifier> modifiers = field.getModifiers();
+				if (modifiers.contains(Modifier.TRANSIENT) || modifiers.contains(Modifier.STATIC) 
+					|| modifiers.contains(Modifier.FINAL) || field.getAnnotation(CopyIgnore.class) != null) continue;
+				
+				CopyName copyName = field.getAnnotation(CopyName.class);
+				final String name = copyName != null ? copyName.value() : field.getSimpleName().toString();
+				if (!fields.containsKey(name)) {
+					fields.put(name, field);
+				}
+			}
+			
+			TypeMirror superType = element.getSuperclass();
+			if (superType.getKind() != TypeKind.DECLARED) break;
+			element = (TypeElement) ((DeclaredType) superType).asElement();
+		}
+		
+		return fields;
+	}
+	
+	private ExecutableElement getAccessor(TypeElement element, String name, TypeMirror type, boolean isGetter, String generatedPackage) {
+		List<? extends Element> members = getProcessingEnvironment().getElementUtils().getAllMembers(element);
+		for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+			if (!method.getSimpleName().toString().equals(name)) continue;
+			if (method.getModifiers().contains(Modifier.STATIC) || !isAccessible(method, generatedPackage)) continue;
+			
+			if (isGetter) {
+				if (method.getParameters().isEmpty() 
+					&& getProcessingEnvironment().getTypeUtils().isSameType(method.getReturnType(), type)) {
+					return method;
+				}
+			} else if (method.getParameters().size() == 1
+					   && getProcessingEnvironment().getTypeUtils().isSameType(method.getParameters().get(0).asType(), type)) {
+				return method;
+			}
+		}
+		
+		return null;
+	}
+	
+	private boolean isAccessible(Element member, String generatedPackage) {
+		if (member.getModifiers().contains(Modifier.PRIVATE)) return false;
+		
+		final String memberPackage = getProcessingEnvironment().getElementUtils().getPackageOf(member).getQualifiedName().toString();
+		if (memberPackage.equals(generatedPackage)) return true;
+		
+		return member.getModifiers().contains(Modifier.PUBLIC) 
+			   && member.getEnclosingElement().getModifiers().contains(Modifier.PUBLIC);
+	}
+	
 	private void generateGetterAndSetters(BaseGeneratedClassHolder holder, Map<String, String> fields, Map<String, String> methods) {
 		//Generate getter and setters 
 		for (String elemName : fields.keySet()) {
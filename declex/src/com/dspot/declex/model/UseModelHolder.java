@@ -19,6 +19,7 @@ import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr.cast;
 import static com.helger.jcodemodel.JExpr.dotclass;
 import static com.helger.jcodemodel.JExpr.lit;
+import static com.helger.jcodemodel.JExpr.newArray;
 import static com.helger.jcodemodel.JExpr.ref;
 
 import java.io.IOException;
@@ -27,6 +28,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,8 +40,11 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
+import org.androidannotations.helper.ModelConstants;
 import org.androidannotations.holder.BaseGeneratedClassHolder;
 import org.androidannotations.holder.EBeanHolder;
 import org.androidannotations.plugin.PluginClassHolder;
@@ -52,22 +57,32 @@ import com.dspot.declex.api.runwith.RunWith;
 import com.dspot.declex.api.server.ServerModel;
 import com.dspot.declex.util.TypeUtils;
 import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JDefinedClass;
 import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldRef;
 import com.helger.jcodemodel.JFieldVar;
+import com.helger.jcodemodel.JForEach;
 import com.helger.jcodemodel.JForLoop;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JMod;
+import com.helger.jcodemodel.JOp;
 import com.helger.jcodemodel.JVar;
 
 public class UseModelHolder extends PluginClassHolder<BaseGeneratedClassHolder> {
 
+	private static final String PARCEL = "android.os.Parcel";
+	private static final String PARCELABLE = "android.os.Parcelable";
+	
 	private JMethod writeObjectMethod;
 	private JMethod readObjectMethod;
 	
+	private JMethod writeToParcelMethod;
+	private JMethod readFromParcelMethod;
+	
 	private Map<String, String> fields;
+	private Map<String, TypeMirror> declaredTypes;
 	
 	private JMethod getModelMethod;
 	private JBlock getModelInitBlock;
@@ -167,6 +182,41 @@ public class UseModelHolder extends PluginClassHolder<BaseGeneratedClassHolder>
 		return readObjectMethod;
 	}
 	
+	/**
+	 * Method which writes the fields of the model in the Parcel "dest"
+	 */
+	public JMethod getWriteToParcelMethod() {
+		if (writeToParcelMethod == null) {
+			setParcelable();
+		}
+		return writeToParcelMethod;
+	}
+	
+	/**
+	 * Method which reads the fields of the model from the Parcel "in", in the same order they were written
+	 */
+	public JMethod getReadFromParcelMethod() {
+		if (readFromParcelMethod == null) {
+			setParcelable();
+		}
+		return readFromParcelMethod;
+	}
+	
+	/**
+	 * The Parcelable implementation is not generated if the model already implements it
+	 */
+	public boolean isParcelable() {
+		UseModel useModel = getAnnotatedElement().getAnnotation(UseModel.class);
+		if (useModel != null && !useModel.parcelable()) return false;
+		
+		return !implementsParcelable(getAnnotatedElement(), environment().getProcessingEnvironment());
+	}
+	
+	public boolean isSerializable() {
+		UseModel useModel = getAnnotatedElement().getAnnotation(UseModel.class);
+		return useModel != null && useModel.serializable();
+	}
+	
 	public Map<String, String> getFields() {
 		if (fields == null) {
 			getFieldsAndMethods(getAnnotatedElement());
@@ -226,9 +276,216 @@ public class UseModelHolder extends PluginClassHolder<BaseGeneratedClassHolder>
 		}
 	}
 	
+	private void setParcelable() {
+		
+		final AbstractJClass Parcel = getJClass(PARCEL);
+		final AbstractJClass Creator = getJClass(PARCELABLE + ".Creator").narrow(getGeneratedClass());
+		
+		getGeneratedClass()._implements(getJClass(PARCELABLE));
+		
+		JMethod describeContents = getGeneratedClass().method(JMod.PUBLIC, getCodeModel().INT, "describeContents");
+		describeContents.annotate(Override.class);
+		describeContents.body()._return(lit(0));
+		
+		writeToParcelMethod = getGeneratedClass().method(JMod.PUBLIC, getCodeModel().VOID, "writeToParcel");
+		writeToParcelMethod.annotate(Override.class);
+		JVar dest = writeToParcelMethod.param(Parcel, "dest");
+		JVar flags = writeToParcelMethod.param(getCodeModel().INT, "flags");
+		
+		readFromParcelMethod = getGeneratedClass().method(JMod.PRIVATE, getCodeModel().VOID, "readFromParcel_");
+		readFromParcelMethod.annotate(SuppressWarnings.class).param("value", "unchecked");
+		JVar in = readFromParcelMethod.param(Parcel, "in");
+		
+		JDefinedClass AnonymousCreator = getCodeModel().anonymousClass(Creator);
+		JMethod createFromParcel = AnonymousCreator.method(JMod.PUBLIC, getGeneratedClass(), "createFromParcel");
+		createFromParcel.annotate(Override.class);
+		JVar source = createFromParcel.param(Parcel, "in");
+		JVar model = createFromParcel.body().decl(getGeneratedClass(), "model", _new(getGeneratedClass()));
+		createFromParcel.body().invoke(model, readFromParcelMethod).arg(source);
+		createFromParcel.body()._return(model);
+		
+		JMethod newArrayMethod = AnonymousCreator.method(JMod.PUBLIC, getGeneratedClass().array(), "newArray");
+		newArrayMethod.annotate(Override.class);
+		JVar size = newArrayMethod.param(getCodeModel().INT, "size");
+		newArrayMethod.body()._return(newArray(getGeneratedClass(), size));
+		
+		getGeneratedClass().field(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, Creator, "CREATOR", _new(AnonymousCreator));
+		
+		final JBlock write = writeToParcelMethod.body();
+		final JBlock read = readFromParcelMethod.body();
+		
+		for (Entry<String, String> field : getFields().entrySet()) {
+			final String fieldName = field.getKey();
+			final String fieldClass = field.getValue();
+			
+			final JFieldRef fieldRef = ref(fieldName);
+			
+			//If it is primitive
+			if (!fieldClass.contains(".")) {
+				if (fieldClass.equals("boolean")) {
+					write.invoke(dest, "writeInt").arg(JOp.cond(fieldRef, lit(1), lit(0)));
+					read.assign(fieldRef, in.invoke("readInt").ne(lit(0)));
+				} else if (fieldClass.equals("int")) {
+					write.invoke(dest, "writeInt").arg(fieldRef);
+					read.assign(fieldRef, in.invoke("readInt"));
+				} else if (fieldClass.equals("short")) {
+					write.invoke(dest, "writeInt").arg(fieldRef);
+					read.assign(fieldRef, cast(getCodeModel().SHORT, in.invoke("readInt")));
+				} else if (fieldClass.equals("char")) {
+					write.invoke(dest, "writeInt").arg(fieldRef);
+					read.assign(fieldRef, cast(getCodeModel().CHAR, in.invoke("readInt")));
+				} else if (fieldClass.equals("double")) {
+					write.invoke(dest, "writeDouble").arg(fieldRef);
+					read.assign(fieldRef, in.invoke("readDouble"));
+				} else if (fieldClass.equals("float")) {
+					write.invoke(dest, "writeFloat").arg(fieldRef);
+					read.assign(fieldRef, in.invoke("readFloat"));
+				} else if (fieldClass.equals("byte")) {
+					write.invoke(dest, "writeByte").arg(fieldRef);
+					read.assign(fieldRef, in.invoke("readByte"));
+				} else if (fieldClass.equals("long")) {
+					write.invoke(dest, "writeLong").arg(fieldRef);
+					read.assign(fieldRef, in.invoke("readLong"));
+				} 
+				continue;
+			} 
+			
+			if (fieldClass.equals(String.class.getCanonicalName())) {
+				write.invoke(dest, "writeString").arg(fieldRef);
+				read.assign(fieldRef, in.invoke("readString"));
+				continue;
+			}
+			
+			if (isParcelableModel(fieldClass)) {
+				writeModelToParcel(write, fieldRef, dest, flags);
+				read.assign(fieldRef, readModelFromParcel(fieldClass, in));
+				continue;
+			}
+			
+			//Lists are written item by item, and read in an ArrayList
+			if (fieldClass.equals(List.class.getCanonicalName()) 
+				|| fieldClass.equals(ArrayList.class.getCanonicalName())) {
+				
+				final String itemClass = getListItemClass(declaredTypes.get(fieldName));
+				if (String.class.getCanonicalName().equals(itemClass)) {
+					write.invoke(dest, "writeStringList").arg(fieldRef);
+					read.assign(fieldRef, in.invoke("createStringArrayList"));
+					continue;
+				}
+				
+				if (itemClass != null && isParcelableModel(itemClass)) {
+					final AbstractJClass ItemClass = getJClass(itemClass);
+					
+					JBlock writeList = write._if(fieldRef.eq(JExpr._null()))._then();
+					writeList.invoke(dest, "writeInt").arg(lit(-1));
+					writeList = write._if(fieldRef.ne(JExpr._null()))._then();
+					writeList.invoke(dest, "writeInt").arg(fieldRef.invoke("size"));
+					JForEach forEach = writeList.forEach(ItemClass, "item", fieldRef);
+					writeModelToParcel(forEach.body(), forEach.var(), dest, flags);
+					
+					JVar listSize = read.decl(getCodeModel().INT, "size_" + fieldName, in.invoke("readInt"));
+					read._if(listSize.lt(lit(0)))._then().assign(fieldRef, JExpr._null());
+					JBlock readList = read._if(listSize.gte(lit(0)))._then();
+					readList.assign(fieldRef, _new(getJClass(ArrayList.class).narrow(ItemClass)).arg(listSize));
+					JForLoop forLoop = readList._for();
+					JVar index = forLoop.init(getCodeModel().INT, "i", lit(0));
+					forLoop.test(index.lt(listSize));
+					forLoop.update(index.incr());
+					forLoop.body().invoke(fieldRef, "add").arg(readModelFromParcel(itemClass, in));
+					continue;
+				}
+			}
+			
+			//Other types are written with their type, as it is done for the Bundles
+			write.invoke(dest, "writeValue").arg(fieldRef);
+			read.assign(
+				fieldRef, 
+				cast(getJClass(fieldClass), in.invoke("readValue").arg(getGeneratedClass().dotclass().invoke("getClassLoader")))
+			);
+		}
+	}
+	
+	private void writeModelToParcel(JBlock block, IJExpression model, JVar dest, JVar flags) {
+		block._if(model.eq(JExpr._null()))._then().invoke(dest, "writeInt").arg(lit(0));
+		
+		JBlock notNull = block._if(model.ne(JExpr._null()))._then();
+		notNull.invoke(dest, "writeInt").arg(lit(1));
+		notNull.invoke(model, "writeToParcel").arg(dest).arg(flags);
+	}
+	
+	private IJExpression readModelFromParcel(String modelClass, JVar in) {
+		return JOp.cond(
+				in.invoke("readInt").eq(lit(0)), 
+				JExpr._null(), 
+				getJClass(modelClass).staticRef("CREATOR").invoke("createFromParcel").arg(in)
+			);
+	}
+	
+	/**
+	 * Checks if the class is generated for a @UseModel which is written to Parcels
+	 */
+	private boolean isParcelableModel(String className) {
+		if (!className.endsWith(ModelConstants.generationSuffix())) return false;
+		
+		final String modelClassName = className.substring(0, className.length() - ModelConstants.generationSuffix().length());
+		TypeElement modelElement = environment().getProcessingEnvironment().getElementUtils().getTypeElement(modelClassName);
+		if (modelElement == null) return false;
+		
+		UseModel useModel = modelElement.getAnnotation(UseModel.class);
+		return useModel != null && useModel.parcelable() 
+			   && !implementsParcelable(modelElement, environment().getProcessingEnvironment());
+	}
+	
+	/**
+	 * Returns the class of the items of a list field, or null if it cannot be determined
+	 */
+	private String getListItemClass(TypeMirror listType) {
+		if (listType == null || listType.getKind() != TypeKind.DECLARED) return null;
+		
+		List<? extends TypeMirror> typeArguments = ((DeclaredType) listType).getTypeArguments();
+		if (typeArguments.size() != 1) return null;
+		
+		final TypeMirror itemType = typeArguments.get(0);
+		if (itemType.getKind() != TypeKind.DECLARED && itemType.getKind() != TypeKind.ERROR) return null;
+		
+		return TypeUtils.typeFromTypeString(itemType.toString(), environment(), false);
+	}
+	
+	/**
+	 * Checks if the model, or a superclass which is not a generated model, implements Parcelable 
+	 */
+	private static boolean implementsParcelable(TypeElement element, ProcessingEnvironment env) {
+		TypeElement parcelable = env.getElementUtils().getTypeElement(PARCELABLE);
+		if (parcelable == null) return false;
+		
+		TypeElement typeElement = element;
+		while (typeElement != null) {
+			if (!isGeneratedModel(typeElement)) {
+				for (TypeMirror interfaceType : typeElement.getInterfaces()) {
+					if (TypeUtils.isSubtype(interfaceType, parcelable.asType(), env)) return true;
+				}
+			}
+			
+			TypeMirror superType = typeElement.getSuperclass();
+			if (superType.getKind() != TypeKind.DECLARED) break;
+			typeElement = (TypeElement) ((DeclaredType) superType).asElement();
+		}
+		
+		return false;
+	}
+	
+	private static boolean isGeneratedModel(TypeElement typeElement) {
+		if (!typeElement.getSimpleName().toString().endsWith(ModelConstants.generationSuffix())) return false;
+		
+		TypeMirror superType = typeElement.getSuperclass();
+		return superType.getKind() == TypeKind.DECLARED 
+			   && ((DeclaredType) superType).asElement().getAnnotation(UseModel.class) != null;
+	}
+	
 	private void getFieldsAndMethods(TypeElement element) {
 		if (fields == null) {
 			fields = new HashMap<>();
+			declaredTypes = new HashMap<>();
 		}
 		
 		List<? extends Element> elems = element.getEnclosedElements();
@@ -248,6 +505,7 @@ public class UseModelHolder extends PluginClassHolder<BaseGeneratedClassHolder>
 				if (elem.getModifiers().contains(Modifier.PRIVATE)) continue;
 				
 				fields.put(elemName, TypeUtils.typeFromTypeString(elemType, environment(), false));
+				declaredTypes.put(elemName, elem.asType());
 			}
 		}
 		
@@ -47,7 +47,9 @@ import com.dspot.declex.action.Actions;
 import com.dspot.declex.api.action.annotation.ActionFor;
 import com.dspot.declex.api.action.process.ActionInfo;
 import com.dspot.declex.api.action.process.ActionMethodParam;
+import com.dspot.declex.api.eventbus.Event;
 import com.dspot.declex.api.eventbus.UseEvents;
+import com.dspot.declex.api.util.EventBusUtility;
 import com.dspot.declex.api.util.FormatsUtils;
 import com.dspot.declex.helper.FilesCacheHelper;
 import com.dspot.declex.share.holder.ViewsHolder;
@@ -55,11 +57,12 @@ import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.AbstractJType;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JAnnotationUse;
-import com.helger.jcodemodel.JAnonymousClass;
+import com.helger.jcodemodel.JArray;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JConditional;
 import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldVar;
 import com.helger.jcodemodel.JInvocation;
 import com.helger.jcodemodel.JMethod;
@@ -74,6 +77,15 @@ public class EventUtils {
 	
 	public final static Map<String, Map<String, String>> eventsFields = new HashMap<>();
 	
+	private final static Map<JDefinedClass, JArray> subscriberMethodsInfos = new HashMap<>();
+	
+	/**
+	 * Releases the subscriber indexes of the round, they reference the classes of its JCodeModel
+	 */
+	public static void clear() {
+		subscriberMethodsInfos.clear();
+	}
+	
 	public static JMethod getEventMethod(String eventClass, Element parentElement, ViewsHolder viewsHolder, AndroidAnnotationsEnvironment environment) {
 		return getEventMethod(eventClass, parentElement, viewsHolder.holder(), viewsHolder, environment);
 	}
@@ -114,6 +126,8 @@ public class EventUtils {
 			eventMethodHolder.param(EventClass, "event");
 			JBlock evtBody = eventMethodHolder.body(); 
 			
+			addSubscriberMethodInfo(eventMethodHolder, EventClass, holder, environment);
+			
 			evtBody.invoke(eventMethod).arg(event);
 			
 			//If the method is !provided, then the parent element was provided
@@ -207,6 +221,38 @@ public class EventUtils {
 		return eventMethod;			
 	}
 	
+	/**
+	 * Adds the subscriber method to the EventBus index of the generated class, 
+	 * the index is filled in the static initializer of the class
+	 */
+	private static void addSubscriberMethodInfo(JMethod subscriberMethod, AbstractJClass EventClass, 
+			BaseGeneratedClassHolder holder, AndroidAnnotationsEnvironment environment) {
+		
+		final AbstractJClass SubscriberMethodInfo = environment.getJClass("org.greenrobot.eventbus.meta.SubscriberMethodInfo");
+		
+		JArray subscriberMethodInfos = subscriberMethodsInfos.get(holder.getGeneratedClass());
+		if (subscriberMethodInfos == null) {
+			subscriberMethodInfos = JExpr.newArray(SubscriberMethodInfo);
+			subscriberMethodsInfos.put(holder.getGeneratedClass(), subscriberMethodInfos);
+			
+			//The methods of the superclasses, if any, are found through reflection
+			IJExpression subscriberInfo = _new(environment.getJClass("org.greenrobot.eventbus.meta.SimpleSubscriberInfo"))
+					.arg(holder.getGeneratedClass().dotclass())
+					.arg(lit(true))
+					.arg(subscriberMethodInfos);
+			
+			holder.getGeneratedClass().init().add(
+					environment.getJClass(EventBusUtility.class).staticInvoke("putSubscriberInfo").arg(subscriberInfo)
+				);
+		}
+		
+		subscriberMethodInfos.add(
+				_new(SubscriberMethodInfo).arg(subscriberMethod.name())
+				                          .arg(EventClass.dotclass())
+				                          .arg(environment.getJClass("org.greenrobot.eventbus.ThreadMode").staticRef("MAIN"))
+			);
+	}
+	
 	private static void createEventInfo(String className, AndroidAnnotationsEnvironment env) {
 		if (!className.contains(".")) {
 			className = DeclexConstant.EVENT_PATH + className;
@@ -294,7 +340,12 @@ public class EventUtils {
 		
 		
 		EventClass.annotate(EBean.class);
-		EventClass.annotate(UseEvents.class);
+		JAnnotationUse useEvents = EventClass.annotate(UseEvents.class);
+		
+		Event eventAnnotation = fromElement == null ? null : fromElement.getAnnotation(Event.class);
+		if (eventAnnotation != null && eventAnnotation.pooled()) {
+			useEvents.param("pooled", true);
+		}
 
 		JAnnotationUse actionFor = EventClass.annotate(ActionFor.class);
 		actionFor.param("value", eventName);				
@@ -312,24 +363,27 @@ public class EventUtils {
 		JVar finishedParam = buildMethod.param(env.getJClass("EventFinishedRunnable"), "Finished");
 		buildMethod.body().assign(_this().ref(finished), finishedParam);
 		
-		AbstractJClass EventBus = env.getJClass("org.greenrobot.eventbus.EventBus");
+		AbstractJClass EventBusUtility = env.getJClass(EventBusUtility.class);
 		JVar failedParam = buildMethod.param(env.getJClass(Runnable.class), "Failed");
 		buildMethod.body().assign(_this().ref(failed), failedParam);
 				
 		JMethod executeMethod = EventClass.method(JMod.NONE, env.getCodeModel().VOID, EXECUTE_NAME);
 		
 		JBlock ifFailed = executeMethod.body()
-				._if(EventBus.staticInvoke("getDefault").invoke("hasSubscriberForEvent").arg(EventClass_.dotclass()).not())
+				._if(EventBusUtility.staticInvoke("getDefault").invoke("hasSubscriberForEvent").arg(EventClass_.dotclass()).not())
 				._then();
 		ifFailed._if(failed.neNull())._then().invoke(failed, "run");
+		if (eventAnnotation != null && eventAnnotation.pooled()) {
+			//The event is not going to be dispatched
+			ifFailed.invoke(event, "recycle");
+		}
 		ifFailed._return();
 		
-		JAnonymousClass anonymous = env.getCodeModel().anonymousClass(Runnable.class);
-		JMethod anonymousRunnableRun = anonymous.method(JMod.PUBLIC, env.getCodeModel().VOID, "run");
-		anonymousRunnableRun.annotate(Override.class);
-		anonymousRunnableRun.body().invoke(finished, "onEventFinished").arg(event);
+		//The Finished runnable is passed to the subscribers as it is, a pooled event is 
+		//released only after it runs
 		JConditional ifFinished = executeMethod.body()._if(finished.ne(_null()));
-		ifFinished._then().add(event.invoke("setValues").arg(_new(anonymous)).invoke("postEvent"));
+		ifFinished._then().assign(finished.ref("event"), event);
+		ifFinished._then().add(event.invoke("setFinished").arg(finished).invoke("postEvent"));
 		ifFinished._else().add(event.invoke("postEvent"));	
 		
 		try {
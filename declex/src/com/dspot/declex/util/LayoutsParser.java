@@ -17,9 +17,12 @@ package com.dspot.declex.util;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -28,6 +31,7 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.androidannotations.helper.IdAnnotationHelper;
+import org.androidannotations.internal.process.OriginatingElements;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.rclass.IRClass.Res;
 import org.w3c.dom.Document;
@@ -42,6 +46,9 @@ public class LayoutsParser {
 
 	private List<File> layoutFolders = new LinkedList<File>();
 	
+	//Classes of the views used in the layouts of each generated class 
+	private Map<String, Set<String>> layoutDependencies = new HashMap<>();
+	
 	private ProcessingEnvironment processingEnv;
 	
 	private static LayoutsParser instance;
@@ -92,6 +99,41 @@ public class LayoutsParser {
 		return layoutObjects;
 	}
 	
+	/**
+	 * Registers the views of a layout used by the generated class. The source classes
+	 * of these views (ex. custom views) are originating elements of the generated class
+	 */
+	public void addLayoutDependency(String generatedClass, Map<String, LayoutObject> layoutObjects) {
+		if (layoutObjects == null) return;
+		
+		Set<String> dependencies = layoutDependencies.get(generatedClass);
+		if (dependencies == null) {
+			dependencies = new HashSet<>();
+			layoutDependencies.put(generatedClass, dependencies);
+		}
+		
+		for (LayoutObject layoutObject : layoutObjects.values()) {
+			dependencies.add(layoutObject.className);
+		}
+	}
+	
+	public void addOriginatingElements(OriginatingElements originatingElements) {
+		for (Entry<String, Set<String>> dependencies : layoutDependencies.entrySet()) {
+			for (String className : dependencies.getValue()) {
+				
+				//Framework views are not part of the sources
+				if (className.startsWith("android.")) continue;
+				
+				TypeElement typeElement = processingEnv.getElementUtils().getTypeElement(className);
+				if (typeElement != null) {
+					originatingElements.add(dependencies.getKey(), typeElement);
+				}
+			}
+		}
+		
+		layoutDependencies.clear();
+	}
+	
 	private void searchInNode(Element node, IdAnnotationHelper idHelper, Map<String, LayoutObject> foundObjects, String layoutId) {
 		//documentElement.normalize();
 		
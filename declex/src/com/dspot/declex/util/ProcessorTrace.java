@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2016-2017 DSpot Sp. z o.o
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dspot.declex.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+
+import org.androidannotations.Option;
+import org.androidannotations.handler.AnnotationHandler;
+
+/**
+ * Records spans of the processor phases, the validation and processing of each element by each
+ * handler, and the events of the files cache. With the option "traceProcessor" they are written
+ * in the Chrome trace format to ".declex/trace/declex-trace.json", which can be loaded in
+ * chrome://tracing or Perfetto.
+ */
+public class ProcessorTrace {
+
+	public static final Option OPTION_TRACE_PROCESSOR = new Option("traceProcessor", "false");
+
+	private static ProcessorTrace instance;
+
+	private final ProcessingEnvironment processingEnv;
+	private final long startTime = System.nanoTime();
+
+	private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+	private final Map<String, Long> openSpans = Collections.synchronizedMap(new HashMap<String, Long>());
+
+	private ProcessorTrace(ProcessingEnvironment processingEnv) {
+		this.processingEnv = processingEnv;
+	}
+
+	public static boolean isEnabled(ProcessingEnvironment processingEnv) {
+		return "true".equals(processingEnv.getOptions().get(OPTION_TRACE_PROCESSOR.getName()));
+	}
+
+	/**
+	 * Starts a new trace for this processor run, if the option is enabled
+	 */
+	public static void init(ProcessingEnvironment processingEnv) {
+		instance = isEnabled(processingEnv) ? new ProcessorTrace(processingEnv) : null;
+	}
+
+	public static long now() {
+		return instance == null ? 0 : System.nanoTime();
+	}
+
+	/**
+	 * Starts a span identified by its name, it is finished by {@link #end(String)}
+	 */
+	public static void begin(String name) {
+		if (instance == null) return;
+		instance.openSpans.put(name, System.nanoTime());
+	}
+
+	public static void end(String name) {
+		if (instance == null) return;
+
+		Long start = instance.openSpans.remove(name);
+		if (start != null) {
+			complete("phase", name, start);
+		}
+	}
+
+	/**
+	 * Records a span started in {@code start}, obtained with {@link #now()}
+	 */
+	public static void complete(String category, String name, long start, String... args) {
+		if (instance == null) return;
+
+		long end = System.nanoTime();
+		instance.add(
+			"\"ph\":\"X\",\"ts\":" + instance.micros(start) + ",\"dur\":" + ((end - start) / 1000),
+			category, name, args
+		);
+	}
+
+	public static void complete(String category, String name, long start, Element element) {
+		if (instance == null) return;
+		complete(category, name, start, "element", elementName(element));
+	}
+
+	public static void instant(String category, String name, String... args) {
+		if (instance == null) return;
+		instance.add("\"ph\":\"i\",\"s\":\"t\",\"ts\":" + instance.micros(System.nanoTime()), category, name, args);
+	}
+
+	public static void write() {
+		if (instance == null) return;
+
+		File traceDir = FileUtils.getConfigFile("trace", instance.processingEnv);
+		File traceFile = new File(traceDir.getAbsolutePath() + File.separator + "declex-trace.json");
+
+		try {
+			PrintWriter out = new PrintWriter(traceFile, "UTF-8");
+			out.print("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+			synchronized (instance.events) {
+				boolean first = true;
+				for (String event : instance.events) {
+					if (!first) out.print(",\n");
+					out.print(event);
+					first = false;
+				}
+			}
+
+			out.print("]}");
+			out.close();
+		} catch (IOException e) {
+			System.err.println("The trace of the processor couldn't be written: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Wraps the handlers to record a span for each element validated and processed by them.
+	 * The wrappers implement the same interfaces than the handlers
+	 */
+	public static List<AnnotationHandler<?>> traceHandlers(List<AnnotationHandler<?>> handlers) {
+		List<AnnotationHandler<?>> tracedHandlers = new ArrayList<>(handlers.size());
+
+		for (final AnnotationHandler<?> handler : handlers) {
+
+			Set<Class<?>> interfaces = new LinkedHashSet<>();
+			for (Class<?> clazz = handler.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+				Collections.addAll(interfaces, clazz.getInterfaces());
+			}
+
+			final String handlerName = handler.getClass().getSimpleName();
+
+			AnnotationHandler<?> tracedHandler = (AnnotationHandler<?>) Proxy.newProxyInstance(
+				handler.getClass().getClassLoader(),
+				interfaces.toArray(new Class<?>[interfaces.size()]),
+				new InvocationHandler() {
+
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						final String methodName = method.getName();
+						final boolean traced = args != null && args.length > 0 && args[0] instanceof Element
+								               && (methodName.equals("validate") || methodName.equals("process"));
+
+						final long start = now();
+						try {
+							return method.invoke(handler, args);
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						} finally {
+							if (traced) {
+								complete(methodName, handlerName, start, (Element) args[0]);
+							}
+						}
+					}
+				}
+			);
+
+			tracedHandlers.add(tracedHandler);
+		}
+
+		return tracedHandlers;
+	}
+
+	private static String elementName(Element element) {
+		Element enclosing = element.getEnclosingElement();
+		if (enclosing != null && (enclosing.getKind().isClass() || enclosing.getKind().isInterface())) {
+			return enclosing + "." + element;
+		}
+		return element.toString();
+	}
+
+	private long micros(long nanos) {
+		return (nanos - startTime) / 1000;
+	}
+
+	private void add(String timing, String category, String name, String... args) {
+		StringBuilder event = new StringBuilder("{\"name\":\"").append(escape(name))
+			.append("\",\"cat\":\"").append(escape(category))
+			.append("\",").append(timing)
+			.append(",\"pid\":1,\"tid\":").append(Thread.currentThread().getId());
+
+		if (args.length > 1) {
+			event.append(",\"args\":{");
+			for (int i = 0; i + 1 < args.length; i += 2) {
+				if (i > 0) event.append(',');
+				event.append('"').append(escape(args[i])).append("\":\"").append(escape(args[i + 1])).append('"');
+			}
+			event.append('}');
+		}
+
+		events.add(event.append('}').toString());
+	}
+
+	private static String escape(String value) {
+		if (value == null) return "";
+
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (char c : value.toCharArray()) {
+			switch (c) {
+			case '"': escaped.append("\\\""); break;
+			case '\\': escaped.append("\\\\"); break;
+			case '\n': escaped.append("\\n"); break;
+			case '\r': escaped.append("\\r"); break;
+			case '\t': escaped.append("\\t"); break;
+			default:
+				if (c < 0x20) {
+					escaped.append(String.format("\\u%04x", (int) c));
+				} else {
+					escaped.append(c);
+				}
+			}
+		}
+		return escaped.toString();
+	}
+}
@@ -22,6 +22,7 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -29,7 +30,16 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
 import org.androidannotations.AndroidAnnotationsEnvironment;
 import org.androidannotations.annotations.EBean;
@@ -42,14 +52,19 @@ import com.helger.jcodemodel.IJStatement;
 import com.helger.jcodemodel.JBlock;
 
 public class SharedRecords {
+	
+	private static final String SUBSCRIBE = "org.greenrobot.eventbus.Subscribe";
+	
 	private static Map<JBlock, Map<Integer, IJStatement>> priorityMethods = new HashMap<>();
 	
 	private static Map<String, String> events;
+	private static Set<String> eventsWithBackgroundSubscribers = new HashSet<>();
 	private static Collection<String> db_models;
 	
 	public static void reset() {
 		priorityMethods = new HashMap<>();
 		events = null;
+		eventsWithBackgroundSubscribers = new HashSet<>();
 		db_models = null;
 	}
 	
@@ -173,6 +188,61 @@ public class SharedRecords {
 		}
 	}
 
+	/**
+	 * Records the events with subscribers in the round which are not executed synchronously in 
+	 * the main thread (ThreadMode BACKGROUND or ASYNC), those events cannot be pooled
+	 */
+	public static void addBackgroundSubscribers(RoundEnvironment roundEnv, ProcessingEnvironment processingEnv) {
+		TypeElement subscribe = processingEnv.getElementUtils().getTypeElement(SUBSCRIBE);
+		if (subscribe == null) return;
+		
+		for (Element element : roundEnv.getElementsAnnotatedWith(subscribe)) {
+			if (element.getKind() != ElementKind.METHOD) continue;
+			
+			ExecutableElement method = (ExecutableElement) element;
+			if (method.getParameters().size() != 1) continue;
+			
+			for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+				if (!annotation.getAnnotationType().toString().equals(SUBSCRIBE)) continue;
+				
+				for (Entry<? extends ExecutableElement, ? extends AnnotationValue> value : annotation.getElementValues().entrySet()) {
+					if (!value.getKey().getSimpleName().toString().equals("threadMode")) continue;
+					
+					final String threadMode = value.getValue().getValue().toString();
+					if (threadMode.equals("BACKGROUND") || threadMode.equals("ASYNC")) {
+						eventsWithBackgroundSubscribers.add(method.getParameters().get(0).asType().toString());
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Determines if the event, or any of its supertypes, has a subscriber registered 
+	 * through {@link #addBackgroundSubscribers(RoundEnvironment, ProcessingEnvironment)}
+	 */
+	public static boolean hasBackgroundSubscribers(TypeElement eventElement, AndroidAnnotationsEnvironment environment) {
+		if (eventsWithBackgroundSubscribers.isEmpty()) return false;
+		
+		final String generatedClass = TypeUtils.getGeneratedClassName(eventElement.toString(), environment);
+		
+		//The generated class could be not resolved yet in the subscribers, then only its simple name is known
+		if (eventsWithBackgroundSubscribers.contains(generatedClass)
+			|| eventsWithBackgroundSubscribers.contains(generatedClass.substring(generatedClass.lastIndexOf('.') + 1))) {
+			return true;
+		}
+		
+		TypeElement typeElement = eventElement;
+		while (typeElement != null) {
+			if (eventsWithBackgroundSubscribers.contains(typeElement.toString())) return true;
+			
+			TypeMirror superType = typeElement.getSuperclass();
+			if (superType.getKind() != TypeKind.DECLARED) break;
+			typeElement = (TypeElement) ((DeclaredType) superType).asElement();
+		}
+		
+		return false;
+	}
 	
 	//=====================================MODELS===========================
 	
@@ -54,7 +54,10 @@ import com.dspot.declex.api.action.runnable.OnFailedRunnable;
 import com.dspot.declex.api.eventbus.LoadOnEvent;
 import com.dspot.declex.api.model.Model;
 import com.dspot.declex.api.model.UseModel;
+import com.dspot.declex.api.util.MainThreadDispatcher;
+import com.dspot.declex.api.util.ViewPoolUtility;
 import com.dspot.declex.api.viewsinjection.Populate;
+import com.dspot.declex.api.viewsinjection.Populate.DiffMode;
 import com.dspot.declex.event.holder.ViewListenerHolder;
 import com.dspot.declex.helper.ViewsHelper;
 import com.dspot.declex.model.ModelHolder;
@@ -198,21 +201,42 @@ public class PopulateHandler extends BaseAnnotationHandler<EComponentWithViewSup
 			} else {
 				LayoutObject layoutObject = viewsHelper.getLayoutObjects().get(elementName);
 				
-				if (layoutObject.domElement.hasAttribute("tools:listitem")) {
-					String listItem = layoutObject.domElement.getAttribute("tools:listitem");
-					String listItemId = listItem.substring(listItem.lastIndexOf('/')+1);
+				List<String> itemLayouts = getAnnotationItemLayouts(element);
+				if (itemLayouts.size() != element.getAnnotation(Populate.class).itemLayouts().length) {
+					valid.addError("The item layouts provided for the list " + elementName + " are not valid layouts");
+				} else if (itemLayouts.size() > 1) {
+					ExecutableElement viewTypeMethod = getViewTypeMethod(element);
+					if (viewTypeMethod == null) {
+						valid.addError(
+								"You should provide a method \"" + elementName + "ViewType\" returning the layout "
+								+ "of each item, since several item layouts are used for the list " + elementName
+							);
+					} else {
+						validatorHelper.isNotPrivate(viewTypeMethod, valid);
+						
+						if (viewTypeMethod.getReturnType().getKind() != TypeKind.INT) {
+							valid.addError("The method \"" + elementName + "ViewType\" should return the layout of the item");
+						}
+					}
+				} else if (itemLayouts.isEmpty()) {
+					
+					if (layoutObject.domElement.hasAttribute("tools:listitem")) {
+						String listItem = layoutObject.domElement.getAttribute("tools:listitem");
+						String listItemId = listItem.substring(listItem.lastIndexOf('/')+1);
 					
-					if (!getEnvironment().getRClass().get(Res.LAYOUT).containsField(listItemId)) {
+						if (!getEnvironment().getRClass().get(Res.LAYOUT).containsField(listItemId)) {
+							valid.addError(
+									"The \"tools:listitem\" layout provided to the "
+									+ layoutObject.className + " with id \"" + elementName + "\" in your layout is not valid"
+									+ " The current value it is \"" + listItem + "\"");
+						};
+					} else {
 						valid.addError(
-								"The \"tools:listitem\" layout provided to the "
-								+ layoutObject.className + " with id \"" + elementName + "\" in your layout is not valid"
-								+ " The current value it is \"" + listItem + "\"");
-					};
-				} else {
-					valid.addError(
-							"You should provide an attribute \"tools:listitem\" as the layout for the list items, "
-							+ "please review the " + layoutObject.className + " with id \"" + elementName + "\" in the layout"
-						);
+								"You should provide an attribute \"tools:listitem\" as the layout for the list items, "
+								+ "or the layouts in the annotation \"itemLayouts\", "
+								+ "please review the " + layoutObject.className + " with id \"" + elementName + "\" in the layout"
+							);
+					}
 				}
 			}
 		} 		
@@ -329,9 +353,7 @@ public class PopulateHandler extends BaseAnnotationHandler<EComponentWithViewSup
 				JMethod annonimousRunnableRun = annonimousRunnable.method(JMod.PUBLIC, getCodeModel().VOID, "run");
 				annonimousRunnableRun.annotate(Override.class);
 				
-				JVar handler = methodBody.decl(getClasses().HANDLER, "handler", 
-						_new(getClasses().HANDLER).arg(getClasses().LOOPER.staticInvoke("getMainLooper")));
-				methodBody.invoke(handler, "post").arg(_new(annonimousRunnable));
+				methodBody.add(getJClass(MainThreadDispatcher.class).staticInvoke("post").arg(_new(annonimousRunnable)));
 				
 				methodBody = annonimousRunnableRun.body();
 			} 
@@ -395,6 +417,8 @@ public class PopulateHandler extends BaseAnnotationHandler<EComponentWithViewSup
 		
 		final boolean foundAdapterDeclaration = TypeUtils.fieldInElement(adapterName, element.getEnclosingElement());
 		final Populate annotation = element.getAnnotation(Populate.class);
+		final boolean isRecyclerView = TypeUtils.isSubtype(viewClass, "android.support.v7.widget.RecyclerView", getProcessingEnvironment());
+		final String viewPoolName = viewsHolder.getGeneratedClass().fullName() + "." + adapterClassName;
 		JFieldRef view = viewsHolder.createAndAssignView(fieldName, new IWriteInBloc() {
 			@Override
 			public void writeInBlock(String viewName, AbstractJClass viewClass, JFieldRef view, JBlock block) {
@@ -405,6 +429,10 @@ public class PopulateHandler extends BaseAnnotationHandler<EComponentWithViewSup
 						notifyBlock.assign(adapter, _new(AdapterClass).arg(assignRef));
 					}
 					
+					if (isRecyclerView && annotation.sharedViewPool()) {
+						setSharedViewPool(view, viewPoolName, notifyBlock);
+					}
+					
 					notifyBlock.invoke(view, "setAdapter").arg(adapter);
 				}
 			}
@@ -422,7 +450,11 @@ public class PopulateHandler extends BaseAnnotationHandler<EComponentWithViewSup
 				   ))._then()
 		           .invoke(view, "setAdapter").arg(adapter);
 		notifyBlock.invoke(adapter, "setModels").arg(assignRef);
-		notifyBlock.invoke(adapter, "notifyDataSetChanged");
+		
+		//Adapters calculating the differences notify the changes by themselves 
+		if (!isRecyclerView || annotation.diff() == DiffMode.None) {
+			notifyBlock.invoke(adapter, "notifyDataSetChanged");
+		}
 		
 		if (!foundAdapterDeclaration) {
 			if (viewsHolder.getGeneratedClass().fields().get(adapterName)!=null) {
@@ -452,11 +484,104 @@ public class PopulateHandler extends BaseAnnotationHandler<EComponentWithViewSup
 		}
 		
 		//RecyclerView
-		if (TypeUtils.isSubtype(viewClass, "android.support.v7.widget.RecyclerView", getProcessingEnvironment())) {
+		if (isRecyclerView) {
 			createRecyclerViewAdapter(fieldName, className, element, viewsHolder);
 		}
 	}
 	
+	/**
+	 * The ViewHolders are recycled in a pool shared by all the lists created for the same adapter
+	 * in the Activity, this pool is registered in the ViewPoolUtility
+	 */
+	private void setSharedViewPool(JFieldRef view, String viewPoolName, JBlock block) {
+		AbstractJClass RecycledViewPool = getJClass("android.support.v7.widget.RecyclerView.RecycledViewPool");
+		AbstractJClass ViewPoolUtility = getJClass(ViewPoolUtility.class);
+		
+		JVar viewPool = block.decl(
+				RecycledViewPool, "viewPool", 
+				ViewPoolUtility.staticInvoke("getSharedPool").arg(view.invoke("getContext")).arg(viewPoolName)
+			);
+		
+		JBlock createPool = block._if(viewPool.eq(_null()))._then();
+		createPool.assign(viewPool, _new(RecycledViewPool));
+		createPool.staticInvoke(ViewPoolUtility, "putSharedPool")
+		          .arg(view.invoke("getContext")).arg(viewPoolName).arg(viewPool);
+		
+		block.invoke(view, "setRecycledViewPool").arg(viewPool);
+	}
+	
+	/**
+	 * Returns the layouts for the items of a List. If they are not provided in the annotation 
+	 * "itemLayouts", the "tools:listitem" attribute of the list in the layout is used
+	 */
+	public List<String> getItemLayouts(Element element, String fieldName, ViewsHolder viewsHolder) {
+		List<String> itemLayouts = new LinkedList<>();
+		
+		//The annotation item layouts are only applied to the annotated List, not to its nested lists
+		if (fieldName.equals(element.getSimpleName().toString())) {
+			itemLayouts.addAll(getAnnotationItemLayouts(element));
+		}
+		
+		if (itemLayouts.isEmpty()) {
+			org.w3c.dom.Element node = viewsHolder.getDomElementFromId(fieldName);
+			if (node != null && node.hasAttribute("tools:listitem")) {
+				String listItem = node.getAttribute("tools:listitem");
+				itemLayouts.add(listItem.substring(listItem.lastIndexOf('/') + 1));
+			}
+		}
+		
+		return itemLayouts;
+	}
+	
+	private List<String> getAnnotationItemLayouts(Element element) {
+		List<String> itemLayouts = new LinkedList<>();
+		
+		for (int itemLayout : element.getAnnotation(Populate.class).itemLayouts()) {
+			String layout = getEnvironment().getRClass().get(Res.LAYOUT).getIdQualifiedName(itemLayout);
+			if (layout == null) continue;
+			
+			itemLayouts.add(layout.substring(layout.lastIndexOf('.') + 1));
+		}
+		
+		return itemLayouts;
+	}
+	
+	/**
+	 * The view type of the items in a List with several item layouts is determined by the 
+	 * method "{fieldName}ViewType", which returns the layout to be used for each model
+	 */
+	public ExecutableElement getViewTypeMethod(Element element) {
+		final String methodName = element.getSimpleName().toString() + "ViewType";
+		
+		for (Element elem : element.getEnclosingElement().getEnclosedElements()) {
+			if (elem.getKind() == ElementKind.METHOD && elem.getSimpleName().toString().equals(methodName)) {
+				return (ExecutableElement) elem;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Invokes the view type method of the List, its int parameters receive the position of the item, 
+	 * and any other parameter the model
+	 */
+	public JInvocation invokeViewTypeMethod(Element element, IJExpression model, IJExpression position) {
+		ExecutableElement viewTypeMethod = getViewTypeMethod(element);
+		JInvocation invocation = JExpr.invoke(viewTypeMethod.getSimpleName().toString());
+		
+		for (VariableElement param : viewTypeMethod.getParameters()) {
+			if (param.asType().getKind() == TypeKind.INT) {
+				invocation = invocation.arg(position);
+			} else {
+				final String paramType = TypeUtils.typeFromTypeString(param.asType().toString(), getEnvironment());
+				invocation = invocation.arg(cast(getJClass(paramType), model));
+			}
+		}
+		
+		return invocation;
+	}
+	
 	private void createRecyclerViewAdapter(String fieldName, String modelClassName, Element element, 
 			ViewsHolder viewsHolder) {
 
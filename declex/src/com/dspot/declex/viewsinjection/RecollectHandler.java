@@ -25,11 +25,15 @@ import static com.helger.jcodemodel.JExpr.invoke;
 import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JExpr.ref;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
@@ -50,6 +54,7 @@ import com.dspot.declex.api.action.error.ValidationException;
 import com.dspot.declex.api.action.runnable.OnFailedRunnable;
 import com.dspot.declex.api.model.Model;
 import com.dspot.declex.api.model.UseModel;
+import com.dspot.declex.api.util.ValidationUtility;
 import com.dspot.declex.api.viewsinjection.Recollect;
 import com.dspot.declex.helper.ViewsHelper;
 import com.dspot.declex.model.ModelHolder;
@@ -81,6 +86,22 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(RecollectHandler.class);
 	
+	private static final String SARIPAAR_ANNOTATIONS = "com.mobsandgeeks.saripaar.annotation.";
+	
+	/**
+	 * Saripaar rules with a compiled equivalent, with the View class they require and their parameters
+	 */
+	private static final Map<String, String[]> COMPILED_RULES = new HashMap<>();
+	static {
+		COMPILED_RULES.put("NotEmpty", new String[] {"android.widget.TextView", "trim", "emptyText"});
+		COMPILED_RULES.put("Length", new String[] {"android.widget.TextView", "min", "max", "trim"});
+		COMPILED_RULES.put("Pattern", new String[] {"android.widget.TextView", "regex", "caseSensitive"});
+		COMPILED_RULES.put("Min", new String[] {"android.widget.TextView", "value"});
+		COMPILED_RULES.put("Max", new String[] {"android.widget.TextView", "value"});
+		COMPILED_RULES.put("Checked", new String[] {"android.widget.CompoundButton", "value"});
+		COMPILED_RULES.put("Select", new String[] {"android.widget.Spinner", "defaultSelection"});
+	}
+	
 	public RecollectHandler(AndroidAnnotationsEnvironment environment) {
 		super(Recollect.class, environment);
 	}
@@ -188,66 +209,10 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 				.arg(ref("onFailed"));
 		} 
 		
-		JBlock recollectBlock;
-		JAnonymousClass ValidatorListenerClass = null;
-		Recollect recollector = element.getAnnotation(Recollect.class);
-		if (recollector.validate()) {
-			AbstractJClass Validator = getEnvironment().getJClass("com.mobsandgeeks.saripaar.Validator");
-			AbstractJClass ValidatorListener = getEnvironment().getJClass("com.mobsandgeeks.saripaar.Validator.ValidationListener");
-			AbstractJClass ValidatorError = getEnvironment().getJClass("com.mobsandgeeks.saripaar.ValidationError");
-			
-			ValidatorListenerClass = getCodeModel().anonymousClass(ValidatorListener);
-			
-			JMethod onValidationFailed = ValidatorListenerClass.method(JMod.PUBLIC, getCodeModel().VOID, "onValidationFailed");
-			JVar errors = onValidationFailed.param(getClasses().LIST.narrow(ValidatorError), "errors");
-			onValidationFailed.annotate(Override.class);
-						
-			IJExpression context = holder.getContextRef();
-			if (context == _this()) {
-				context = holder.getGeneratedClass().staticRef("this");
-			}
-
-			JVar messages = onValidationFailed.body().decl(getClasses().STRING, "messages", lit(""));
-			JBlock forEach = onValidationFailed.body().forEach(ValidatorError, "error", errors).body();
-			JFieldRef error = ref("error");
-			JVar message = forEach.decl(getClasses().STRING, "message", error.invoke("getCollatedErrorMessage").arg(context));
-			forEach.assign(messages, message.plus(message).plus(" "));
-			
-			if (recollector.validateAutoMessage()) {
-				JVar view = forEach.decl(getClasses().VIEW, "view", error.invoke("getView"));
-				
-				AbstractJClass EditText = getJClass("android.widget.EditText");
-				AbstractJClass Toast = getJClass("android.widget.Toast");
-				JConditional conditional = forEach._if(view._instanceof(EditText));
-				conditional._then().invoke(cast(EditText, view), "setError").arg(message);
-				conditional._else().add(
-						Toast.staticInvoke("makeText").arg(context)
-						     .arg(message)
-						     .arg(Toast.staticRef("LENGTH_SHORT"))
-						     .invoke("show")
-				     );
-			}
-			
-			//Call onFailed if assigned
-			IJExpression validationException = _new(getJClass(ValidationException.class))
-					 								.arg(messages);
-			onValidationFailed.body()._if(onFailed.ne(_null()))._then()
-			   						 .invoke(onFailed, "onFailed").arg(validationException);
-			                         
-			
-			JMethod onValidationSucceeded = ValidatorListenerClass.method(JMod.PUBLIC, getCodeModel().VOID, "onValidationSucceeded");
-			onValidationSucceeded.annotate(Override.class);
-
-			JBlock block = recollectModelMethod.body();			
-			JVar validatorHolder = block.decl(ValidatorListenerClass, fieldName + "$validatorHolder", _new(ValidatorListenerClass));
-			JVar validator = block.decl(Validator, fieldName + "$validator", _new(Validator).arg(validatorHolder));
-			block.invoke(validator, "setValidationListener").arg(validatorHolder);
-			block.invoke(validator, "validate");
-			
-			recollectBlock = onValidationSucceeded.body();
-		} else {
-			recollectBlock = recollectModelMethod.body();
-		}
+		//When the fields are validated, the recollection is placed after the validation
+		final Recollect recollector = element.getAnnotation(Recollect.class);
+		final List<ValidatedView> validatedViews = recollector.validate() ? new LinkedList<ValidatedView>() : null;
+		JBlock recollectBlock = recollector.validate() ? new JBlock() : recollectModelMethod.body();
 		
 		JTryBlock tryBlock = recollectBlock._try();
 		{//Catch block
@@ -278,11 +243,12 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 				JFieldRef view = viewsHolder.createAndAssignView(fieldName);
 				assignValueToField(ref(fieldName), element.asType(), view, recollectBlock);
 				
-				checkValidatorClass(element, element, fieldName, view, ValidatorListenerClass, viewsHolder);
+				checkValidatorClass(element, fieldName, view, validatedViews);
 			}
 			
 			recollectBlock.invoke(afterRecollect, "run");
 			
+			generateValidation(element, holder, viewsHolder, recollectModelMethod, recollectBlock, validatedViews, onFailed);
 			return;
 		} 
 		
@@ -310,7 +276,7 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 					composedField, 
 					element, 
 					viewsHolder,
-					ValidatorListenerClass
+					validatedViews
 				);
 		}
 		
@@ -329,11 +295,13 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 					composedField, 
 					element, 
 					viewsHolder, 
-					ValidatorListenerClass
+					validatedViews
 				);
 		}
 		
 		recollectBlock.invoke(afterRecollect, "run");
+		
+		generateValidation(element, holder, viewsHolder, recollectModelMethod, recollectBlock, validatedViews, onFailed);
 	}
 	
 	private void assignValueToField(JFieldRef field, TypeMirror typeMirror, JFieldRef view, JBlock body) {
@@ -384,7 +352,7 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 	}
 	
 	private void injectAndAssignField(JBlock body, String fieldName, IdInfoHolder info, String methodName, 
-			Element element, ViewsHolder holder, JAnonymousClass ValidatorListenerClass) {
+			Element element, ViewsHolder holder, List<ValidatedView> validatedViews) {
 		
 		boolean castNeeded = false;
 		String className = element.asType().toString();
@@ -479,15 +447,14 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 		changedBlock.add((JInvocation)methodsCall);
 		body.add(checkForNull);
 
-		checkValidatorClass(element, info.element, info.idName, view, ValidatorListenerClass, holder);
+		checkValidatorClass(info.element, info.idName, view, validatedViews);
 	}
 	
-	private void checkValidatorClass(Element element, Element infoElement, String fieldName, 
-			JFieldRef view, JAnonymousClass ValidatorListenerClass, ViewsHolder viewsHolder) {
+	private void checkValidatorClass(Element infoElement, String idName, JFieldRef view, List<ValidatedView> validatedViews) {
 		
-		if (ValidatorListenerClass != null) {
+		if (validatedViews != null) {
 			
-			JFieldVar field = null;
+			ValidatedView validatedView = null;
 			
 			final List<? extends AnnotationMirror> annotations = infoElement.getAnnotationMirrors();
 			for (AnnotationMirror annotation : annotations) {
@@ -497,21 +464,273 @@ public class RecollectHandler extends BaseAnnotationHandler<EComponentWithViewSu
 				if (validateUsingAnnotation != null
 					|| annotation.getAnnotationType().toString().equals(Order.class.getCanonicalName())) {
 
-					if (field == null) {
-						AbstractJClass ViewClass = getJClass(viewsHolder.getClassNameFromId(fieldName));
-						field = ValidatorListenerClass.field(
-								JMod.PRIVATE, 
-								ViewClass, 
-								"$" + fieldName + DeclexConstant.VIEW,
-								view
-							);						
+					if (validatedView == null) {
+						validatedView = new ValidatedView(idName, view);
+						validatedViews.add(validatedView);
+					}
+				
+					validatedView.rules.add(annotation);
+				}
+			}
+		}
+		
+	}
+	
+	private void generateValidation(Element element, EComponentWithViewSupportHolder holder, ViewsHolder viewsHolder,
+			JMethod recollectModelMethod, JBlock recollectBlock, List<ValidatedView> validatedViews, JVar onFailed) {
+		
+		if (validatedViews == null) return;
+		
+		if (isValidationCompilable(validatedViews, viewsHolder)) {
+			generateCompiledValidation(element, holder, viewsHolder, recollectModelMethod.body(), validatedViews, onFailed);
+			recollectModelMethod.body().add(recollectBlock);
+		} else {
+			JBlock onValidationSucceeded = generateSaripaarValidation(element, holder, viewsHolder, recollectModelMethod.body(), validatedViews, onFailed);
+			onValidationSucceeded.add(recollectBlock);
+		}
+	}
+	
+	/**
+	 * The validation is generated at compile time if all the rules have a compiled equivalent,
+	 * otherwise the Saripaar Validator is used
+	 */
+	private boolean isValidationCompilable(List<ValidatedView> validatedViews, ViewsHolder viewsHolder) {
+		for (ValidatedView validatedView : validatedViews) {
+			final String viewClass = viewsHolder.getClassNameFromId(validatedView.idName);
+			
+			for (AnnotationMirror annotation : validatedView.rules) {
+				final String ruleName = annotation.getAnnotationType().toString();
+				if (!ruleName.startsWith(SARIPAAR_ANNOTATIONS)) return false;
+				
+				String[] compiledRule = COMPILED_RULES.get(ruleName.substring(SARIPAAR_ANNOTATIONS.length()));
+				if (compiledRule == null) return false;
+				
+				if (!TypeUtils.isSubtype(viewClass, compiledRule[0], getProcessingEnvironment())) return false;
+				
+				//Rules with custom adapters or unknown parameters are not compiled
+				for (ExecutableElement parameter : annotation.getElementValues().keySet()) {
+					final String parameterName = parameter.getSimpleName().toString();
+					if (!parameterName.equals("message") && !parameterName.equals("messageResId")
+						&& !parameterName.equals("sequence") && !Arrays.asList(compiledRule).contains(parameterName)) {
+						return false;
 					}
+				}
+				
+				for (int i = 1; i < compiledRule.length; i++) {
+					if (getAnnotationValue(annotation, compiledRule[i]) == null) return false;
+				}
 				
-					TypeUtils.annotateVar(field, annotation, getEnvironment());
+				if (!(getAnnotationValue(annotation, "message") instanceof String)
+					|| !(getAnnotationValue(annotation, "messageResId") instanceof Integer)) {
+					return false;
 				}
 			}
 		}
 		
+		return true;
+	}
+	
+	private void generateCompiledValidation(Element element, EComponentWithViewSupportHolder holder, ViewsHolder viewsHolder,
+			JBlock block, List<ValidatedView> validatedViews, JVar onFailed) {
+		
+		final Recollect recollector = element.getAnnotation(Recollect.class);
+		final String fieldName = element.getSimpleName().toString();
+		final IJExpression context = holder.getContextRef();
+		final AbstractJClass ValidationUtility = getJClass(ValidationUtility.class);
+		
+		JVar messages = block.decl(getClasses().STRING, fieldName + "$messages", lit(""));
+		
+		for (ValidatedView validatedView : validatedViews) {
+			final String idName = validatedView.idName;
+			final JFieldRef view = validatedView.view;
+			
+			JBlock viewBlock = block._if(view.ne(_null()))._then();
+			JVar errors = viewBlock.decl(getClasses().STRING, idName + "$errors", _null());
+			
+			JVar text = null;
+			JVar number = null;
+			
+			for (AnnotationMirror annotation : validatedView.rules) {
+				final String ruleName = annotation.getAnnotationType().toString().substring(SARIPAAR_ANNOTATIONS.length());
+				
+				if (text == null && !ruleName.equals("Checked") && !ruleName.equals("Select")) {
+					text = viewBlock.decl(getClasses().STRING, idName + "$text", 
+							cast(getClasses().TEXT_VIEW, view).invoke("getText").invoke("toString"));
+				}
+				
+				if (number == null && (ruleName.equals("Min") || ruleName.equals("Max"))) {
+					number = viewBlock.decl(getJClass(Integer.class), idName + "$number", 
+							ValidationUtility.staticInvoke("toInteger").arg(text));
+				}
+				
+				IJExpression isValid;
+				if (ruleName.equals("NotEmpty")) {
+					isValid = ValidationUtility.staticInvoke("isNotEmpty").arg(text)
+							                   .arg(lit((Boolean) getAnnotationValue(annotation, "trim")))
+							                   .arg(lit((String) getAnnotationValue(annotation, "emptyText")));
+				} else if (ruleName.equals("Length")) {
+					isValid = ValidationUtility.staticInvoke("hasLength").arg(text)
+							                   .arg(lit((Integer) getAnnotationValue(annotation, "min")))
+							                   .arg(lit((Integer) getAnnotationValue(annotation, "max")))
+							                   .arg(lit((Boolean) getAnnotationValue(annotation, "trim")));
+				} else if (ruleName.equals("Pattern")) {
+					//The patterns are compiled once, when the generated class is loaded
+					AbstractJClass Pattern = getJClass(java.util.regex.Pattern.class);
+					boolean caseSensitive = (Boolean) getAnnotationValue(annotation, "caseSensitive");
+					JFieldVar pattern = holder.getGeneratedClass().field(
+							JMod.PRIVATE | JMod.STATIC | JMod.FINAL, Pattern, 
+							fieldName + "$" + idName + "$pattern" + validatedView.rules.indexOf(annotation),
+							Pattern.staticInvoke("compile")
+							       .arg(lit((String) getAnnotationValue(annotation, "regex")))
+							       .arg(caseSensitive ? lit(0) : Pattern.staticRef("CASE_INSENSITIVE"))
+						);
+					isValid = pattern.invoke("matcher").arg(text).invoke("matches");
+				} else if (ruleName.equals("Min")) {
+					isValid = number.ne(_null()).cand(number.gte(lit((Integer) getAnnotationValue(annotation, "value"))));
+				} else if (ruleName.equals("Max")) {
+					isValid = number.ne(_null()).cand(number.lte(lit((Integer) getAnnotationValue(annotation, "value"))));
+				} else if (ruleName.equals("Checked")) {
+					isValid = cast(getJClass("android.widget.CompoundButton"), view).invoke("isChecked")
+							      .eq(lit((Boolean) getAnnotationValue(annotation, "value")));
+				} else {
+					isValid = cast(getJClass("android.widget.Spinner"), view).invoke("getSelectedItemPosition")
+							      .ne(lit((Integer) getAnnotationValue(annotation, "defaultSelection")));
+				}
+				
+				final int messageResId = (Integer) getAnnotationValue(annotation, "messageResId");
+				IJExpression message = messageResId != -1 ? context.invoke("getString").arg(lit(messageResId))
+						                                  : lit((String) getAnnotationValue(annotation, "message"));
+				
+				viewBlock._if(isValid.not())._then()
+				         .assign(errors, ValidationUtility.staticInvoke("collate").arg(errors).arg(message));
+			}
+			
+			JBlock failedBlock = viewBlock._if(errors.ne(_null()))._then();
+			failedBlock.assign(messages, messages.plus(errors).plus(lit(" ")));
+			
+			if (recollector.validateAutoMessage()) {
+				final String viewClass = viewsHolder.getClassNameFromId(idName);
+				if (TypeUtils.isSubtype(viewClass, "android.widget.EditText", getProcessingEnvironment())) {
+					failedBlock.invoke(cast(getJClass("android.widget.EditText"), view), "setError").arg(errors);
+				} else {
+					AbstractJClass Toast = getJClass("android.widget.Toast");
+					failedBlock.add(
+							Toast.staticInvoke("makeText").arg(context)
+							     .arg(errors)
+							     .arg(Toast.staticRef("LENGTH_SHORT"))
+							     .invoke("show")
+						);
+				}
+			}
+		}
+		
+		//Call onFailed if assigned
+		JBlock failedBlock = block._if(messages.invoke("isEmpty").not())._then();
+		failedBlock._if(onFailed.ne(_null()))._then()
+		           .invoke(onFailed, "onFailed").arg(_new(getJClass(ValidationException.class)).arg(messages));
+		failedBlock._return();
+	}
+	
+	/**
+	 * Validates the fields with a Saripaar Validator, the rules are copied to the fields of the
+	 * validation listener. Returns the block executed when the validation succeeded
+	 */
+	private JBlock generateSaripaarValidation(Element element, EComponentWithViewSupportHolder holder, ViewsHolder viewsHolder,
+			JBlock block, List<ValidatedView> validatedViews, JVar onFailed) {
+		
+		final Recollect recollector = element.getAnnotation(Recollect.class);
+		final String fieldName = element.getSimpleName().toString();
+		
+		AbstractJClass Validator = getEnvironment().getJClass("com.mobsandgeeks.saripaar.Validator");
+		AbstractJClass ValidatorListener = getEnvironment().getJClass("com.mobsandgeeks.saripaar.Validator.ValidationListener");
+		AbstractJClass ValidatorError = getEnvironment().getJClass("com.mobsandgeeks.saripaar.ValidationError");
+		
+		JAnonymousClass ValidatorListenerClass = getCodeModel().anonymousClass(ValidatorListener);
+		
+		JMethod onValidationFailed = ValidatorListenerClass.method(JMod.PUBLIC, getCodeModel().VOID, "onValidationFailed");
+		JVar errors = onValidationFailed.param(getClasses().LIST.narrow(ValidatorError), "errors");
+		onValidationFailed.annotate(Override.class);
+					
+		IJExpression context = holder.getContextRef();
+		if (context == _this()) {
+			context = holder.getGeneratedClass().staticRef("this");
+		}
+
+		JVar messages = onValidationFailed.body().decl(getClasses().STRING, "messages", lit(""));
+		JBlock forEach = onValidationFailed.body().forEach(ValidatorError, "error", errors).body();
+		JFieldRef error = ref("error");
+		JVar message = forEach.decl(getClasses().STRING, "message", error.invoke("getCollatedErrorMessage").arg(context));
+		forEach.assign(messages, message.plus(message).plus(" "));
+		
+		if (recollector.validateAutoMessage()) {
+			JVar view = forEach.decl(getClasses().VIEW, "view", error.invoke("getView"));
+			
+			AbstractJClass EditText = getJClass("android.widget.EditText");
+			AbstractJClass Toast = getJClass("android.widget.Toast");
+			JConditional conditional = forEach._if(view._instanceof(EditText));
+			conditional._then().invoke(cast(EditText, view), "setError").arg(message);
+			conditional._else().add(
+					Toast.staticInvoke("makeText").arg(context)
+					     .arg(message)
+					     .arg(Toast.staticRef("LENGTH_SHORT"))
+					     .invoke("show")
+			     );
+		}
+		
+		//Call onFailed if assigned
+		IJExpression validationException = _new(getJClass(ValidationException.class))
+				 								.arg(messages);
+		onValidationFailed.body()._if(onFailed.ne(_null()))._then()
+		   						 .invoke(onFailed, "onFailed").arg(validationException);
+		                         
+		
+		JMethod onValidationSucceeded = ValidatorListenerClass.method(JMod.PUBLIC, getCodeModel().VOID, "onValidationSucceeded");
+		onValidationSucceeded.annotate(Override.class);
+		
+		for (ValidatedView validatedView : validatedViews) {
+			AbstractJClass ViewClass = getJClass(viewsHolder.getClassNameFromId(validatedView.idName));
+			JFieldVar field = ValidatorListenerClass.field(
+					JMod.PRIVATE, 
+					ViewClass, 
+					"$" + validatedView.idName + DeclexConstant.VIEW,
+					validatedView.view
+				);
+			
+			for (AnnotationMirror annotation : validatedView.rules) {
+				TypeUtils.annotateVar(field, annotation, getEnvironment());
+			}
+		}
+
+		JVar validatorHolder = block.decl(ValidatorListenerClass, fieldName + "$validatorHolder", _new(ValidatorListenerClass));
+		JVar validator = block.decl(Validator, fieldName + "$validator", _new(Validator).arg(validatorHolder));
+		block.invoke(validator, "setValidationListener").arg(validatorHolder);
+		block.invoke(validator, "validate");
+		
+		return onValidationSucceeded.body();
+	}
+	
+	private Object getAnnotationValue(AnnotationMirror annotation, String name) {
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = 
+				getProcessingEnvironment().getElementUtils().getElementValuesWithDefaults(annotation);
+		
+		for (Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+			if (entry.getKey().getSimpleName().toString().equals(name)) {
+				return entry.getValue().getValue();
+			}
+		}
+		
+		return null;
+	}
+	
+	private static class ValidatedView {
+		private final String idName;
+		private final JFieldRef view;
+		private final List<AnnotationMirror> rules = new LinkedList<>();
+		
+		public ValidatedView(String idName, JFieldRef view) {
+			this.idName = idName;
+			this.view = view;
+		}
 	}
 	
 }
@@ -21,6 +21,7 @@ import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JExpr._this;
 import static com.helger.jcodemodel.JExpr.cast;
 import static com.helger.jcodemodel.JExpr.invoke;
+import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JExpr.ref;
 
 import java.util.HashMap;
@@ -29,17 +30,20 @@ import java.util.List;
 import java.util.Map;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
 import org.androidannotations.helper.CanonicalNameConstants;
 import org.androidannotations.helper.ModelConstants;
-import org.androidannotations.helper.TargetAnnotationHelper;
 import org.androidannotations.logger.Logger;
 import org.androidannotations.logger.LoggerFactory;
-import org.androidannotations.rclass.IRClass;
 import org.androidannotations.rclass.IRClass.Res;
 
 import com.dspot.declex.api.model.UseModel;
+import com.dspot.declex.api.util.TextUtility;
 import com.dspot.declex.event.holder.ViewListenerHolder;
 import com.dspot.declex.plugin.BaseClassPlugin;
 import com.dspot.declex.share.holder.ViewsHolder;
@@ -50,11 +54,11 @@ import com.dspot.declex.util.DeclexConstant;
 import com.dspot.declex.util.TypeUtils;
 import com.helger.jcodemodel.AbstractJClass;
 import com.helger.jcodemodel.AbstractJType;
-import com.helger.jcodemodel.IJAssignmentTarget;
 import com.helger.jcodemodel.IJExpression;
 import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JDefinedClass;
+import com.helger.jcodemodel.JExpr;
 import com.helger.jcodemodel.JFieldRef;
 import com.helger.jcodemodel.JMethod;
 import com.helger.jcodemodel.JMod;
@@ -72,8 +76,6 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 	private String modelClassName;
 	private String fieldName;
 
-	private TargetAnnotationHelper annotationHelper;
-
 	public RecyclerViewAdapterPopulator(PopulateHandler handler,
 			String fieldName, String adapterClassName, String modelClassName,
 			ViewsHolder viewsHolder) {
@@ -84,9 +86,6 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 		this.adapterClassName = adapterClassName;
 		this.modelClassName = modelClassName;
 		this.viewsHolder = viewsHolder;
-
-		annotationHelper = new TargetAnnotationHelper(environment,
-				handler.getTarget());
 	}
 
 	@Override
@@ -111,6 +110,15 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 
 		JFieldRef models = _this().ref("models");
 
+		// if (element.getAnnotation(Populator.class).debug())
+		// LOGGER.warn("\nPopulator layouts: " + layoutObjects, element,
+		// element.getAnnotation(Populator.class));
+
+		List<String> itemLayouts = handler.getItemLayouts(element, fieldName, viewsHolder);
+		if (itemLayouts.isEmpty()) return;
+
+		String defLayoutId = viewsHolder.getDefLayoutId();
+
 		// =========================onCreateViewHolder
 		// Method======================
 
@@ -118,45 +126,134 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 				"onCreateViewHolder", new AbstractJType[] {
 						getClasses().VIEW_GROUP, getCodeModel().INT });
 		JFieldRef parent = ref("parent");
-		JFieldRef position = ref("position");
 		JFieldRef viewType = ref("viewType");
 		JFieldRef inflater = ref("inflater");
-		final JBlock onCreateViewMethodBody = onCreateViewHolder.body();
+		JBlock onCreateViewMethodBody = onCreateViewHolder.body();
 
-		JFieldRef contentViewId = null;
-		String listItemId = null;
-		String defLayoutId = viewsHolder.getDefLayoutId();
+		JMethod inflaterMethod = AdapterClass.getMethod("inflate", new AbstractJType[]{getCodeModel().INT, getClasses().VIEW_GROUP, getClasses().LAYOUT_INFLATER});
+
+		// =========================onBindViewHolder
+		// Method======================
+
+		JMethod onBindViewHolder = AdapterClass.getMethod("onBindViewHolder",
+				new AbstractJType[] { getJClass(viewHolderClassName),
+						getCodeModel().INT });
+		JFieldRef viewHolder = ref("viewHolder");
+		JFieldRef position = ref("position");
+		JBlock onBindMethodBody = onBindViewHolder.body();
+
+		onBindMethodBody.decl(getClasses().VIEW, "rootView",
+				viewHolder.ref("itemView"));
+
+		boolean castNeeded = false;
+		if (!modelClassName.endsWith(ModelConstants.generationSuffix())) {
+			if (TypeUtils.isClassAnnotatedWith(modelClassName, UseModel.class, environment)) {
+				modelClassName = TypeUtils.getGeneratedClassName(modelClassName, environment);
+				castNeeded = true;
+				Model = getJClass(modelClassName);
+			}
+		}
+
+		// Get the model
+		JVar model = onBindMethodBody.decl(JMod.FINAL, Model, "model");		
+		
+		IJExpression modelAssigner = models.invoke("get").arg(position);
+		if (castNeeded)	modelAssigner = cast(Model, models.invoke("get").arg(position));
+		onBindMethodBody.assign(model, modelAssigner);
+
+		Map<String, IdInfoHolder> fields = new HashMap<String, IdInfoHolder>();
+		Map<String, IdInfoHolder> methods = new HashMap<String, IdInfoHolder>();
 
-		// Read the Layout from the XML file
-		org.w3c.dom.Element node = viewsHolder.getDomElementFromId(fieldName);
-		if (node.hasAttribute("tools:listitem")) {
-			String listItem = node.getAttribute("tools:listitem");
-			listItemId = listItem.substring(listItem.lastIndexOf('/') + 1);
-			contentViewId = environment.getRClass().get(Res.LAYOUT)
+		if (itemLayouts.size() == 1) {
+			String listItemId = itemLayouts.get(0);
+			JFieldRef contentViewId = environment.getRClass().get(Res.LAYOUT)
 					.getIdStaticRef(listItemId, environment);
+			
+			inflaterMethod.body()._return(inflater.invoke("inflate").arg(contentViewId).arg(parent).arg(false));
+
+			final JVar rootView = onCreateViewMethodBody.decl(getClasses().VIEW,
+					"rootView", invoke("inflate").arg(viewType).arg(parent).arg(inflater));
+
+			JVar createdViewHolder = onCreateViewMethodBody.decl(
+					JMod.FINAL, ViewHolderClass, "viewHolder",
+					_new(ViewHolderClass).arg(rootView));
+			
+			processItemLayout(element, listItemId, ViewHolderClass, onCreateViewMethodBody, rootView, 
+					createdViewHolder.name(), onBindMethodBody, model, Model, castNeeded, fields, methods);
 
-			viewsHolder.addLayout(listItemId);
-			viewsHolder.setDefLayoutId(listItemId);
+			onCreateViewMethodBody._return(createdViewHolder);
+			
 		} else {
-			// If the layout is not found, read it from the param value of the
-			// annotation
-			List<JFieldRef> fieldRefs = annotationHelper
-					.extractAnnotationFieldRefs(element, handler.getTarget(),
-							environment.getRClass().get(IRClass.Res.LAYOUT),
-							false);
-			if (fieldRefs.size() == 1) {
-				contentViewId = fieldRefs.get(0);
+			
+			// The view type of each item is the layout used for it
+			JMethod getItemViewType = AdapterClass.method(JMod.PUBLIC, getCodeModel().INT, "getItemViewType");
+			getItemViewType.annotate(Override.class);
+			JVar itemPosition = getItemViewType.param(getCodeModel().INT, "position");
+			getItemViewType.body()._return(
+					handler.invokeViewTypeMethod(element, models.invoke("get").arg(itemPosition), itemPosition));
+			
+			inflaterMethod.body()._return(inflater.invoke("inflate").arg(viewType).arg(parent).arg(false));
+			
+			for (String listItemId : itemLayouts) {
+				JFieldRef contentViewId = environment.getRClass().get(Res.LAYOUT)
+						.getIdStaticRef(listItemId, environment);
+				
+				JDefinedClass ItemViewHolderClass = null;
+				try {
+					ItemViewHolderClass = viewsHolder.getGeneratedClass()
+							._class(JMod.PRIVATE | JMod.STATIC, viewHolderClassName + "$" + listItemId)
+							._extends(ViewHolderClass);
+					
+					JMethod constructor = ItemViewHolderClass.constructor(JMod.PUBLIC);
+					constructor.param(getClasses().VIEW, "view");
+					constructor.body().directStatement("super(view);");
+					
+				} catch (JClassAlreadyExistsException e) {
+				}
+				
+				final String itemViewHolderName = listItemId + "$viewHolder";
+				
+				JBlock onCreateItemBody = onCreateViewMethodBody._if(viewType.eq(contentViewId))._then();
+				final JVar rootView = onCreateItemBody.decl(getClasses().VIEW,
+						"rootView", invoke("inflate").arg(viewType).arg(parent).arg(inflater));
+				JVar createdViewHolder = onCreateItemBody.decl(
+						JMod.FINAL, ItemViewHolderClass, itemViewHolderName,
+						_new(ItemViewHolderClass).arg(rootView));
+				
+				JBlock onBindItemBody = onBindMethodBody._if(viewHolder._instanceof(ItemViewHolderClass))._then();
+				onBindItemBody.decl(JMod.FINAL, ItemViewHolderClass, itemViewHolderName, 
+						cast(ItemViewHolderClass, viewHolder));
+				
+				processItemLayout(element, listItemId, ItemViewHolderClass, onCreateItemBody, rootView, 
+						itemViewHolderName, onBindItemBody, model, Model, castNeeded, fields, methods);
+				
+				onCreateItemBody._return(createdViewHolder);
 			}
-			if (contentViewId == null)
-				return;
-
-			// TODO not sure of behavior
+			
+			onCreateViewMethodBody._throw(_new(getJClass(IllegalArgumentException.class.getCanonicalName()))
+					.arg(lit("Unknown view type ").plus(viewType)));
 		}
 
-		// if (element.getAnnotation(Populator.class).debug())
-		// LOGGER.warn("\nPopulator layouts: " + layoutObjects, element,
-		// element.getAnnotation(Populator.class));
+		createContentsComparison(AdapterClass, fields, methods, castNeeded, Model);
 
+		viewsHolder.setCreateViewListener(null);
+		viewsHolder.setDefLayoutId(defLayoutId);
+	}
+	
+	/**
+	 * Finds the views of the item layout in its ViewHolder when it is created, and populates 
+	 * them when it is bound. The fields and methods populated are added to the given maps
+	 */
+	private void processItemLayout(Element element, String listItemId, JDefinedClass ViewHolderClass, 
+			final JBlock onCreateViewMethodBody, final JVar rootView, final String viewHolderName, 
+			JBlock onBindMethodBody, JVar model, AbstractJClass Model, boolean castNeeded,
+			Map<String, IdInfoHolder> populatedFields, Map<String, IdInfoHolder> populatedMethods) {
+		
+		viewsHolder.addLayout(listItemId);
+		viewsHolder.setDefLayoutId(listItemId);
+		
+		final JFieldRef viewHolder = ref(viewHolderName);
+		
 		Map<String, IdInfoHolder> fields = new HashMap<String, IdInfoHolder>();
 		Map<String, IdInfoHolder> methods = new HashMap<String, IdInfoHolder>();
 		if (!modelClassName.equals(String.class.getCanonicalName())) {
@@ -167,16 +264,6 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 			viewsHolder.findFieldsAndMethods(className, fieldName, element,
 					fields, methods, true, true, listItemId);
 		}
-		
-		JMethod inflaterMethod = AdapterClass.getMethod("inflate", new AbstractJType[]{getCodeModel().INT, getClasses().VIEW_GROUP, getClasses().LAYOUT_INFLATER});
-		inflaterMethod.body()._return(inflater.invoke("inflate").arg(contentViewId).arg(parent).arg(false));
-
-		final JVar rootView = onCreateViewMethodBody.decl(getClasses().VIEW,
-				"rootView", invoke("inflate").arg(viewType).arg(parent).arg(inflater));
-
-		IJAssignmentTarget viewHolder = onCreateViewMethodBody.decl(
-				ViewHolderClass, "viewHolder",
-				_new(ViewHolderClass).arg(rootView));
 
 		List<String> fieldNames = new LinkedList<>();
 		if (modelClassName.equals(String.class.getCanonicalName())) {
@@ -248,31 +335,8 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 			fieldNames.add(holderFieldName);
 		}
 
-		// =========================onBindViewHolder
-		// Method======================
-
-		JMethod onBindViewHolder = AdapterClass.getMethod("onBindViewHolder",
-				new AbstractJType[] { getJClass(viewHolderClassName),
-						getCodeModel().INT });
-		viewHolder = ref("viewHolder");
-		position = ref("position");
-		JBlock onBindMethodBody = onBindViewHolder.body();
-
-		onBindMethodBody.decl(getClasses().VIEW, "rootView",
-				viewHolder.ref("itemView"));
-
-		boolean castNeeded = false;
-		if (!modelClassName.endsWith(ModelConstants.generationSuffix())) {
-			if (TypeUtils.isClassAnnotatedWith(modelClassName, UseModel.class, environment)) {
-				modelClassName = TypeUtils.getGeneratedClassName(modelClassName, environment);
-				castNeeded = true;
-				Model = getJClass(modelClassName);
-			}
-		}
-
 		// Listener to create the findViewById for every created view
 		final JDefinedClass FinalViewHolderClass = ViewHolderClass;
-		final IJAssignmentTarget finalViewHolder = viewHolder;
 		viewsHolder.setCreateViewListener(new ICreateViewListener() {
 
 			@Override
@@ -295,20 +359,13 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 						findViewById = cast(idNameClass, findViewById);
 
 					onCreateViewMethodBody.assign(
-							finalViewHolder.ref(viewField), findViewById);
+							viewHolder.ref(viewField), findViewById);
 				}
 
-				return finalViewHolder.ref(viewField);
+				return viewHolder.ref(viewField);
 			}
 		});
 		
-		// Get the model
-		JVar model = onBindMethodBody.decl(JMod.FINAL, Model, "model");		
-		
-		IJExpression modelAssigner = models.invoke("get").arg(position);
-		if (castNeeded)	modelAssigner = cast(Model, models.invoke("get").arg(position));
-		onBindMethodBody.assign(model, modelAssigner);
-		
 		if (modelClassName.equals(String.class.getCanonicalName())) {
 			String viewClass = viewsHolder.getClassNameFromId("text");
 			if (viewClass != null) {
@@ -327,56 +384,53 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 			}
 		}
 
-		for (String field : fields.keySet()) {
-			IJExpression methodsCall = model;
-			JBlock checkForNull = onBindMethodBody;
-
-			String[] fieldSplit = field.split("\\.");
-			int index = 0;
-			for (String fieldPart : fieldSplit)
-				if (!fieldPart.equals("")) {
-					methodsCall = methodsCall.invoke(fieldToGetter(fieldPart));
-
-					if (index < fieldSplit.length - 1) {
-						checkForNull = checkForNull
-								._if(methodsCall.ne(_null()))._then();
-					} else if (!fields.get(field).type.getKind().isPrimitive()) {
-						checkForNull = checkForNull
-								._if(methodsCall.ne(_null()))._then();
-					}
-					index++;
-				}
+		//Getters shared by different nested paths are invoked only once per bind
+		Map<String, GetterPath> getterPaths = new HashMap<>();
+		getterPaths.put("", new GetterPath(model, onBindMethodBody, getModelTypeElement()));
 
+		for (String field : fields.keySet()) {
 			IdInfoHolder info = fields.get(field);
+			
+			String[] fieldSplit = field.split("\\.");
+			GetterPath parentPath = getGetterPath(fieldSplit, fieldSplit.length - 1, getterPaths);
+			
+			IJExpression methodsCall = parentPath.ref.invoke(fieldToGetter(fieldSplit[fieldSplit.length - 1]));
+			JBlock checkForNull = parentPath.block;
+			if (!info.type.getKind().isPrimitive()) {
+				checkForNull = checkForNull._if(methodsCall.ne(_null()))._then();
+			}
+			
 			JFieldRef view = viewHolder.ref(info.idName + DeclexConstant.VIEW);
+			if (putPrimitiveTextInBlock(info, checkForNull, view, methodsCall, viewHolder, ViewHolderClass)) continue;
+			
 			handler.putAssignInBlock(info, checkForNull, view, methodsCall,
 					element, viewsHolder, null,
 					listItemId);
 		}
 
 		for (String methodName : methods.keySet()) {
-			IJExpression methodsCall = model;
-			JBlock checkForNull = onBindMethodBody;
-
 			String[] methodSplit = methodName.split("\\.");
-			for (int i = 0; i < methodSplit.length - 1; i++)
-				if (!methodSplit[i].equals("")) {
-					methodsCall = methodsCall
-							.invoke(fieldToGetter(methodSplit[i]));
-					checkForNull = checkForNull._if(methodsCall.ne(_null()))
-							._then();
-				}
-			methodsCall = methodsCall
-					.invoke(methodSplit[methodSplit.length - 1]);
+			GetterPath parentPath = getGetterPath(methodSplit, methodSplit.length - 1, getterPaths);
+			
+			IJExpression methodsCall = parentPath.ref.invoke(methodSplit[methodSplit.length - 1]);
+			JBlock checkForNull = parentPath.block;
 
 			IdInfoHolder info = methods.get(methodName);
 			JFieldRef view = viewHolder.ref(info.idName + DeclexConstant.VIEW);
+			if (putPrimitiveTextInBlock(info, checkForNull, view, methodsCall, viewHolder, ViewHolderClass)) continue;
+			
 			handler.putAssignInBlock(info, checkForNull, view, methodsCall,
 					element, viewsHolder, null,
 					listItemId);
 		}
 
-		// Process the events
+		// Process the events, the listeners are assigned only once when the 
+		// ViewHolder is created, and they read the position from the ViewHolder
+		final AbstractJClass FinalModel = Model;
+		IJExpression listenerModel = ref("models").invoke("get").arg(ref("position"));
+		if (castNeeded) listenerModel = cast(Model, listenerModel);
+		final IJExpression finalListenerModel = listenerModel;
+		
 		Map<Class<?>, Object> listenerHolders = viewsHolder.holder()
 				.getPluginHolders();
 		for (Object listenerHolderObject : listenerHolders.values()) {
@@ -395,21 +449,283 @@ class RecyclerViewAdapterPopulator extends BaseClassPlugin {
 					public void writeInBlock(String viewName,
 							AbstractJClass viewClass, JFieldRef view,
 							JBlock block) {
-						listenerHolder.createListener("viewHolder." + viewName,
-								eventsBlock);
+						listenerHolder.createListener(viewHolderName + "." + viewName,
+								eventsBlock, viewHolder.invoke("getAdapterPosition"),
+								FinalModel, finalListenerModel);
 					}
 				});
-				onBindMethodBody.add(eventsBlock);
+				onCreateViewMethodBody.add(eventsBlock);
 			}
 		}
 
 		handler.callPopulatorMethod(fieldName, onBindMethodBody, viewHolder,
 				fieldNames, element, viewsHolder);
+		
+		populatedFields.putAll(fields);
+		populatedMethods.putAll(methods);
+	}
 
-		onCreateViewMethodBody._return(viewHolder);
-
-		viewsHolder.setCreateViewListener(null);
-		viewsHolder.setDefLayoutId(defLayoutId);
+	/**
+	 * If the adapter calculates differences between lists, the contents of two models 
+	 * are compared through the fields and methods populated in the list item
+	 */
+	private void createContentsComparison(JDefinedClass AdapterClass, Map<String, IdInfoHolder> fields, 
+			Map<String, IdInfoHolder> methods, boolean castNeeded, AbstractJClass Model) {
+		
+		JMethod areModelContentsTheSame = null;
+		for (JMethod method : AdapterClass.methods()) {
+			if (method.name().equals("areModelContentsTheSame")) {
+				areModelContentsTheSame = method;
+				break;
+			}
+		}
+		if (areModelContentsTheSame == null) return;
+		
+		JBlock body = areModelContentsTheSame.body();
+		JVar oldModel = areModelContentsTheSame.params().get(0);
+		JVar newModel = areModelContentsTheSame.params().get(1);
+		
+		if (modelClassName.equals(String.class.getCanonicalName())) {
+			body._return(oldModel.invoke("equals").arg(newModel));
+			return;
+		}
+		
+		//Methods receiving the views cannot be compared, the items will be always populated
+		for (IdInfoHolder info : methods.values()) {
+			if (info.extraParams.size() > 0 || info.type.getKind() == TypeKind.VOID) {
+				body._return(lit(false));
+				return;
+			}
+		}
+		
+		//The same instance could be modified, so it should be populated again
+		body._if(oldModel.eq(newModel))._then()._return(lit(false));
+		
+		IJExpression oldItem = castNeeded ? body.decl(JMod.FINAL, Model, "oldItem", cast(Model, oldModel)) : oldModel;
+		IJExpression newItem = castNeeded ? body.decl(JMod.FINAL, Model, "newItem", cast(Model, newModel)) : newModel;
+		
+		//Each path bound in the item is compared, the getters shared by the paths are invoked once
+		Map<String, ComparisonPath> comparisonPaths = new HashMap<>();
+		comparisonPaths.put("", new ComparisonPath(oldItem, newItem, body, getModelTypeElement()));
+		
+		for (String field : fields.keySet()) {
+			String[] fieldSplit = field.split("\\.");
+			ComparisonPath parentPath = getComparisonPath(fieldSplit, fieldSplit.length - 1, comparisonPaths);
+			
+			String getter = fieldToGetter(fieldSplit[fieldSplit.length - 1]);
+			compareValues(parentPath.oldRef.invoke(getter), parentPath.newRef.invoke(getter), 
+					fields.get(field).type.getKind(), parentPath.block);
+		}
+		
+		for (String methodName : methods.keySet()) {
+			String[] methodSplit = methodName.split("\\.");
+			ComparisonPath parentPath = getComparisonPath(methodSplit, methodSplit.length - 1, comparisonPaths);
+			
+			String method = methodSplit[methodSplit.length - 1];
+			compareValues(parentPath.oldRef.invoke(method), parentPath.newRef.invoke(method), 
+					methods.get(methodName).type.getKind(), parentPath.block);
+		}
+		
+		body._return(lit(true));
+	}
+	
+	/**
+	 * Returns false from the block if the values are different. Floating point values are compared
+	 * as the boxed values would be, so NaN is equal to itself
+	 */
+	private void compareValues(IJExpression oldValue, IJExpression newValue, TypeKind kind, JBlock block) {
+		IJExpression different;
+		switch (kind) {
+		case FLOAT:
+			different = getJClass(Float.class.getCanonicalName()).staticInvoke("compare").arg(oldValue).arg(newValue).ne(lit(0));
+			break;
+		case DOUBLE:
+			different = getJClass(Double.class.getCanonicalName()).staticInvoke("compare").arg(oldValue).arg(newValue).ne(lit(0));
+			break;
+		default:
+			if (kind.isPrimitive()) {
+				different = oldValue.ne(newValue);
+			} else {
+				different = JExpr.cond(oldValue.eq(_null()), newValue.ne(_null()), oldValue.invoke("equals").arg(newValue).not());
+			}
+		}
+		
+		block._if(different)._then()._return(lit(false));
+	}
+	
+	/**
+	 * As {@link #getGetterPath(String[], int, Map)}, for the old and the new models. The contents
+	 * are different if only one of the getters in the path returns null
+	 */
+	private ComparisonPath getComparisonPath(String[] path, int length, Map<String, ComparisonPath> comparisonPaths) {
+		String key = "";
+		ComparisonPath comparisonPath = comparisonPaths.get(key);
+		
+		for (int i = 0; i < length; i++) {
+			if (path[i].equals("")) continue;
+			
+			key = key.equals("") ? path[i] : key + "." + path[i];
+			ComparisonPath nextPath = comparisonPaths.get(key);
+			
+			if (nextPath == null) {
+				JBlock block = comparisonPath.block;
+				IJExpression oldGetter = comparisonPath.oldRef.invoke(fieldToGetter(path[i]));
+				IJExpression newGetter = comparisonPath.newRef.invoke(fieldToGetter(path[i]));
+				TypeMirror fieldType = getFieldType(comparisonPath.typeElement, path[i]);
+				
+				TypeElement fieldTypeElement = null;
+				if (fieldType != null) {
+					String fieldClassName = TypeUtils.typeFromTypeString(fieldType.toString(), environment);
+					oldGetter = block.decl(JMod.FINAL, getJClass(fieldClassName), "old$" + key.replace('.', '$'), oldGetter);
+					newGetter = block.decl(JMod.FINAL, getJClass(fieldClassName), "new$" + key.replace('.', '$'), newGetter);
+					
+					if (fieldClassName.endsWith(ModelConstants.generationSuffix())) {
+						fieldClassName = fieldClassName.substring(0, fieldClassName.length() - 1);
+					}
+					fieldTypeElement = environment.getProcessingEnvironment().getElementUtils().getTypeElement(fieldClassName);
+				}
+				
+				block._if(JExpr.cond(oldGetter.eq(_null()), newGetter.ne(_null()), newGetter.eq(_null())))
+				     ._then()._return(lit(false));
+				
+				nextPath = new ComparisonPath(oldGetter, newGetter, block._if(oldGetter.ne(_null()))._then(), fieldTypeElement);
+				comparisonPaths.put(key, nextPath);
+			}
+			
+			comparisonPath = nextPath;
+		}
+		
+		return comparisonPath;
+	}
+	
+	private TypeElement getModelTypeElement() {
+		String className = modelClassName;
+		if (className.endsWith(ModelConstants.generationSuffix())) {
+			className = className.substring(0, className.length() - 1);
+		}
+		return environment.getProcessingEnvironment().getElementUtils().getTypeElement(className);
+	}
+	
+	/**
+	 * Declares a local variable for each getter in the path (up to length), checking it for null.
+	 * If the type of a getter cannot be determined, the getters are chained as expressions
+	 */
+	private GetterPath getGetterPath(String[] path, int length, Map<String, GetterPath> getterPaths) {
+		String key = "";
+		GetterPath getterPath = getterPaths.get(key);
+		
+		for (int i = 0; i < length; i++) {
+			if (path[i].equals("")) continue;
+			
+			key = key.equals("") ? path[i] : key + "." + path[i];
+			GetterPath nextPath = getterPaths.get(key);
+			
+			if (nextPath == null) {
+				IJExpression getter = getterPath.ref.invoke(fieldToGetter(path[i]));
+				TypeMirror fieldType = getFieldType(getterPath.typeElement, path[i]);
+				
+				if (fieldType == null) {
+					nextPath = new GetterPath(getter, getterPath.block._if(getter.ne(_null()))._then(), null);
+				} else {
+					String fieldClassName = TypeUtils.typeFromTypeString(fieldType.toString(), environment);
+					JVar getterVar = getterPath.block.decl(
+							JMod.FINAL, getJClass(fieldClassName), "model$" + key.replace('.', '$'), getter);
+					
+					if (fieldClassName.endsWith(ModelConstants.generationSuffix())) {
+						fieldClassName = fieldClassName.substring(0, fieldClassName.length() - 1);
+					}
+					TypeElement fieldTypeElement = environment.getProcessingEnvironment()
+							.getElementUtils().getTypeElement(fieldClassName);
+					
+					nextPath = new GetterPath(getterVar, getterPath.block._if(getterVar.ne(_null()))._then(), fieldTypeElement);
+				}
+				
+				getterPaths.put(key, nextPath);
+			}
+			
+			getterPath = nextPath;
+		}
+		
+		return getterPath;
+	}
+	
+	private TypeMirror getFieldType(TypeElement typeElement, String fieldName) {
+		while (typeElement != null) {
+			for (Element elem : typeElement.getEnclosedElements()) {
+				if (elem.getKind() == ElementKind.FIELD && elem.getSimpleName().toString().equals(fieldName)) {
+					if (elem.asType().getKind().isPrimitive()) return null;
+					return elem.asType();
+				}
+			}
+			
+			TypeMirror superType = typeElement.getSuperclass();
+			if (superType.getKind() != TypeKind.DECLARED) break;
+			typeElement = (TypeElement) ((DeclaredType) superType).asElement();
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Integral primitives are written in a buffer owned by the ViewHolder, and 
+	 * assigned to the TextView with setText(char[], int, int), so no String is created per bind
+	 */
+	private boolean putPrimitiveTextInBlock(IdInfoHolder info, JBlock block, JFieldRef view, 
+			IJExpression value, IJExpression viewHolder, JDefinedClass ViewHolderClass) {
+		
+		switch (info.type.getKind()) {
+		case BYTE: case SHORT: case INT: case LONG: break;
+		default: return false;
+		}
+		
+		if (info.extraParams.size() > 0) return false;
+		if (!TypeUtils.isSubtype(info.viewClass, "android.widget.TextView", environment.getProcessingEnvironment())) {
+			return false;
+		}
+		
+		final AbstractJClass TextUtility = getJClass(TextUtility.class.getCanonicalName());
+		final String charsName = info.idName + "$chars";
+		JVar charsField = ViewHolderClass.fields().get(charsName);
+		if (charsField == null) {
+			charsField = ViewHolderClass.field(
+					JMod.PRIVATE | JMod.FINAL, getCodeModel().CHAR.array(), charsName, 
+					JExpr.newArray(getCodeModel().CHAR, TextUtility.staticRef("CHARS_BUFFER_SIZE"))
+				);
+		}
+		
+		JFieldRef chars = viewHolder.ref(charsField);
+		block = block._if(view.ne(_null()))._then();
+		block.invoke(view, "setText").arg(chars).arg(lit(0)).arg(
+				TextUtility.staticInvoke("getChars").arg(value).arg(chars)
+			);
+		
+		return true;
+	}
+	
+	private static class ComparisonPath {
+		IJExpression oldRef;
+		IJExpression newRef;
+		JBlock block;
+		TypeElement typeElement;
+		
+		public ComparisonPath(IJExpression oldRef, IJExpression newRef, JBlock block, TypeElement typeElement) {
+			this.oldRef = oldRef;
+			this.newRef = newRef;
+			this.block = block;
+			this.typeElement = typeElement;
+		}
+	}
+	
+	private static class GetterPath {
+		IJExpression ref;
+		JBlock block;
+		TypeElement typeElement;
+		
+		public GetterPath(IJExpression ref, JBlock block, TypeElement typeElement) {
+			this.ref = ref;
+			this.block = block;
+			this.typeElement = typeElement;
+		}
 	}
 
 	@Override
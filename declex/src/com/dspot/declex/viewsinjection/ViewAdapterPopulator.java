@@ -20,6 +20,7 @@ import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JExpr._this;
 import static com.helger.jcodemodel.JExpr.cast;
+import static com.helger.jcodemodel.JExpr.lit;
 import static com.helger.jcodemodel.JExpr.ref;
 
 import java.util.HashMap;
@@ -103,53 +104,161 @@ class ViewAdapterPopulator extends BaseClassPlugin {
 		
 		JBlock methodBody = getViewMethod.body();
 		
-		JFieldRef contentViewId = null;
-		String listItemId = null;
+		List<String> itemLayouts = handler.getItemLayouts(element, fieldName, viewsHolder);
+		if (itemLayouts.isEmpty()) return;
+		
 		String defLayoutId = viewsHolder.getDefLayoutId();
 		
-		//Read the Layout from the XML file
-		org.w3c.dom.Element node = viewsHolder.getDomElementFromId(fieldName);
-		if (node.hasAttribute("tools:listitem")) {
-			String listItem = node.getAttribute("tools:listitem");
-			listItemId = listItem.substring(listItem.lastIndexOf('/')+1);
-			contentViewId = environment.getRClass().get(Res.LAYOUT).getIdStaticRef(listItemId, environment);
-			
-			viewsHolder.addLayout(listItemId);
-			viewsHolder.setDefLayoutId(listItemId);
-		} 
+		JMethod inflaterMethod = AdapterClass.getMethod("inflate", new AbstractJType[]{getCodeModel().INT, getClasses().VIEW, getClasses().VIEW_GROUP, getClasses().LAYOUT_INFLATER});
 		
-		Map<String, IdInfoHolder> fields = new HashMap<String, IdInfoHolder>();
-		Map<String, IdInfoHolder> methods = new HashMap<String, IdInfoHolder>();
-		if (!modelClassName.equals(String.class.getCanonicalName())) {
-			String className = modelClassName;
-			if (className.endsWith(ModelConstants.generationSuffix())) {
-				className = className.substring(0, className.length()-1);
+		boolean castNeeded = false;
+		if (!modelClassName.endsWith(ModelConstants.generationSuffix())) {
+			if (TypeUtils.isClassAnnotatedWith(modelClassName, UseModel.class, environment)) {
+				modelClassName = TypeUtils.getGeneratedClassName(modelClassName, environment);
+				castNeeded = true;
+				Model = getJClass(modelClassName);
 			}
-			viewsHolder.findFieldsAndMethods(className, fieldName, element, fields, methods, true, true, listItemId);
 		}
-
 		
-		JMethod inflaterMethod = AdapterClass.getMethod("inflate", new AbstractJType[]{getCodeModel().INT, getClasses().VIEW, getClasses().VIEW_GROUP, getClasses().LAYOUT_INFLATER});
-		JConditional conditional = inflaterMethod.body()._if(convertView.eq(_null()).cor(convertView.invoke("getTag").eq(_null()).cor(convertView.invoke("getTag")._instanceof(ViewHolderClass).not())));
-		conditional._then()._return(inflater.invoke("inflate").arg(contentViewId).arg(parent).arg(false));
-		conditional._else()._return(convertView);
-
+		IJExpression modelAssigner = models.invoke("get").arg(position);
+		if (castNeeded) modelAssigner = cast(Model, models.invoke("get").arg(position));
+		
 		final JVar rootView = methodBody.decl(
 				getClasses().VIEW, 
 				"rootView",
 				_this().invoke("inflate").arg(position).arg(convertView).arg(parent).arg(inflater)
 			);
 		
-		final JVar viewHolder = methodBody.decl(
-				JMod.FINAL,
-				ViewHolderClass, 
-				"viewHolder"
-			);
+		if (itemLayouts.size() == 1) {
+			String listItemId = itemLayouts.get(0);
+			JFieldRef contentViewId = environment.getRClass().get(Res.LAYOUT).getIdStaticRef(listItemId, environment);
+			
+			JConditional conditional = inflaterMethod.body()._if(convertView.eq(_null()).cor(convertView.invoke("getTag").eq(_null()).cor(convertView.invoke("getTag")._instanceof(ViewHolderClass).not())));
+			conditional._then()._return(inflater.invoke("inflate").arg(contentViewId).arg(parent).arg(false));
+			conditional._else()._return(convertView);
+
+			final JVar viewHolder = methodBody.decl(
+					JMod.FINAL,
+					ViewHolderClass, 
+					"viewHolder"
+				);
+					
+			conditional = methodBody._if(rootView.ne(convertView));
+			final JBlock createViewBody = conditional._then();
+			JBlock useConvertViewBody = conditional._else();		
+			createViewBody.assign(viewHolder, _new(ViewHolderClass));
+			useConvertViewBody.assign(viewHolder, cast(ViewHolderClass, convertView.invoke("getTag")));
+			
+			//Get the model
+			JVar model = methodBody.decl(JMod.FINAL, Model, "model");
+			methodBody.assign(model, modelAssigner);
+			
+			processItemLayout(element, listItemId, ViewHolderClass, createViewBody, rootView, 
+					viewHolder, methodBody, model);
+			
+			createViewBody.invoke(rootView, "setTag").arg(viewHolder);
+			
+		} else {
+			
+			//getViewTypeCount() METHOD
+			JMethod getViewTypeCount = AdapterClass.method(JMod.PUBLIC, getCodeModel().INT, "getViewTypeCount");
+			getViewTypeCount.annotate(Override.class);
+			getViewTypeCount.body()._return(lit(itemLayouts.size()));
+			
+			//getItemViewType() METHOD, the view type is the index of the layout returned for the item
+			JMethod getItemViewType = AdapterClass.method(JMod.PUBLIC, getCodeModel().INT, "getItemViewType");
+			getItemViewType.annotate(Override.class);
+			JVar itemPosition = getItemViewType.param(getCodeModel().INT, "position");
+			JVar itemLayout = getItemViewType.body().decl(
+					JMod.FINAL, getCodeModel().INT, "layout", 
+					handler.invokeViewTypeMethod(element, models.invoke("get").arg(itemPosition), itemPosition)
+				);
+			
+			for (int i = 0; i < itemLayouts.size(); i++) {
+				JFieldRef contentViewId = environment.getRClass().get(Res.LAYOUT).getIdStaticRef(itemLayouts.get(i), environment);
+				getItemViewType.body()._if(itemLayout.eq(contentViewId))._then()._return(lit(i));
+			}
+			getItemViewType.body()._throw(_new(getJClass(IllegalArgumentException.class.getCanonicalName()))
+					.arg(lit("Unknown item layout ").plus(itemLayout)));
+			
+			JVar viewType = methodBody.decl(
+					JMod.FINAL, getCodeModel().INT, "viewType", 
+					_this().invoke("getItemViewType").arg(position)
+				);
+			
+			//Get the model
+			JVar model = methodBody.decl(JMod.FINAL, Model, "model");
+			methodBody.assign(model, modelAssigner);
+			
+			JVar inflateViewType = inflaterMethod.body().decl(
+					JMod.FINAL, getCodeModel().INT, "viewType", 
+					_this().invoke("getItemViewType").arg(position)
+				);
+			
+			for (int i = 0; i < itemLayouts.size(); i++) {
+				String listItemId = itemLayouts.get(i);
+				JFieldRef contentViewId = environment.getRClass().get(Res.LAYOUT).getIdStaticRef(listItemId, environment);
+				
+				JDefinedClass ItemViewHolderClass = null;
+				try {
+					ItemViewHolderClass = viewsHolder.getGeneratedClass()
+							._class(JMod.PRIVATE | JMod.STATIC, viewHolderClassName + "$" + listItemId)
+							._extends(ViewHolderClass);
+				} catch (JClassAlreadyExistsException e) {}
+				
+				inflaterMethod.body()._if(inflateViewType.eq(lit(i)).cand(
+							convertView.eq(_null()).cor(convertView.invoke("getTag")._instanceof(ItemViewHolderClass).not())
+						))
+				              ._then()._return(inflater.invoke("inflate").arg(contentViewId).arg(parent).arg(false));
+				
+				JBlock itemBody = methodBody._if(viewType.eq(lit(i)))._then();
+				
+				final JVar viewHolder = itemBody.decl(
+						JMod.FINAL,
+						ItemViewHolderClass, 
+						listItemId + "$viewHolder"
+					);
+				
+				JConditional conditional = itemBody._if(rootView.ne(convertView));
+				final JBlock createViewBody = conditional._then();
+				createViewBody.assign(viewHolder, _new(ItemViewHolderClass));
+				conditional._else().assign(viewHolder, cast(ItemViewHolderClass, convertView.invoke("getTag")));
 				
-		conditional = methodBody._if(rootView.ne(convertView));
-		final JBlock createViewBody = conditional._then();
-		JBlock useConvertViewBody = conditional._else();		
-		createViewBody.assign(viewHolder, _new(ViewHolderClass));
+				processItemLayout(element, listItemId, ItemViewHolderClass, createViewBody, rootView, 
+						viewHolder, itemBody, model);
+				
+				createViewBody.invoke(rootView, "setTag").arg(viewHolder);
+			}
+			
+			inflaterMethod.body()._return(convertView);
+		}
+		
+		methodBody._return(rootView);
+		
+		viewsHolder.setCreateViewListener(null);
+		viewsHolder.setDefLayoutId(defLayoutId);
+	}
+	
+	/**
+	 * Finds the views of the item layout in its ViewHolder when the item view is created, 
+	 * and populates them with the model
+	 */
+	private void processItemLayout(Element element, String listItemId, JDefinedClass ViewHolderClass, 
+			final JBlock createViewBody, final JVar rootView, final JVar viewHolder, 
+			JBlock methodBody, JVar model) {
+		
+		viewsHolder.addLayout(listItemId);
+		viewsHolder.setDefLayoutId(listItemId);
+		
+		Map<String, IdInfoHolder> fields = new HashMap<String, IdInfoHolder>();
+		Map<String, IdInfoHolder> methods = new HashMap<String, IdInfoHolder>();
+		if (!modelClassName.equals(String.class.getCanonicalName())) {
+			String className = modelClassName;
+			if (className.endsWith(ModelConstants.generationSuffix())) {
+				className = className.substring(0, className.length()-1);
+			}
+			viewsHolder.findFieldsAndMethods(className, fieldName, element, fields, methods, true, true, listItemId);
+		}
 
 		//Find the Views by Id and fill the viewHolder
 		List<String> fieldNames = new LinkedList<>();
@@ -208,18 +317,6 @@ class ViewAdapterPopulator extends BaseClassPlugin {
 			fieldNames.add(holderFieldName);
 		}	
 		
-		useConvertViewBody.assign(viewHolder, cast(ViewHolderClass, convertView.invoke("getTag")));
-		
-		
-		boolean castNeeded = false;
-		if (!modelClassName.endsWith(ModelConstants.generationSuffix())) {
-			if (TypeUtils.isClassAnnotatedWith(modelClassName, UseModel.class, environment)) {
-				modelClassName = TypeUtils.getGeneratedClassName(modelClassName, environment);
-				castNeeded = true;
-				Model = getJClass(modelClassName);
-			}
-		}
-		
 		//Listener to create the findViewById for every created view
 		final JDefinedClass FinalViewHolderClass = ViewHolderClass;
 		viewsHolder.setCreateViewListener(new ICreateViewListener() {
@@ -245,14 +342,6 @@ class ViewAdapterPopulator extends BaseClassPlugin {
 			}
 		});
 		
-		//Get the model
-		JVar model = methodBody.decl(JMod.FINAL, Model, "model");
-		
-		//Synchronize reading the models 
-		IJExpression modelAssigner = models.invoke("get").arg(position);
-		if (castNeeded) modelAssigner = cast(Model, models.invoke("get").arg(position));
-		methodBody.assign(model, modelAssigner);
-		
 		if (modelClassName.equals(String.class.getCanonicalName())) {
 			String viewClass = viewsHolder.getClassNameFromId("text");
 			if (viewClass != null) {
@@ -330,7 +419,7 @@ class ViewAdapterPopulator extends BaseClassPlugin {
 					@Override
 					public void writeInBlock(String viewName, AbstractJClass viewClass,
 							JFieldRef view, JBlock block) {
-						listenerHolder.createListener("viewHolder." + viewName, eventsBlock);
+						listenerHolder.createListener(viewHolder.name() + "." + viewName, eventsBlock);
 					}
 				});
 				methodBody.add(eventsBlock);
@@ -338,12 +427,6 @@ class ViewAdapterPopulator extends BaseClassPlugin {
 		}
 		
 		handler.callPopulatorMethod(fieldName, methodBody, viewHolder, fieldNames, element, viewsHolder);
-		
-		createViewBody.invoke(rootView, "setTag").arg(viewHolder);
-		methodBody._return(rootView);
-		
-		viewsHolder.setCreateViewListener(null);
-		viewsHolder.setDefLayoutId(defLayoutId);
 	}
 
 	@Override
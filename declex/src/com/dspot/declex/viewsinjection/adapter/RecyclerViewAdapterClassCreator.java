@@ -19,17 +19,35 @@ import static com.helger.jcodemodel.JExpr._new;
 import static com.helger.jcodemodel.JExpr._null;
 import static com.helger.jcodemodel.JExpr._this;
 import static com.helger.jcodemodel.JExpr.cast;
+import static com.helger.jcodemodel.JExpr.cond;
+import static com.helger.jcodemodel.JExpr.invoke;
 import static com.helger.jcodemodel.JExpr.lit;
 
+import java.util.Arrays;
 import java.util.List;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
+import org.androidannotations.api.BackgroundExecutor;
+import org.androidannotations.helper.ModelConstants;
 import org.androidannotations.holder.GeneratedClassHolder;
 
+import com.dspot.declex.api.model.UseModel;
+import com.dspot.declex.api.util.MainThreadDispatcher;
+import com.dspot.declex.api.viewsinjection.Populate;
+import com.dspot.declex.api.viewsinjection.Populate.DiffMode;
 import com.dspot.declex.plugin.HolderClassCreator;
 import com.dspot.declex.plugin.JClassPlugin;
+import com.dspot.declex.util.TypeUtils;
 import com.helger.jcodemodel.AbstractJClass;
+import com.helger.jcodemodel.IJExpression;
+import com.helger.jcodemodel.JBlock;
 import com.helger.jcodemodel.JClassAlreadyExistsException;
 import com.helger.jcodemodel.JConditional;
 import com.helger.jcodemodel.JDefinedClass;
@@ -47,6 +65,7 @@ public class RecyclerViewAdapterClassCreator extends HolderClassCreator {
 	final AbstractJClass ArrayList;
 	
 	final String className;
+	final String modelClassName;
 	
 	public RecyclerViewAdapterClassCreator(String modelClassName, String className, Element element, 
 			GeneratedClassHolder holder, List<JClassPlugin> adapterPlugins) {
@@ -57,6 +76,7 @@ public class RecyclerViewAdapterClassCreator extends HolderClassCreator {
 		Model = getJClass(modelClassName);
 		ArrayList = getJClass("java.util.ArrayList").narrow(Model);
 		this.className = className;
+		this.modelClassName = modelClassName;
 		
 		for (JClassPlugin plugin : adapterPlugins) {
 			AbstractJClass newBaseAdapter = plugin.getBaseAdapter(element);
@@ -84,14 +104,36 @@ public class RecyclerViewAdapterClassCreator extends HolderClassCreator {
 				_this().ref(models), _new(ArrayList).arg(paramModels)				
 		);
 		
+		final Populate populate = element.getAnnotation(Populate.class);
+		final DiffMode diffMode = populate == null ? DiffMode.None : populate.diff();
+		final ModelIdInfo modelId = getModelIdInfo();
+		
+		if (populate != null && populate.stableIds() && modelId != null && modelId.hasLongId()) {
+			constructor.body().invoke("setHasStableIds").arg(lit(true));
+			
+			//getItemId() METHOD
+			JMethod getItemIdMethod = AdapterClass.method(JMod.PUBLIC, getCodeModel().LONG, "getItemId");
+			getItemIdMethod.annotate(Override.class);
+			JVar position = getItemIdMethod.param(getCodeModel().INT, "position");
+			JVar model = getItemIdMethod.body().decl(JMod.FINAL, Model, "model", models.invoke("get").arg(position));
+			getItemIdMethod.body()._return(modelId.getLongId(model));
+		}
+		
 		//setModels() METHOD
 		JMethod setModels = AdapterClass.method(JMod.PUBLIC, getCodeModel().VOID, "setModels");
-		JVar modelsParam = setModels.param(getClasses().LIST.narrow(Model), "models");
-		JConditional ifModels = setModels.body()._if(modelsParam.ne(_null()));
-		ifModels._then().directStatement("//This permits the external modification of the model");
-		ifModels._then().directStatement("//without crashing the interface for concurrent modifications");
-		ifModels._then().assign(_this().ref(models), _new(ArrayList).arg(modelsParam));
-		ifModels._else().invoke(_this().ref(models), "clear");
+		JVar modelsParam = setModels.param(JMod.FINAL, getClasses().LIST.narrow(Model), "models");
+		
+		JMethod areContentsTheSame = null;
+		if (diffMode == DiffMode.None) {
+			JConditional ifModels = setModels.body()._if(modelsParam.ne(_null()));
+			ifModels._then().directStatement("//This permits the external modification of the model");
+			ifModels._then().directStatement("//without crashing the interface for concurrent modifications");
+			ifModels._then().assign(_this().ref(models), _new(ArrayList).arg(modelsParam));
+			ifModels._else().invoke(_this().ref(models), "clear");
+		} else {
+			areContentsTheSame = createDiffMethods(AdapterClass, models, modelId);
+			createSetModelsWithDiff(AdapterClass, setModels, modelsParam, models, diffMode);
+		}
 		
 		//getItemCount() METHOD
 		JMethod getItemCountMethod = AdapterClass.method(JMod.PUBLIC, getCodeModel().INT, "getItemCount");
@@ -132,7 +174,233 @@ public class RecyclerViewAdapterClassCreator extends HolderClassCreator {
 		
 		getItemCountMethod.body()._return(models.invoke("size"));
 		
+		//If no plugin compared the contents, fallback to equals
+		if (areContentsTheSame != null && areContentsTheSame.body().getContents().isEmpty()) {
+			areContentsTheSame.body()._return(
+					areContentsTheSame.params().get(0).invoke("equals").arg(areContentsTheSame.params().get(1))
+				);
+		}
+		
 		return AdapterClass;
 	}
+	
+	/**
+	 * Creates the methods used to calculate the differences between two lists of models. 
+	 * The method "areModelContentsTheSame" is returned empty to be filled by the plugins
+	 */
+	private JMethod createDiffMethods(JDefinedClass AdapterClass, JFieldVar models, ModelIdInfo modelId) {
+		
+		//areModelsTheSame() METHOD
+		JMethod areModelsTheSame = AdapterClass.method(JMod.PUBLIC, getCodeModel().BOOLEAN, "areModelsTheSame");
+		JVar oldModel = areModelsTheSame.param(JMod.FINAL, Model, "oldModel");
+		JVar newModel = areModelsTheSame.param(JMod.FINAL, Model, "newModel");
+		areModelsTheSame.body()._if(oldModel.eq(_null()).cor(newModel.eq(_null())))._then()
+		                       ._return(oldModel.eq(newModel));
+		
+		if (modelId != null) {
+			areModelsTheSame.body()._return(modelId.getIdEquals(oldModel, newModel));
+		} else {
+			areModelsTheSame.body()._return(oldModel.invoke("equals").arg(newModel));
+		}
+		
+		//areModelContentsTheSame() METHOD
+		JMethod areModelContentsTheSame = AdapterClass.method(JMod.PUBLIC, getCodeModel().BOOLEAN, "areModelContentsTheSame");
+		areModelContentsTheSame.param(JMod.FINAL, Model, "oldModel");
+		areModelContentsTheSame.param(JMod.FINAL, Model, "newModel");
+		
+		//calculateDiff() METHOD
+		AbstractJClass DiffUtil = getJClass("android.support.v7.util.DiffUtil");
+		AbstractJClass DiffResult = getJClass("android.support.v7.util.DiffUtil.DiffResult");
+		
+		JMethod calculateDiff = AdapterClass.method(JMod.PUBLIC, DiffResult, "calculateDiff");
+		final JVar oldModels = calculateDiff.param(JMod.FINAL, getClasses().LIST.narrow(Model), "oldModels");
+		final JVar newModels = calculateDiff.param(JMod.FINAL, getClasses().LIST.narrow(Model), "newModels");
+		
+		JDefinedClass DiffCallback = getCodeModel().anonymousClass(getJClass("android.support.v7.util.DiffUtil.Callback"));
+		
+		JMethod getOldListSize = DiffCallback.method(JMod.PUBLIC, getCodeModel().INT, "getOldListSize");
+		getOldListSize.annotate(Override.class);
+		getOldListSize.body()._return(oldModels.invoke("size"));
+		
+		JMethod getNewListSize = DiffCallback.method(JMod.PUBLIC, getCodeModel().INT, "getNewListSize");
+		getNewListSize.annotate(Override.class);
+		getNewListSize.body()._return(newModels.invoke("size"));
+		
+		JMethod areItemsTheSame = DiffCallback.method(JMod.PUBLIC, getCodeModel().BOOLEAN, "areItemsTheSame");
+		areItemsTheSame.annotate(Override.class);
+		JVar oldPosition = areItemsTheSame.param(getCodeModel().INT, "oldItemPosition");
+		JVar newPosition = areItemsTheSame.param(getCodeModel().INT, "newItemPosition");
+		areItemsTheSame.body()._return(
+				invoke(areModelsTheSame).arg(oldModels.invoke("get").arg(oldPosition))
+				                        .arg(newModels.invoke("get").arg(newPosition))
+			);
+		
+		JMethod areContentsTheSame = DiffCallback.method(JMod.PUBLIC, getCodeModel().BOOLEAN, "areContentsTheSame");
+		areContentsTheSame.annotate(Override.class);
+		oldPosition = areContentsTheSame.param(getCodeModel().INT, "oldItemPosition");
+		newPosition = areContentsTheSame.param(getCodeModel().INT, "newItemPosition");
+		areContentsTheSame.body()._return(
+				invoke(areModelContentsTheSame).arg(oldModels.invoke("get").arg(oldPosition))
+				                               .arg(newModels.invoke("get").arg(newPosition))
+			);
+		
+		calculateDiff.body()._return(DiffUtil.staticInvoke("calculateDiff").arg(_new(DiffCallback)));
+		
+		return areModelContentsTheSame;
+	}
+	
+	private void createSetModelsWithDiff(JDefinedClass AdapterClass, JMethod setModels, JVar modelsParam, 
+			JFieldVar models, DiffMode diffMode) {
+		
+		JBlock body = setModels.body();
+		
+		//This permits the external modification of the model
+		//without crashing the interface for concurrent modifications
+		final JVar newModels = body.decl(
+				JMod.FINAL, getClasses().LIST.narrow(Model), "newModels", 
+				cond(modelsParam.eq(_null()), _new(ArrayList), _new(ArrayList).arg(modelsParam))
+			);
+		final JVar oldModels = body.decl(JMod.FINAL, getClasses().LIST.narrow(Model), "oldModels", _this().ref(models));
+		
+		if (diffMode == DiffMode.MainThread) {
+			JVar diffResult = body.decl(
+					getJClass("android.support.v7.util.DiffUtil.DiffResult"), "diffResult", 
+					invoke("calculateDiff").arg(oldModels).arg(newModels)
+				);
+			body.assign(_this().ref(models), newModels);
+			body.invoke(diffResult, "dispatchUpdatesTo").arg(_this());
+			return;
+		}
+		
+		//The differences are calculated in background, only the last call to setModels is dispatched.
+		//If the models were changed meanwhile, the adapter is invalidated
+		JFieldVar modelsGeneration = AdapterClass.field(JMod.PRIVATE, getCodeModel().INT, "modelsGeneration");
+		final JVar generation = body.decl(JMod.FINAL, getCodeModel().INT, "generation", modelsGeneration.preincr());
+		
+		JDefinedClass DispatchRunnable = getCodeModel().anonymousClass(Runnable.class);
+		JMethod dispatchRun = DispatchRunnable.method(JMod.PUBLIC, getCodeModel().VOID, "run");
+		dispatchRun.annotate(Override.class);
+		
+		JDefinedClass CalculateTask = getCodeModel().anonymousClass(BackgroundExecutor.Task.class);
+		JMethod calculateExecute = CalculateTask.method(JMod.PUBLIC, getCodeModel().VOID, "execute");
+		calculateExecute.annotate(Override.class);
+		
+		final JVar diffResult = calculateExecute.body().decl(
+				JMod.FINAL, getJClass("android.support.v7.util.DiffUtil.DiffResult"), "diffResult", 
+				invoke("calculateDiff").arg(oldModels).arg(newModels)
+			);
+		calculateExecute.body().add(
+				getJClass(MainThreadDispatcher.class).staticInvoke("post").arg(_new(DispatchRunnable))
+			);
+		
+		JBlock dispatchBody = dispatchRun.body();
+		dispatchBody._if(generation.ne(modelsGeneration))._then()._return();
+		
+		JBlock changedMeanwhile = dispatchBody._if(AdapterClass.staticRef("this").ref(models).ne(oldModels))._then();
+		changedMeanwhile.assign(AdapterClass.staticRef("this").ref(models), newModels);
+		changedMeanwhile.invoke(AdapterClass.staticRef("this"), "notifyDataSetChanged");
+		changedMeanwhile._return();
+		
+		dispatchBody.assign(AdapterClass.staticRef("this").ref(models), newModels);
+		dispatchBody.invoke(diffResult, "dispatchUpdatesTo").arg(AdapterClass.staticRef("this"));
+		
+		body.add(getJClass(BackgroundExecutor.class.getCanonicalName()).staticInvoke("execute").arg(
+				_new(CalculateTask).arg(lit("")).arg(lit(0)).arg(lit(""))
+			));
+	}
+	
+	/**
+	 * Determines how to identify the models of the adapter, from the ActiveAndroid id 
+	 * in the case of a @LocalDBModel, or from a field named "id" in the model
+	 */
+	private ModelIdInfo getModelIdInfo() {
+		String originalClassName = modelClassName;
+		if (originalClassName.endsWith(ModelConstants.generationSuffix())) {
+			originalClassName = originalClassName.substring(0, originalClassName.length() - 1);
+		}
+		
+		TypeElement typeElement = environment.getProcessingEnvironment().getElementUtils().getTypeElement(originalClassName);
+		if (typeElement == null) return null;
+		
+		if (TypeUtils.isSubtype(originalClassName, "com.activeandroid.Model", environment.getProcessingEnvironment())) {
+			return new ModelIdInfo(null, Long.class.getCanonicalName());
+		}
+		
+		AbstractJClass GeneratedModel = null;
+		if (!modelClassName.endsWith(ModelConstants.generationSuffix()) 
+			&& typeElement.getAnnotation(UseModel.class) != null) {
+			GeneratedModel = getJClass(TypeUtils.getGeneratedClassName(originalClassName, environment));
+		}
+		
+		while (typeElement != null) {
+			for (Element elem : typeElement.getEnclosedElements()) {
+				if (elem.getKind() == ElementKind.FIELD && elem.getSimpleName().toString().equals("id")
+					&& !elem.getModifiers().contains(Modifier.STATIC)
+					&& !elem.getModifiers().contains(Modifier.PRIVATE)) {
+					return new ModelIdInfo(GeneratedModel, elem.asType().toString());
+				}
+			}
+			
+			TypeMirror superType = typeElement.getSuperclass();
+			if (superType.getKind() != TypeKind.DECLARED) break;
+			typeElement = (TypeElement) ((DeclaredType) superType).asElement();
+		}
+		
+		return null;
+	}
+	
+	private static final List<String> INTEGRAL_ID_TYPES = Arrays.asList(
+		"long", "int", "short", "byte", "char",
+		Long.class.getCanonicalName(), Integer.class.getCanonicalName(), 
+		Short.class.getCanonicalName(), Byte.class.getCanonicalName()
+	);
+	
+	private class ModelIdInfo {
+		AbstractJClass GeneratedModel;
+		String idType;
+		
+		public ModelIdInfo(AbstractJClass GeneratedModel, String idType) {
+			this.GeneratedModel = GeneratedModel;
+			this.idType = idType;
+		}
+		
+		private IJExpression getId(JVar model) {
+			if (GeneratedModel != null) return cast(GeneratedModel, model).invoke("getId");
+			return model.invoke("getId");
+		}
+		
+		private boolean isPrimitive() {
+			return !idType.contains(".");
+		}
+		
+		public IJExpression getIdEquals(JVar oldModel, JVar newModel) {
+			IJExpression oldId = getId(oldModel);
+			IJExpression newId = getId(newModel);
+			
+			if (isPrimitive()) return oldId.eq(newId);
+			
+			return cond(oldId.eq(_null()), oldModel.eq(newModel), oldId.invoke("equals").arg(newId));
+		}
+		
+		/**
+		 * Only integral ids can be converted to a stable id without collisions
+		 */
+		public boolean hasLongId() {
+			return INTEGRAL_ID_TYPES.contains(idType);
+		}
+		
+		/**
+		 * Models without id (ej.: not saved yet) have no stable id
+		 */
+		public IJExpression getLongId(JVar model) {
+			IJExpression id = getId(model);
+			
+			if (isPrimitive()) return cast(getCodeModel().LONG, id);
+			
+			return cond(id.eq(_null()), 
+					getJClass("android.support.v7.widget.RecyclerView").staticRef("NO_ID"), 
+					id.invoke("longValue"));
+		}
+	}
 
 }